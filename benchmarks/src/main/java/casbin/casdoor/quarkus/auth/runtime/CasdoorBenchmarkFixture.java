@@ -0,0 +1,114 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.config.SmallRyeConfigBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keys, tokens and configuration shared by the benchmarks.
+ * Tokens are signed with a generated RSA key, whose public key is written to a temporary PEM file
+ * and configured as the Casdoor certificate.
+ */
+final class CasdoorBenchmarkFixture {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    final KeyPair keyPair;
+    final Path certificate;
+
+    CasdoorBenchmarkFixture() throws GeneralSecurityException, IOException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        this.keyPair = generator.generateKeyPair();
+        this.certificate = Files.createTempFile("casdoor-benchmark", ".pem");
+        this.certificate.toFile().deleteOnExit();
+        Files.writeString(certificate, "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII))
+                        .encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n");
+    }
+
+    /**
+     * @param expiresIn seconds until the token expires, negative for an expired token
+     * @return an RS256 token of a Casdoor user with the `admin` role
+     */
+    String token(long expiresIn) throws GeneralSecurityException {
+        long now = System.currentTimeMillis() / 1000;
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\"}";
+        String payload = "{\"owner\":\"built-in\",\"name\":\"alice\",\"id\":\"4b7c1f02\",\"displayName\":\"Alice\","
+                + "\"email\":\"alice@example.com\",\"roles\":[{\"owner\":\"built-in\",\"name\":\"admin\"}],"
+                + "\"permissions\":[],\"properties\":{\"department\":\"engineering\"},"
+                + "\"iss\":\"https://casdoor.example.com\",\"aud\":[\"benchmark\"],"
+                + "\"iat\":" + now + ",\"nbf\":" + now + ",\"exp\":" + (now + expiresIn) + "}";
+        String signingInput = encode(header) + "." + encode(payload);
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + BASE64URL.encodeToString(signature.sign());
+    }
+
+    /**
+     * @param properties properties overriding the benchmark defaults, without the `quarkus.casdoor.` prefix
+     * @return the Casdoor configuration
+     */
+    CasdoorConfig config(Map<String, String> properties) {
+        return config(certificate.toString(), properties);
+    }
+
+    /**
+     * @param certificate the certificate configuration value
+     * @param properties properties overriding the benchmark defaults, without the `quarkus.casdoor.` prefix
+     * @return the Casdoor configuration
+     */
+    static CasdoorConfig config(String certificate, Map<String, String> properties) {
+        Map<String, String> values = new HashMap<>();
+        values.put("quarkus.casdoor.endpoint", "https://casdoor.example.com");
+        values.put("quarkus.casdoor.organization-name", "built-in");
+        values.put("quarkus.casdoor.client-id", "benchmark");
+        values.put("quarkus.casdoor.client-secret", "benchmark");
+        values.put("quarkus.casdoor.application-name", "benchmark");
+        values.put("quarkus.casdoor.certificate", certificate);
+        values.put("quarkus.casdoor.verification.execution-mode", "event-loop");
+        values.put("quarkus.casdoor.certificate-reload.enabled", "false");
+        properties.forEach((name, value) -> values.put("quarkus.casdoor." + name, value));
+
+        SmallRyeConfig config = new SmallRyeConfigBuilder()
+                .withMapping(CasdoorConfig.class)
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withSources(new PropertiesConfigSource(values, "benchmark", 500))
+                .build();
+        return config.getConfigMapping(CasdoorConfig.class);
+    }
+
+    private static String encode(String json) {
+        return BASE64URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
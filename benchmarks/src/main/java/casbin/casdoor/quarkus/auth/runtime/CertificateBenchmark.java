@@ -0,0 +1,62 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving the certificate file and parsing it, the work done for each new `AuthService`
+ * and each tenant whose key material is not cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CertificateBenchmark {
+
+    private String certificateFile;
+    private String certificate;
+
+    @Setup
+    public void setup() throws Exception {
+        CasdoorBenchmarkFixture fixture = new CasdoorBenchmarkFixture();
+        certificateFile = fixture.certificate.toString();
+        certificate = CasdoorConfigUtil.resolveCertificate(certificateFile);
+    }
+
+    @Benchmark
+    public String resolveCertificate() {
+        return CasdoorConfigUtil.resolveCertificate(certificateFile);
+    }
+
+    @Benchmark
+    public PublicKey parsePublicKey() {
+        return CasdoorConfigUtil.parsePublicKey(certificate);
+    }
+}
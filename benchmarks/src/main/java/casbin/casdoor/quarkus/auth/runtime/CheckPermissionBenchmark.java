@@ -0,0 +1,165 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.oidc.AccessTokenCredential;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.security.runtime.QuarkusPrincipal;
+import io.quarkus.security.runtime.QuarkusSecurityIdentity;
+import io.quarkus.vertx.http.runtime.security.HttpSecurityPolicy.CheckResult;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.mutiny.core.Vertx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CasdoorHttpSecurityPolicy#checkPermission} for an authenticated GET request.
+ * Verification runs on the calling thread (`event-loop` execution mode), so the measurement
+ * covers the whole check without thread hops.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckPermissionBenchmark {
+
+    @Param({ "valid", "expired", "malformed", "anonymous" })
+    String token;
+
+    @Param({ "sdk", "native" })
+    String verifier;
+
+    @Param({ "true", "false" })
+    String tokenCache;
+
+    @Param({ "true", "false" })
+    String rejectedTokenCache;
+
+    private Vertx vertx;
+    private CasdoorHttpSecurityPolicy policy;
+    private RoutingContext routingContext;
+    private Uni<SecurityIdentity> identity;
+
+    @Setup
+    public void setup() throws Exception {
+        CasdoorBenchmarkFixture fixture = new CasdoorBenchmarkFixture();
+        CasdoorConfig config = fixture.config(Map.of(
+                "verification.verifier", verifier,
+                "token-cache.enabled", tokenCache,
+                "rejected-token-cache.enabled", rejectedTokenCache));
+        vertx = Vertx.vertx();
+
+        CasdoorConfigResolver configResolver = new DefaultCasdoorConfigResolver(config);
+        CasdoorKeyMaterialHolder keyMaterial = new CasdoorKeyMaterialHolder(configResolver);
+        AuthServiceProducer producer = new AuthServiceProducer();
+        CasdoorTokenVerifier tokenVerifier = producer.produceTokenVerifier(config,
+                producer.produceAuthService(configResolver, keyMaterial), keyMaterial);
+
+        policy = new CasdoorHttpSecurityPolicy();
+        policy.config = config;
+        policy.configResolver = configResolver;
+        policy.tokenVerifier = tokenVerifier;
+        policy.tenantVerifiers = new CasdoorTenantVerifiers(config, tokenVerifier);
+        policy.tokenCache = new CasdoorTokenCache(config);
+        policy.rejectedTokens = new CasdoorRejectedTokenCache(config);
+        policy.sharedTokens = new CasdoorSharedTokens(CasdoorSharedTokenCache.NONE, policy.tokenCache, keyMaterial,
+                config);
+        policy.jwksRefresher = new CasdoorJwksRefresher(keyMaterial, policy.sharedTokens, vertx,
+                new CasdoorClient(vertx, configResolver), config, CasdoorMetrics.NOOP);
+        policy.routeTable = CasdoorRouteTable.build(List.of());
+        policy.policyEnforcer = new CasdoorPolicyEnforcer(config);
+        policy.revocations = new CasdoorRevocations(policy.sharedTokens, new CasdoorClient(vertx, configResolver),
+                vertx, config);
+        policy.rateLimiter = new CasdoorRateLimiter(config);
+        policy.metrics = CasdoorMetrics.NOOP;
+        policy.tracing = CasdoorTracing.NOOP;
+        policy.init();
+
+        routingContext = routingContext(HttpMethod.GET, "/api/orders/42");
+        identity = Uni.createFrom().item(identity(fixture));
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.closeAndAwait();
+    }
+
+    @Benchmark
+    public CheckResult checkPermission() {
+        return policy.checkPermission(routingContext, identity, null).await().indefinitely();
+    }
+
+    private SecurityIdentity identity(CasdoorBenchmarkFixture fixture) throws Exception {
+        if ("anonymous".equals(token)) {
+            return QuarkusSecurityIdentity.builder().setAnonymous(true).build();
+        }
+        String value;
+        switch (token) {
+            case "expired":
+                value = fixture.token(-60);
+                break;
+            case "malformed":
+                value = "eyJhbGciOiJSUzI1NiJ9.bm90LWpzb24.c2lnbmF0dXJl";
+                break;
+            default:
+                value = fixture.token(3600);
+        }
+        return QuarkusSecurityIdentity.builder()
+                .setPrincipal(new QuarkusPrincipal("alice"))
+                .addCredential(new AccessTokenCredential(value))
+                .build();
+    }
+
+    /**
+     * A routing context answering only what the policy reads; every other call returns null.
+     */
+    static RoutingContext routingContext(HttpMethod method, String path) {
+        HttpServerRequest request = (HttpServerRequest) Proxy.newProxyInstance(
+                CheckPermissionBenchmark.class.getClassLoader(), new Class<?>[] { HttpServerRequest.class },
+                (proxy, invoked, args) -> "method".equals(invoked.getName()) ? method : null);
+        return (RoutingContext) Proxy.newProxyInstance(
+                CheckPermissionBenchmark.class.getClassLoader(), new Class<?>[] { RoutingContext.class },
+                (proxy, invoked, args) -> {
+                    switch (invoked.getName()) {
+                        case "request":
+                            return request;
+                        case "normalizedPath":
+                            return path;
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
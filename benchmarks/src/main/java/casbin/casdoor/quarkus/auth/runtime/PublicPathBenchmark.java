@@ -0,0 +1,69 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures public path matching, as done by `CasdoorHttpSecurityPolicy.isPublicPath` for anonymous requests,
+ * with a growing number of exact, prefix and segment wildcard patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicPathBenchmark {
+
+    @Param({ "10", "100", "500" })
+    int patterns;
+
+    @Param({ "/static/module-7/app.js", "/api/tenants/acme/public/status", "/api/orders/42" })
+    String path;
+
+    private CasdoorPathMatcher matcher;
+
+    @Setup
+    public void setup() {
+        List<String> rules = new ArrayList<>();
+        for (int i = 0; rules.size() < patterns; i++) {
+            rules.add("/docs/page-" + i);
+            rules.add("/static/module-" + i + "/*");
+            rules.add("/api/tenants/*/public/feed-" + i);
+        }
+        rules.add("/api/tenants/*/public/status");
+        matcher = CasdoorPathMatcher.compile(rules);
+    }
+
+    @Benchmark
+    public boolean isPublicPath() {
+        return matcher.matches(path);
+    }
+}
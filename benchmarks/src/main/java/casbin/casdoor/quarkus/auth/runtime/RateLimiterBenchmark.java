@@ -0,0 +1,74 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.casbin.casdoor.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of the rate limiter, with all threads hitting one user or spread over many.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+    @Param({ "1", "10000" })
+    int users;
+
+    private CasdoorRateLimiter rateLimiter;
+    private VerifiedToken[] tokens;
+
+    @Setup
+    public void setup() throws Exception {
+        CasdoorConfig config = new CasdoorBenchmarkFixture().config(Map.of(
+                "rate-limit.enabled", "true",
+                "rate-limit.limit", "1000000",
+                "rate-limit.period", "1S"));
+        rateLimiter = new CasdoorRateLimiter(config);
+        tokens = new VerifiedToken[users];
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.owner = "built-in";
+            user.name = "user-" + i;
+            tokens[i] = new VerifiedToken(user, 0, Collections.emptySet(), Collections.emptySet(), null, null, 0);
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return rateLimiter.tryAcquire(tokens[ThreadLocalRandom.current().nextInt(users)]);
+    }
+}
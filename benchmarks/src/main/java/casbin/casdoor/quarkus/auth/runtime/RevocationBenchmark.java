@@ -0,0 +1,96 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.vertx.mutiny.core.Vertx;
+import org.casbin.casdoor.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the revocation check of a token that is not revoked, the cost paid by every request,
+ * against the number of revoked tokens and users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RevocationBenchmark {
+
+    @Param({ "0", "100000", "1000000" })
+    int revokedTokens;
+
+    @Param({ "0", "1000" })
+    int revokedUsers;
+
+    private Vertx vertx;
+    private CasdoorRevocations revocations;
+    private VerifiedToken[] tokens;
+
+    @Setup
+    public void setup() throws Exception {
+        CasdoorBenchmarkFixture fixture = new CasdoorBenchmarkFixture();
+        CasdoorConfig config = fixture.config(Map.of("revocation.enabled", "true"));
+        vertx = Vertx.vertx();
+        CasdoorConfigResolver configResolver = new DefaultCasdoorConfigResolver(config);
+        CasdoorSharedTokens sharedTokens = new CasdoorSharedTokens(CasdoorSharedTokenCache.NONE,
+                new CasdoorTokenCache(config), new CasdoorKeyMaterialHolder(CasdoorKeyMaterial.EMPTY), config);
+        revocations = new CasdoorRevocations(sharedTokens, new CasdoorClient(vertx, configResolver), vertx, config);
+
+        long expiresAt = System.currentTimeMillis() / 1000 + 3600;
+        for (int i = 0; i < revokedTokens; i++) {
+            revocations.revokeToken(UUID.randomUUID().toString(), expiresAt);
+        }
+        for (int i = 0; i < revokedUsers; i++) {
+            revocations.revokeUser("built-in", "revoked-" + i);
+        }
+        tokens = new VerifiedToken[1024];
+        for (int i = 0; i < tokens.length; i++) {
+            User user = new User();
+            user.owner = "built-in";
+            user.name = "user-" + i;
+            tokens[i] = new VerifiedToken(user, expiresAt, Collections.emptySet(), Collections.emptySet(), null,
+                    UUID.randomUUID().toString(), expiresAt - 3600);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.closeAndAwait();
+    }
+
+    @Benchmark
+    public boolean isRevoked() {
+        return revocations.isRevoked(tokens[ThreadLocalRandom.current().nextInt(tokens.length)]);
+    }
+}
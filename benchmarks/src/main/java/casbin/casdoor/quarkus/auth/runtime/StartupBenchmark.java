@@ -0,0 +1,101 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the startup work of the extension's beans in a fresh JVM: validating the configuration, resolving
+ * and parsing the classpath certificate, reading the classpath policy file and compiling the public path matcher.
+ * With `preloaded`, {@link CasdoorRecorder#preload} ran first, as during static initialization, which a native
+ * image performs at build time; the measurement is then what is left for startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    private static final String CERTIFICATE = "-----BEGIN PUBLIC KEY-----\n"
+            + "MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAuaQ7JISAUdxUdlYrd8wo\n"
+            + "ANoMLuKr1BZqSamxzgjNrUXbM0maX9KBR+IrElnK8YntDNC/5oLuklW0jmx0EnUT\n"
+            + "YS4sj7ftewol9df4LEPWIL1W1nLhbuga6bVtCB7E1tNDLnFiVtIU/Bw7Pj0+TNHe\n"
+            + "Pv1iAXuG/rvt0nkwEmkbm7+jNkMaTqsmmYyzjQ3apte4LEO5QnCGRlR7BgbnGDsV\n"
+            + "SpNT0MyS3KUmytHnE/M0T4SymxdMcpQ6s+Tp4SIH4DMnLHkoq272kurjViLNI8+4\n"
+            + "7VFGhOLD87eKucp2zZepYCtiR5d8YTPUEEC8JkDk31ZTAQsZQfgFVVmzajCPoroF\n"
+            + "ywIDAQAB\n"
+            + "-----END PUBLIC KEY-----\n";
+
+    private static final String POLICY = "p, admin, /api/*, GET\n"
+            + "p, admin, /api/orders/*, POST\n"
+            + "p, built-in/alice, /api/reports*, read\n"
+            + "g, built-in/bob, admin\n";
+
+    @Param({ "false", "true" })
+    boolean preloaded;
+
+    private ClassLoader resources;
+    private CasdoorConfig config;
+
+    @Setup
+    public void setup() throws Exception {
+        Path directory = Files.createTempDirectory("casdoor-startup");
+        directory.toFile().deleteOnExit();
+        Files.writeString(directory.resolve("certificate.pem"), CERTIFICATE).toFile().deleteOnExit();
+        Files.writeString(directory.resolve("policy.csv"), POLICY).toFile().deleteOnExit();
+        resources = new URLClassLoader(new URL[] { directory.toUri().toURL() },
+                Thread.currentThread().getContextClassLoader());
+
+        config = CasdoorBenchmarkFixture.config("certificate.pem", Map.of(
+                "authorization.enabled", "true",
+                "authorization.policy-file", "policy.csv"));
+        if (preloaded) {
+            Thread.currentThread().setContextClassLoader(resources);
+            new CasdoorRecorder().preload(
+                    Map.of("certificate.pem", CasdoorConfigUtil.readCertificateResource("certificate.pem")),
+                    Map.of("policy.csv", CasdoorConfigUtil.readPolicyResource("policy.csv")),
+                    config.publicPaths());
+        }
+    }
+
+    @Benchmark
+    public Object[] initialize() {
+        Thread.currentThread().setContextClassLoader(resources);
+        CasdoorConfigResolver configResolver = new DefaultCasdoorConfigResolver(config);
+        CasdoorKeyMaterialHolder keyMaterial = new CasdoorKeyMaterialHolder(configResolver);
+        CasdoorPolicyEnforcer policyEnforcer = new CasdoorPolicyEnforcer(config);
+        CasdoorPathMatcher publicPaths = CasdoorPreloadedResources.publicPaths(config.publicPaths());
+        return new Object[] { keyMaterial.get(), policyEnforcer, publicPaths };
+    }
+}
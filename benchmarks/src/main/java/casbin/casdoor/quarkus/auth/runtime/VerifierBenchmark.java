@@ -0,0 +1,65 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the SDK `AuthService.parseJwtToken` verifier with the native verifier, on a valid RS256 token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerifierBenchmark {
+
+    @Param({ "sdk", "native" })
+    String verifier;
+
+    private CasdoorTokenVerifier tokenVerifier;
+    private String token;
+
+    @Setup
+    public void setup() throws Exception {
+        CasdoorBenchmarkFixture fixture = new CasdoorBenchmarkFixture();
+        CasdoorConfig config = fixture.config(Map.of("verification.verifier", verifier));
+        CasdoorConfigResolver configResolver = new DefaultCasdoorConfigResolver(config);
+        CasdoorKeyMaterialHolder keyMaterial = new CasdoorKeyMaterialHolder(configResolver);
+        AuthServiceProducer producer = new AuthServiceProducer();
+        tokenVerifier = producer.produceTokenVerifier(config,
+                producer.produceAuthService(configResolver, keyMaterial), keyMaterial);
+        token = fixture.token(3600);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return tokenVerifier.verify(token);
+    }
+}
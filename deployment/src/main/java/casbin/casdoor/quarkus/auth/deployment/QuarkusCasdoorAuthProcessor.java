@@ -15,20 +15,88 @@
 package casbin.casdoor.quarkus.auth.deployment;
 
 import casbin.casdoor.quarkus.auth.runtime.AuthServiceProducer;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorCertificateWatcher;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorClient;
 import casbin.casdoor.quarkus.auth.runtime.CasdoorConfig;
 import casbin.casdoor.quarkus.auth.runtime.CasdoorConfigResolver;
 import casbin.casdoor.quarkus.auth.runtime.CasdoorConfigUtil;
 import casbin.casdoor.quarkus.auth.runtime.CasdoorHttpSecurityPolicy;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorIdentityAugmentor;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorIntrospections;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorJwksRefresher;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorKeyMaterialHolder;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorPolicyEnforcer;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorRateLimiter;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorRecorder;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorRejectedTokenCache;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorRequires;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorRevocationWebhook;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorRevocations;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorRouteDefinition;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorRouteTable;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorSessions;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorSharedTokenCacheProducer;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorSharedTokens;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorTelemetryProducer;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorTenantVerifiers;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorTokenCache;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorTokenIntrospectionCache;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorTokenStateManager;
+import casbin.casdoor.quarkus.auth.runtime.CasdoorUserService;
 import casbin.casdoor.quarkus.auth.runtime.DefaultCasdoorConfigResolver;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
+import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.Capability;
+import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.quarkus.deployment.logging.LogCleanupFilterBuildItem;
+import io.quarkus.deployment.metrics.MetricsCapabilityBuildItem;
+import io.quarkus.runtime.metrics.MetricsFactory;
+import io.quarkus.vertx.http.deployment.HttpRootPathBuildItem;
+import io.smallrye.config.WithDefault;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.AnnotationValue;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 class QuarkusCasdoorAuthProcessor {
 
     private static final String FEATURE = "quarkus-casdoor-auth";
+    private static final String CONFIG_PREFIX = "quarkus.casdoor.";
+
+    private static final DotName JAXRS_PATH = DotName.createSimple("jakarta.ws.rs.Path");
+    private static final DotName JAXRS_APPLICATION_PATH = DotName.createSimple("jakarta.ws.rs.ApplicationPath");
+    private static final List<DotName> JAXRS_METHODS = List.of(
+            DotName.createSimple("jakarta.ws.rs.GET"),
+            DotName.createSimple("jakarta.ws.rs.POST"),
+            DotName.createSimple("jakarta.ws.rs.PUT"),
+            DotName.createSimple("jakarta.ws.rs.DELETE"),
+            DotName.createSimple("jakarta.ws.rs.PATCH"),
+            DotName.createSimple("jakarta.ws.rs.HEAD"),
+            DotName.createSimple("jakarta.ws.rs.OPTIONS"));
+    private static final DotName ROUTE = DotName.createSimple("io.quarkus.vertx.web.Route");
+    private static final DotName ROUTE_BASE = DotName.createSimple("io.quarkus.vertx.web.RouteBase");
+    private static final DotName PERMIT_ALL = DotName.createSimple("jakarta.annotation.security.PermitAll");
+    private static final DotName CASDOOR_REQUIRES = DotName.createSimple(CasdoorRequires.class.getName());
 
     @BuildStep
     FeatureBuildItem feature() {
@@ -44,20 +112,161 @@ class QuarkusCasdoorAuthProcessor {
                     CasdoorConfigUtil.class,
                     DefaultCasdoorConfigResolver.class,
                     CasdoorHttpSecurityPolicy.class,
+                    CasdoorIdentityAugmentor.class,
+                    CasdoorTokenCache.class,
+                    CasdoorRejectedTokenCache.class,
+                    CasdoorSharedTokens.class,
+                    CasdoorSharedTokenCacheProducer.class,
+                    CasdoorTenantVerifiers.class,
+                    CasdoorKeyMaterialHolder.class,
+                    CasdoorClient.class,
+                    CasdoorUserService.class,
+                    CasdoorJwksRefresher.class,
+                    CasdoorCertificateWatcher.class,
+                    CasdoorPolicyEnforcer.class,
+                    CasdoorRateLimiter.class,
+                    CasdoorRevocations.class,
+                    CasdoorRevocationWebhook.class,
+                    CasdoorIntrospections.class,
+                    CasdoorTokenIntrospectionCache.class,
+                    CasdoorSessions.class,
+                    CasdoorTelemetryProducer.class,
                     AuthServiceProducer.class
                 )
                 .setUnremovable()
                 .build();
     }
 
+    /**
+     * Replaces the quarkus-oidc token state manager only when session refresh is enabled when the application is
+     * built, so applications without it keep the quarkus-oidc manager, or their own.
+     */
+    @BuildStep
+    void registerTokenStateManager(BuildProducer<AdditionalBeanBuildItem> beans) {
+        Config config = ConfigProvider.getConfig();
+        if (buildTimeValue(config, CONFIG_PREFIX + "session-refresh.enabled").map(Boolean::parseBoolean).orElse(false)) {
+            beans.produce(AdditionalBeanBuildItem.unremovableOf(CasdoorTokenStateManager.class));
+        }
+    }
+
+    /**
+     * Replaces the no-op metrics and tracing with the Micrometer and OpenTelemetry implementations
+     * when the application uses those extensions. The implementations are referenced by name,
+     * as their libraries are optional dependencies of the runtime module.
+     */
+    @BuildStep
+    void registerTelemetry(Capabilities capabilities, Optional<MetricsCapabilityBuildItem> metricsCapability,
+            BuildProducer<AdditionalBeanBuildItem> beans) {
+        if (metricsCapability.isPresent() && metricsCapability.get().metricsSupported(MetricsFactory.MICROMETER)) {
+            beans.produce(AdditionalBeanBuildItem.unremovableOf(
+                    "casbin.casdoor.quarkus.auth.runtime.MicrometerCasdoorMetrics"));
+        }
+        if (capabilities.isPresent(Capability.OPENTELEMETRY_TRACER)) {
+            beans.produce(AdditionalBeanBuildItem.unremovableOf(
+                    "casbin.casdoor.quarkus.auth.runtime.OpenTelemetryCasdoorTracing"));
+        }
+    }
+
+    /**
+     * Registers the SDK user for reflection, as the SDK maps token claims onto its fields.
+     * The SDK configuration and service are only instantiated directly, and the configuration
+     * mapping is handled by Quarkus, so they need no registration.
+     */
     @BuildStep
     ReflectiveClassBuildItem reflectiveClasses() {
-        return ReflectiveClassBuildItem.builder(
-                CasdoorConfig.class,
-                org.casbin.casdoor.config.Config.class,
-                org.casbin.casdoor.entity.User.class,
-                org.casbin.casdoor.service.AuthService.class
-        ).build();
+        return ReflectiveClassBuildItem.builder(org.casbin.casdoor.entity.User.class)
+                .publicConstructors()
+                .fields()
+                .reason("Casdoor SDK maps token claims onto the user's fields")
+                .build();
+    }
+
+    /**
+     * Reads the classpath certificates and policy files named by the build-time configuration, and prepares them
+     * with the public path matcher during static initialization, see {@code CasdoorPreloadedResources}.
+     * These properties are runtime properties, so only the values already fixed when the application is built are
+     * preloaded: values with expressions, which may resolve differently once deployed, or that cannot be resolved,
+     * are skipped, and nothing is validated here. Invalid values are reported when the runtime configuration is read.
+     */
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    void preloadResources(CasdoorRecorder recorder) {
+        Config config = ConfigProvider.getConfig();
+        Map<String, String> certificates = new HashMap<>();
+        Map<String, List<String>> policyFiles = new HashMap<>();
+        for (String name : config.getPropertyNames()) {
+            if (!name.startsWith(CONFIG_PREFIX)) {
+                continue;
+            }
+            boolean tenant = name.startsWith(CONFIG_PREFIX + "tenants.");
+            if (name.equals(CONFIG_PREFIX + "certificate") || tenant && name.endsWith(".certificate")) {
+                buildTimeValue(config, name).ifPresent(value -> {
+                    String certificate = CasdoorConfigUtil.readCertificateResource(value);
+                    if (certificate != null) {
+                        certificates.put(value, certificate);
+                    }
+                });
+            } else if (name.equals(CONFIG_PREFIX + "authorization.policy-file")) {
+                buildTimeValue(config, name).ifPresent(value -> {
+                    List<String> lines = CasdoorConfigUtil.readPolicyResource(value);
+                    if (lines != null) {
+                        policyFiles.put(value, lines);
+                    }
+                });
+            }
+        }
+        recorder.preload(certificates, policyFiles, buildTimePublicPaths(config));
+    }
+
+    /**
+     * @return the public paths, or null if they contain an expression or cannot be resolved
+     */
+    private static List<String> buildTimePublicPaths(Config config) {
+        for (String name : config.getPropertyNames()) {
+            if (name.startsWith(CONFIG_PREFIX + "public-paths")) {
+                String raw = config.getConfigValue(name).getRawValue();
+                if (raw != null && raw.contains("${")) {
+                    return null;
+                }
+            }
+        }
+        try {
+            return config.getOptionalValues(CONFIG_PREFIX + "public-paths", String.class)
+                    .<List<String>> map(ArrayList::new)
+                    .orElseGet(QuarkusCasdoorAuthProcessor::defaultPublicPaths);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param config the build-time configuration
+     * @param name the property name
+     * @return the value of the property, unless it is missing, contains an expression or cannot be resolved
+     */
+    private static Optional<String> buildTimeValue(Config config, String name) {
+        String raw = config.getConfigValue(name).getRawValue();
+        if (raw == null || raw.contains("${")) {
+            return Optional.empty();
+        }
+        try {
+            return config.getOptionalValue(name, String.class);
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Defaults of the runtime configuration are not visible at build time, so the default public paths
+     * are read from the mapping.
+     */
+    private static List<String> defaultPublicPaths() {
+        try {
+            WithDefault value = CasdoorConfig.class.getMethod("publicPaths").getAnnotation(WithDefault.class);
+            return value != null ? new ArrayList<>(Arrays.asList(value.value().split(","))) : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
     }
 
     @BuildStep
@@ -68,4 +277,104 @@ class QuarkusCasdoorAuthProcessor {
                 "Connection reset"
         );
     }
+
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    SyntheticBeanBuildItem routeTable(CasdoorRecorder recorder, CombinedIndexBuildItem combinedIndex,
+            HttpRootPathBuildItem httpRootPath, Capabilities capabilities) {
+        IndexView index = combinedIndex.getIndex();
+        List<CasdoorRouteDefinition> routes = new ArrayList<>();
+
+        Config config = ConfigProvider.getConfig();
+        String restRoot;
+        if (capabilities.isPresent(Capability.RESTEASY)) {
+            // RESTEasy Classic only uses its path when no application class declares one
+            restRoot = config.getOptionalValue("quarkus.resteasy.path", String.class).orElse("/");
+            for (AnnotationInstance applicationPath : index.getAnnotations(JAXRS_APPLICATION_PATH)) {
+                restRoot = joinPaths("/", applicationPath.value().asString());
+            }
+        } else {
+            restRoot = config.getOptionalValue("quarkus.rest.path", String.class).orElse("/");
+            for (AnnotationInstance applicationPath : index.getAnnotations(JAXRS_APPLICATION_PATH)) {
+                restRoot = joinPaths(restRoot, applicationPath.value().asString());
+            }
+        }
+
+        for (DotName httpMethod : JAXRS_METHODS) {
+            for (AnnotationInstance annotation : index.getAnnotations(httpMethod)) {
+                if (annotation.target().kind() != AnnotationTarget.Kind.METHOD) {
+                    continue;
+                }
+                MethodInfo method = annotation.target().asMethod();
+                ClassInfo resource = method.declaringClass();
+                AnnotationInstance classPath = resource.declaredAnnotation(JAXRS_PATH);
+                AnnotationInstance methodPath = method.declaredAnnotation(JAXRS_PATH);
+                String path = joinPaths(restRoot, classPath != null ? classPath.value().asString() : "");
+                path = joinPaths(path, methodPath != null ? methodPath.value().asString() : "");
+                addRoute(routes, method, joinPaths(httpRootPath.getRootPath(), path), httpMethod.local());
+            }
+        }
+
+        for (AnnotationInstance annotation : index.getAnnotations(ROUTE)) {
+            if (annotation.target().kind() != AnnotationTarget.Kind.METHOD || annotation.value("regex") != null) {
+                continue;
+            }
+            MethodInfo method = annotation.target().asMethod();
+            AnnotationInstance routeBase = method.declaringClass().declaredAnnotation(ROUTE_BASE);
+            AnnotationValue pathValue = annotation.value("path");
+            String path = pathValue != null ? pathValue.asString() : method.name();
+            if (routeBase != null && routeBase.value("path") != null) {
+                path = joinPaths(routeBase.value("path").asString(), path);
+            }
+            path = joinPaths("/", path).replaceAll(":([^/]+)", "{$1}");
+            AnnotationValue methods = annotation.value("methods");
+            if (methods == null) {
+                addRoute(routes, method, joinPaths(httpRootPath.getRootPath(), path), null);
+            } else {
+                for (String httpMethod : methods.asEnumArray()) {
+                    addRoute(routes, method, joinPaths(httpRootPath.getRootPath(), path), httpMethod);
+                }
+            }
+        }
+
+        return SyntheticBeanBuildItem.configure(CasdoorRouteTable.class)
+                .scope(Singleton.class)
+                .unremovable()
+                .supplier(recorder.routeTable(routes))
+                .done();
+    }
+
+    /**
+     * Adds a route to the table with the authorization annotation of the route, or of its declaring class.
+     * Routes without one are added as unrestricted, so the policy of a less specific route never applies to them.
+     */
+    private static void addRoute(List<CasdoorRouteDefinition> routes, MethodInfo method, String path, String httpMethod) {
+        AnnotationInstance requires = method.declaredAnnotation(CASDOOR_REQUIRES);
+        boolean permitAll = method.hasDeclaredAnnotation(PERMIT_ALL);
+        if (requires == null && !permitAll) {
+            ClassInfo declaringClass = method.declaringClass();
+            requires = declaringClass.declaredAnnotation(CASDOOR_REQUIRES);
+            permitAll = declaringClass.hasDeclaredAnnotation(PERMIT_ALL);
+        }
+
+        CasdoorRouteDefinition route = new CasdoorRouteDefinition();
+        route.setPath(path);
+        route.setMethod(httpMethod);
+        route.setPermitAll(permitAll);
+        if (requires != null) {
+            AnnotationValue roles = requires.value("roles");
+            AnnotationValue permissions = requires.value("permissions");
+            route.setRoles(roles != null ? new ArrayList<>(Arrays.asList(roles.asStringArray())) : new ArrayList<>());
+            route.setPermissions(permissions != null
+                    ? new ArrayList<>(Arrays.asList(permissions.asStringArray()))
+                    : new ArrayList<>());
+        }
+        routes.add(route);
+    }
+
+    private static String joinPaths(String base, String path) {
+        String joined = (base.endsWith("/") ? base.substring(0, base.length() - 1) : base)
+                + (path.isEmpty() || path.startsWith("/") ? path : "/" + path);
+        return joined.isEmpty() ? "/" : joined.startsWith("/") ? joined : "/" + joined;
+    }
 }
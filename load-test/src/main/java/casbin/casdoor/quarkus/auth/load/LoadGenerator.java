@@ -0,0 +1,169 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.load;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends a mix of valid, expired and anonymous requests to the application and records their latency.
+ * Without a target rate, the generator is closed-loop: each connection sends its next request when the previous
+ * one completes. With a target rate, it is open-loop: requests are sent on schedule, and latencies are measured
+ * from when each request was due, so they include the time spent waiting for a busy server.
+ */
+final class LoadGenerator {
+
+    private final Vertx vertx;
+    private final LoadTestOptions options;
+    private final LoadStats stats;
+    private final HttpClient client;
+    private final String[] validTokens;
+    private final String[] expiredTokens;
+    private final int totalWeight;
+    private final AtomicLong inflight = new AtomicLong();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private volatile long deadline;
+
+    LoadGenerator(Vertx vertx, LoadTestOptions options, LoadStats stats, MockCasdoor mock, int port) {
+        this.vertx = vertx;
+        this.options = options;
+        this.stats = stats;
+        this.client = vertx.createHttpClient(new HttpClientOptions()
+                .setDefaultHost("localhost")
+                .setDefaultPort(port)
+                .setKeepAlive(true)
+                .setMaxPoolSize(options.connections));
+        long ttl = options.warmup.plus(options.duration).toSeconds() + 3600;
+        this.validTokens = new String[options.users];
+        for (int i = 0; i < validTokens.length; i++) {
+            validTokens[i] = mock.token("user" + i, ttl);
+        }
+        this.expiredTokens = new String[Math.min(100, options.users)];
+        for (int i = 0; i < expiredTokens.length; i++) {
+            expiredTokens[i] = mock.token("user" + i, -60);
+        }
+        this.totalWeight = options.validWeight + options.expiredWeight + options.anonymousWeight;
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("At least one load.traffic weight must be positive");
+        }
+    }
+
+    /**
+     * Sends requests until the deadline.
+     *
+     * @param durationNanos how long to send requests
+     * @return a future completed once every request sent has completed
+     */
+    CompletableFuture<Void> run(long durationNanos) {
+        deadline = System.nanoTime() + durationNanos;
+        if (options.rate > 0) {
+            runOpenLoop();
+        } else {
+            AtomicInteger workers = new AtomicInteger(options.connections);
+            for (int i = 0; i < options.connections; i++) {
+                vertx.runOnContext(ignored -> next(workers));
+            }
+        }
+        return done.whenComplete((ignored, failure) -> client.close());
+    }
+
+    private void next(AtomicInteger workers) {
+        long start = System.nanoTime();
+        if (start >= deadline) {
+            if (workers.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+            return;
+        }
+        Traffic traffic = pick();
+        send(traffic).onComplete(result -> {
+            record(traffic, start, result);
+            // a failed connection completes at once, so keep the stack flat
+            vertx.runOnContext(ignored -> next(workers));
+        });
+    }
+
+    private void runOpenLoop() {
+        long start = System.nanoTime();
+        double intervalNanos = 1e9 / options.rate;
+        AtomicLong sent = new AtomicLong();
+        vertx.setPeriodic(1, timer -> {
+            long now = System.nanoTime();
+            if (now >= deadline) {
+                vertx.cancelTimer(timer);
+                awaitInflight();
+                return;
+            }
+            long due = (long) ((now - start) / intervalNanos);
+            while (sent.get() < due) {
+                long scheduled = start + (long) (sent.getAndIncrement() * intervalNanos);
+                Traffic traffic = pick();
+                inflight.incrementAndGet();
+                send(traffic).onComplete(result -> {
+                    record(traffic, scheduled, result);
+                    inflight.decrementAndGet();
+                });
+            }
+        });
+    }
+
+    private void awaitInflight() {
+        if (inflight.get() == 0) {
+            done.complete(null);
+        } else {
+            vertx.setTimer(10, ignored -> awaitInflight());
+        }
+    }
+
+    private void record(Traffic traffic, long start, AsyncResult<Integer> result) {
+        boolean error = result.failed() || result.result() != traffic.expectedStatus();
+        stats.record(traffic, System.nanoTime() - start, error);
+    }
+
+    private Traffic pick() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        if (value < options.validWeight) {
+            return Traffic.VALID;
+        }
+        return value < options.validWeight + options.expiredWeight ? Traffic.EXPIRED : Traffic.ANONYMOUS;
+    }
+
+    private Future<Integer> send(Traffic traffic) {
+        RequestOptions request = new RequestOptions().setMethod(HttpMethod.GET).setURI(options.path);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (traffic) {
+            case VALID:
+                request.putHeader("Authorization", "Bearer " + validTokens[random.nextInt(validTokens.length)]);
+                break;
+            case EXPIRED:
+                request.putHeader("Authorization", "Bearer " + expiredTokens[random.nextInt(expiredTokens.length)]);
+                break;
+            default:
+        }
+        return client.request(request)
+                .compose(r -> r.send())
+                .compose(response -> response.body().map(ignored -> response.statusCode()));
+    }
+}
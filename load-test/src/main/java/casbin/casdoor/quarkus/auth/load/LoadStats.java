@@ -0,0 +1,138 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts of each kind of traffic. Latencies are recorded in microseconds into
+ * HdrHistogram recorders, so recording from the event loops never locks, and are reported both per interval
+ * and for the whole run.
+ */
+final class LoadStats {
+
+    private final Map<Traffic, Series> series = new EnumMap<>(Traffic.class);
+    private long intervalStart = System.nanoTime();
+    private long runStart = intervalStart;
+
+    LoadStats() {
+        for (Traffic traffic : Traffic.values()) {
+            series.put(traffic, new Series());
+        }
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param traffic the kind of request
+     * @param latencyNanos how long the request took
+     * @param error whether the request failed or got an unexpected status
+     */
+    void record(Traffic traffic, long latencyNanos, boolean error) {
+        Series s = series.get(traffic);
+        s.recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (error) {
+            s.intervalErrors.increment();
+        }
+    }
+
+    /**
+     * Discards everything recorded so far, at the end of the warmup.
+     */
+    void reset() {
+        for (Series s : series.values()) {
+            s.recorder.reset();
+            s.intervalErrors.reset();
+            s.total.reset();
+            s.totalErrors = 0;
+        }
+        intervalStart = System.nanoTime();
+        runStart = intervalStart;
+    }
+
+    /**
+     * Prints the requests completed since the last interval, over all kinds of traffic, and adds them to the totals.
+     *
+     * @param out where to print
+     */
+    void printInterval(PrintStream out) {
+        long now = System.nanoTime();
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        for (Series s : series.values()) {
+            Histogram interval = s.recorder.getIntervalHistogram();
+            long intervalErrors = s.intervalErrors.sumThenReset();
+            s.total.add(interval);
+            s.totalErrors += intervalErrors;
+            all.add(interval);
+            errors += intervalErrors;
+        }
+        out.printf("[%6.1fs] %s%n", (now - runStart) / 1e9, line(all, errors, now - intervalStart));
+        intervalStart = now;
+    }
+
+    /**
+     * Prints the totals of the run, for each kind of traffic and overall.
+     *
+     * @param out where to print
+     */
+    void printSummary(PrintStream out) {
+        long elapsed = System.nanoTime() - runStart;
+        out.printf("%-10s %10s %10s %9s %9s %9s %9s %8s%n",
+                "traffic", "requests", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        for (Map.Entry<Traffic, Series> entry : series.entrySet()) {
+            Series s = entry.getValue();
+            all.add(s.total);
+            errors += s.totalErrors;
+            out.println(row(entry.getKey().name().toLowerCase(), s.total, s.totalErrors, elapsed));
+        }
+        out.println(row("total", all, errors, elapsed));
+    }
+
+    private static String line(Histogram histogram, long errors, long elapsedNanos) {
+        long count = histogram.getTotalCount();
+        return String.format("rps=%.1f p50=%.3fms p99=%.3fms p999=%.3fms errors=%.2f%%",
+                count / (elapsedNanos / 1e9), millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                count == 0 ? 0 : 100.0 * errors / count);
+    }
+
+    private static String row(String name, Histogram histogram, long errors, long elapsedNanos) {
+        long count = histogram.getTotalCount();
+        return String.format("%-10s %10d %10.1f %9.3f %9.3f %9.3f %9.3f %7.2f%%",
+                name, count, count / (elapsedNanos / 1e9), millis(histogram, 50), millis(histogram, 99),
+                millis(histogram, 99.9), histogram.getMaxValue() / 1000.0, count == 0 ? 0 : 100.0 * errors / count);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Series {
+
+        final Recorder recorder = new Recorder(3);
+        final LongAdder intervalErrors = new LongAdder();
+        final Histogram total = new Histogram(3);
+        long totalErrors;
+    }
+}
@@ -0,0 +1,83 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.load;
+
+import io.quarkus.runtime.Quarkus;
+import io.quarkus.runtime.QuarkusApplication;
+import io.quarkus.runtime.annotations.QuarkusMain;
+import io.vertx.core.Vertx;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Starts the mock Casdoor server, then the application secured by the extension, drives it with the load generator
+ * and prints the measurements: every `load.report-interval`, then for the whole run.
+ */
+@QuarkusMain
+public class LoadTestMain implements QuarkusApplication {
+
+    private static LoadTestOptions options;
+    private static MockCasdoor mock;
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "quarkus.http.port")
+    int port;
+
+    public static void main(String... args) throws Exception {
+        options = new LoadTestOptions();
+        try (MockCasdoor started = MockCasdoor.start(options)) {
+            mock = started;
+            Quarkus.run(LoadTestMain.class, args);
+        }
+    }
+
+    @Override
+    public int run(String... args) throws Exception {
+        LoadStats stats = new LoadStats();
+        LoadGenerator generator = new LoadGenerator(vertx, options, stats, mock, port);
+        System.out.printf("Sending %s to http://localhost:%d%s for %s after a %s warmup, %s%n",
+                traffic(), port, options.path, options.duration, options.warmup,
+                options.rate > 0 ? options.rate + " requests per second" : options.connections + " connections");
+
+        CompletableFuture<Void> run = generator.run(options.warmup.plus(options.duration).toNanos());
+        Thread.sleep(options.warmup.toMillis());
+        stats.reset();
+        while (!run.isDone()) {
+            try {
+                run.get(options.reportInterval.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                stats.printInterval(System.out);
+            }
+        }
+        stats.printInterval(System.out);
+        System.out.println();
+        stats.printSummary(System.out);
+        System.out.printf("%nMock Casdoor: %d requests, %d failed on purpose%n", mock.requests(), mock.failures());
+        return 0;
+    }
+
+    private static String traffic() {
+        int total = options.validWeight + options.expiredWeight + options.anonymousWeight;
+        return String.format("%d%% valid, %d%% expired and %d%% anonymous requests",
+                100 * options.validWeight / total, 100 * options.expiredWeight / total,
+                100 * options.anonymousWeight / total);
+    }
+}
@@ -0,0 +1,111 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.load;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+
+import java.time.Duration;
+
+/**
+ * The options of a load test run, read from `load.*` system properties.
+ * They are read before Quarkus starts, as the mock Casdoor server has to be up before the extension contacts it.
+ */
+final class LoadTestOptions {
+
+    /**
+     * The port of the mock Casdoor server.
+     */
+    final int mockPort = integer("load.mock.port", 18900);
+
+    /**
+     * The latency added to every mock Casdoor response.
+     */
+    final Duration mockLatency = duration("load.mock.latency", "0S");
+
+    /**
+     * The maximum random latency added on top of `load.mock.latency`.
+     */
+    final Duration mockLatencyJitter = duration("load.mock.latency-jitter", "0S");
+
+    /**
+     * The share of mock Casdoor API requests answered with `503 Service Unavailable`, between 0 and 1.
+     * Discovery and JWKS requests never fail, so the application can always start.
+     */
+    final double mockFailureRate = decimal("load.mock.failure-rate", 0);
+
+    /**
+     * The number of users holding a valid token.
+     */
+    final int users = integer("load.users", 1000);
+
+    /**
+     * The path requested by the load generator.
+     */
+    final String path = System.getProperty("load.path", "/api/hello");
+
+    /**
+     * How long the load generator runs before measuring, to let the JIT compile the request path.
+     */
+    final Duration warmup = duration("load.warmup", "10S");
+
+    /**
+     * How long the load generator measures. Long durations turn the run into a soak test.
+     */
+    final Duration duration = duration("load.duration", "30S");
+
+    /**
+     * How often the measurements of the last interval are reported.
+     */
+    final Duration reportInterval = duration("load.report-interval", "5S");
+
+    /**
+     * The number of connections, and of requests in flight without a target rate.
+     */
+    final int connections = integer("load.connections", 32);
+
+    /**
+     * The target number of requests per second. Without a target rate, each connection sends its next request
+     * as soon as the previous one completes. With one, requests are sent on schedule whatever the response times,
+     * and their latency is measured from when they were due, so a stalled server is not under-reported.
+     */
+    final int rate = integer("load.rate", 0);
+
+    /**
+     * The relative share of requests with a valid token.
+     */
+    final int validWeight = integer("load.traffic.valid", 80);
+
+    /**
+     * The relative share of requests with an expired token.
+     */
+    final int expiredWeight = integer("load.traffic.expired", 10);
+
+    /**
+     * The relative share of requests without a token.
+     */
+    final int anonymousWeight = integer("load.traffic.anonymous", 10);
+
+    private static int integer(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, Integer.toString(defaultValue)));
+    }
+
+    private static double decimal(String name, double defaultValue) {
+        return Double.parseDouble(System.getProperty(name, Double.toString(defaultValue)));
+    }
+
+    private static Duration duration(String name, String defaultValue) {
+        return DurationConverter.parseDuration(System.getProperty(name, defaultValue));
+    }
+}
@@ -0,0 +1,54 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.load;
+
+import casbin.casdoor.quarkus.auth.runtime.CasdoorUserService;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+/**
+ * The endpoints the load generator requests, protected by `CasdoorHttpSecurityPolicy`.
+ */
+@Path("/api")
+public class LoadTestResource {
+
+    @Inject
+    SecurityIdentity identity;
+
+    @Inject
+    CasdoorUserService userService;
+
+    /**
+     * @return the name of the authenticated user, exercising authentication and authorization only
+     */
+    @GET
+    @Path("hello")
+    public String hello() {
+        return identity.getPrincipal().getName();
+    }
+
+    /**
+     * @return the display name of the authenticated user, also exercising the user endpoint of the mock Casdoor
+     */
+    @GET
+    @Path("profile")
+    public Uni<String> profile() {
+        return userService.getUser(identity.getPrincipal().getName())
+                .map(user -> user == null ? "" : user.displayName);
+    }
+}
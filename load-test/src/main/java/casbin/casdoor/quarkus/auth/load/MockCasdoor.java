@@ -0,0 +1,243 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.load;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * An in-process stand-in for Casdoor. Serves the OIDC discovery document, the JWKS, the token endpoint and the user
+ * endpoints of the `org` organization, and issues RS256 tokens shaped like Casdoor's. Every response can be delayed
+ * and API responses can fail, to see how the extension behaves when Casdoor is slow or unavailable.
+ */
+final class MockCasdoor implements AutoCloseable {
+
+    static final String ORGANIZATION = "org";
+    static final String KEY_ID = "load-test";
+
+    private final LoadTestOptions options;
+    private final String endpoint;
+    private final KeyPair keyPair;
+    private final Vertx vertx;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private MockCasdoor(LoadTestOptions options) throws GeneralSecurityException {
+        this.options = options;
+        this.endpoint = "http://localhost:" + options.mockPort;
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        this.keyPair = generator.generateKeyPair();
+        this.vertx = Vertx.vertx();
+    }
+
+    /**
+     * Starts the mock server and waits until it listens.
+     *
+     * @param options the load test options
+     * @return the started server
+     */
+    static MockCasdoor start(LoadTestOptions options) throws Exception {
+        MockCasdoor mock = new MockCasdoor(options);
+        Router router = Router.router(mock.vertx);
+        router.route().handler(BodyHandler.create());
+        router.get("/.well-known/openid-configuration").handler(ctx -> mock.respond(ctx, false, mock::discovery));
+        router.get("/.well-known/jwks").handler(ctx -> mock.respond(ctx, false, mock::jwks));
+        router.post("/api/login/oauth/access_token").handler(ctx -> mock.respond(ctx, true, mock::token));
+        router.get("/api/get-user").handler(ctx -> mock.respond(ctx, true, mock::user));
+        router.get("/api/get-users").handler(ctx -> mock.respond(ctx, true, mock::users));
+        router.get("/api/userinfo").handler(ctx -> mock.respond(ctx, true, mock::userInfo));
+        mock.vertx.createHttpServer()
+                .requestHandler(router)
+                .listen(options.mockPort)
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        return mock;
+    }
+
+    @Override
+    public void close() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the number of requests the mock received
+     */
+    long requests() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of requests the mock failed on purpose
+     */
+    long failures() {
+        return failures.get();
+    }
+
+    /**
+     * Issues an access token signed with the mock's key.
+     *
+     * @param name the user name
+     * @param ttlSeconds the lifetime of the token, negative for an expired token
+     * @return the compact JWT
+     */
+    String token(String name, long ttlSeconds) {
+        long now = System.currentTimeMillis() / 1000;
+        JsonObject claims = new JsonObject()
+                .put("iss", endpoint)
+                .put("sub", name)
+                .put("aud", new JsonArray().add("load-test"))
+                .put("azp", "load-test")
+                .put("jti", UUID.randomUUID().toString())
+                .put("iat", now)
+                .put("nbf", now)
+                .put("exp", now + ttlSeconds)
+                .put("owner", ORGANIZATION)
+                .put("name", name)
+                .put("roles", new JsonArray().add(new JsonObject().put("owner", ORGANIZATION).put("name", "user")))
+                .put("permissions", new JsonArray());
+        String header = encode(new JsonObject().put("alg", "RS256").put("typ", "JWT").put("kid", KEY_ID)
+                .encode().getBytes(StandardCharsets.UTF_8));
+        String payload = encode(claims.encode().getBytes(StandardCharsets.UTF_8));
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(keyPair.getPrivate());
+            signature.update((header + '.' + payload).getBytes(StandardCharsets.US_ASCII));
+            return header + '.' + payload + '.' + encode(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign a token", e);
+        }
+    }
+
+    /**
+     * Answers a request after the configured latency, failing API requests at the configured rate.
+     */
+    private void respond(RoutingContext ctx, boolean api, Function<RoutingContext, Object> body) {
+        requests.incrementAndGet();
+        long delay = options.mockLatency.toMillis();
+        if (options.mockLatencyJitter.toMillis() > 0) {
+            delay += ThreadLocalRandom.current().nextLong(options.mockLatencyJitter.toMillis() + 1);
+        }
+        Runnable send = () -> {
+            if (api && ThreadLocalRandom.current().nextDouble() < options.mockFailureRate) {
+                failures.incrementAndGet();
+                ctx.response().setStatusCode(503).end();
+                return;
+            }
+            Object json = body.apply(ctx);
+            ctx.response().putHeader("Content-Type", "application/json")
+                    .end(json instanceof JsonObject ? ((JsonObject) json).encode() : json.toString());
+        };
+        if (delay > 0) {
+            vertx.setTimer(delay, ignored -> send.run());
+        } else {
+            send.run();
+        }
+    }
+
+    private Object discovery(RoutingContext ctx) {
+        return new JsonObject()
+                .put("issuer", endpoint)
+                .put("authorization_endpoint", endpoint + "/login/oauth/authorize")
+                .put("token_endpoint", endpoint + "/api/login/oauth/access_token")
+                .put("userinfo_endpoint", endpoint + "/api/userinfo")
+                .put("jwks_uri", endpoint + "/.well-known/jwks")
+                .put("response_types_supported", new JsonArray().add("code"))
+                .put("subject_types_supported", new JsonArray().add("public"))
+                .put("id_token_signing_alg_values_supported", new JsonArray().add("RS256"));
+    }
+
+    private Object jwks(RoutingContext ctx) {
+        RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+        return new JsonObject().put("keys", new JsonArray().add(new JsonObject()
+                .put("kty", "RSA")
+                .put("kid", KEY_ID)
+                .put("use", "sig")
+                .put("alg", "RS256")
+                .put("n", encode(unsigned(key.getModulus())))
+                .put("e", encode(unsigned(key.getPublicExponent())))));
+    }
+
+    private Object token(RoutingContext ctx) {
+        String name = "user0";
+        String access = token(name, 3600);
+        return new JsonObject()
+                .put("access_token", access)
+                .put("id_token", access)
+                .put("refresh_token", UUID.randomUUID().toString())
+                .put("token_type", "Bearer")
+                .put("expires_in", 3600)
+                .put("scope", "openid profile");
+    }
+
+    private Object user(RoutingContext ctx) {
+        String id = ctx.request().getParam("id", ORGANIZATION + "/user0");
+        return envelope(user(id.substring(id.indexOf('/') + 1)));
+    }
+
+    private Object users(RoutingContext ctx) {
+        JsonArray users = new JsonArray();
+        for (int i = 0; i < options.users; i++) {
+            users.add(user("user" + i));
+        }
+        return envelope(users);
+    }
+
+    private Object userInfo(RoutingContext ctx) {
+        return new JsonObject().put("sub", "user0").put("name", "user0").put("preferred_username", "user0");
+    }
+
+    private static JsonObject user(String name) {
+        return new JsonObject()
+                .put("owner", ORGANIZATION)
+                .put("name", name)
+                .put("displayName", name)
+                .put("email", name + "@example.com")
+                .put("isAdmin", false)
+                .put("isForbidden", false)
+                .put("isDeleted", false);
+    }
+
+    private static JsonObject envelope(Object data) {
+        return new JsonObject().put("status", "ok").put("msg", "").put("data", data);
+    }
+
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,49 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.load;
+
+/**
+ * The kinds of requests the load generator sends, with the status the application must answer them with.
+ */
+enum Traffic {
+
+    /**
+     * A request with a valid token of one of the users.
+     */
+    VALID(200),
+
+    /**
+     * A request with a well-signed token that has expired.
+     */
+    EXPIRED(401),
+
+    /**
+     * A request without a token.
+     */
+    ANONYMOUS(401);
+
+    private final int expectedStatus;
+
+    Traffic(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    /**
+     * @return the status of a correct response, any other status counts as an error
+     */
+    int expectedStatus() {
+        return expectedStatus;
+    }
+}
@@ -16,8 +16,8 @@ package casbin.casdoor.quarkus.auth.runtime;
 
 import io.quarkus.arc.Unremovable;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
 import org.casbin.casdoor.config.Config;
 import org.casbin.casdoor.service.AuthService;
 
@@ -28,24 +28,52 @@ import org.casbin.casdoor.service.AuthService;
 public class AuthServiceProducer {
     
     @Produces
-    @Dependent
+    @Singleton
     @Unremovable
-    public AuthService produceAuthService(CasdoorConfigResolver configResolver) {
-        Config casdoorConfig = new Config();
-        
+    public AuthService produceAuthService(CasdoorConfigResolver configResolver, CasdoorKeyMaterialHolder keyMaterial) {
         casbin.casdoor.quarkus.auth.runtime.CasdoorConfig config = configResolver.resolveCasdoorConfig()
                 .await().indefinitely();
         
+        return createAuthService(config, keyMaterial.get().certificate());
+    }
+
+    /**
+     * Creates an SDK {@link AuthService} for a Casdoor configuration.
+     *
+     * @param config the Casdoor configuration
+     * @param certificate the resolved PEM certificate
+     * @return the auth service
+     */
+    static AuthService createAuthService(casbin.casdoor.quarkus.auth.runtime.CasdoorConfig config, String certificate) {
+        Config casdoorConfig = new Config();
+        
         config.endpoint().ifPresent(casdoorConfig::setEndpoint);
         config.clientId().ifPresent(casdoorConfig::setClientId);
         config.clientSecret().ifPresent(casdoorConfig::setClientSecret);        
         config.organizationName().ifPresent(casdoorConfig::setOrganizationName);
         config.applicationName().ifPresent(casdoorConfig::setApplicationName);        
-        config.certificate().ifPresent(certificate -> {
-            String resolvedCertificate = CasdoorConfigUtil.resolveCertificate(certificate);
-            casdoorConfig.setCertificate(resolvedCertificate);
-        });
+        casdoorConfig.setCertificate(certificate);
         
         return new AuthService(casdoorConfig);
     }
+
+    @Produces
+    @Singleton
+    @Unremovable
+    public CasdoorTokenVerifier produceTokenVerifier(casbin.casdoor.quarkus.auth.runtime.CasdoorConfig config,
+            AuthService authService, CasdoorKeyMaterialHolder keyMaterial) {
+        switch (config.verification().verifier()) {
+            case NATIVE:
+                return new NativeCasdoorTokenVerifier(keyMaterial);
+            case OIDC:
+                // identities verified by quarkus-oidc never reach the verifier, see CasdoorIdentityAugmentor
+                return token -> {
+                    throw new CasdoorTokenException(CasdoorTokenException.Reason.INVALID,
+                            "Token was not verified by quarkus-oidc");
+                };
+            default:
+                return new SdkCasdoorTokenVerifier(authService, keyMaterial,
+                        certificate -> createAuthService(config, certificate));
+        }
+    }
 }
@@ -0,0 +1,102 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A Bloom filter of strings, sized for a number of elements and a false positive probability.
+ * Bits are set atomically, so elements can be added while others are looked up without locking.
+ * Elements cannot be removed; the filter is rebuilt instead.
+ */
+final class CasdoorBloomFilter {
+
+    private static final LongBinaryOperator OR = (left, right) -> left | right;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final int capacity;
+
+    /**
+     * @param capacity the number of elements the filter is sized for
+     * @param falsePositiveProbability the false positive probability once the filter holds `capacity` elements
+     */
+    CasdoorBloomFilter(int capacity, double falsePositiveProbability) {
+        this.capacity = Math.max(1, capacity);
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) >>> 6));
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount << 6;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / this.capacity * ln2));
+    }
+
+    /**
+     * @return the number of elements the filter is sized for
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @param value the element to add
+     */
+    void add(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashes; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bits;
+            words.accumulateAndGet((int) (index >>> 6), 1L << index, OR);
+        }
+    }
+
+    /**
+     * @param value the element to look up
+     * @return false if the element was never added, true if it probably was
+     */
+    boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 + 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashes; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bits;
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a over the characters of the string, followed by a finalizer spreading the bits.
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
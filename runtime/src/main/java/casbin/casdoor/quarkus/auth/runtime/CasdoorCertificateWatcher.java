@@ -0,0 +1,161 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads the certificate when its file changes, so a rotated certificate, such as a remounted
+ * Kubernetes secret, is picked up without a restart.
+ * The directory of the file is watched, as secret volumes replace files through a symlink swap,
+ * and the file is also checked every poll interval in case file system events are unavailable or missed.
+ * A new certificate is parsed and validated in the background, then published atomically to
+ * {@link CasdoorKeyMaterialHolder}; a certificate that cannot be parsed is ignored.
+ * Tokens verified with the previous certificate are then verified again, on every replica when a shared cache
+ * is configured.
+ * Requests in flight complete with the certificate they started with.
+ */
+@Singleton
+public class CasdoorCertificateWatcher {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorCertificateWatcher.class);
+
+    /**
+     * How long the directory must be quiet after an event before the file is read,
+     * so that a file being written is not read half way.
+     */
+    private static final long SETTLE_MILLIS = 200;
+
+    private final CasdoorKeyMaterialHolder keyMaterial;
+    private final CasdoorSharedTokens sharedTokens;
+    private final CasdoorRejectedTokenCache rejectedTokens;
+    private final CasdoorMetrics metrics;
+    private final CasdoorConfig.CertificateReload config;
+    private final Path file;
+
+    private String rejected;
+    private volatile boolean running;
+    private Thread thread;
+    private WatchService watchService;
+
+    public CasdoorCertificateWatcher(CasdoorKeyMaterialHolder keyMaterial, CasdoorSharedTokens sharedTokens,
+            CasdoorRejectedTokenCache rejectedTokens, CasdoorConfigResolver configResolver, CasdoorMetrics metrics) {
+        CasdoorConfig casdoorConfig = configResolver.resolveCasdoorConfig().await().indefinitely();
+        this.keyMaterial = keyMaterial;
+        this.sharedTokens = sharedTokens;
+        this.rejectedTokens = rejectedTokens;
+        this.metrics = metrics;
+        this.config = casdoorConfig.certificateReload();
+        this.file = config.enabled()
+                ? casdoorConfig.certificate().map(CasdoorConfigUtil::certificateFile).orElse(null)
+                : null;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (file == null) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.debugf("Watching %s is not supported, polling it every %s", file, config.pollInterval());
+            watchService = null;
+        }
+        running = true;
+        thread = new Thread(this::watch, "casdoor-certificate-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                // the watcher thread is stopping anyway
+            }
+        }
+    }
+
+    private void watch() {
+        long pollMillis = config.pollInterval().toMillis();
+        while (running) {
+            try {
+                if (watchService != null) {
+                    WatchKey key = watchService.poll(pollMillis, TimeUnit.MILLISECONDS);
+                    // events only tell that something in the directory changed, the content decides
+                    while (key != null) {
+                        key.pollEvents();
+                        key.reset();
+                        key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                } else {
+                    Thread.sleep(pollMillis);
+                }
+                reload();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+        }
+    }
+
+    private void reload() {
+        String certificate;
+        try {
+            certificate = Files.readString(file);
+        } catch (IOException e) {
+            // the file may be in the middle of being replaced, the next check retries
+            return;
+        }
+        if (certificate.equals(keyMaterial.get().certificate()) || certificate.equals(rejected)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            keyMaterial.updateCertificate(certificate);
+            // tokens verified or rejected with the previous certificate are verified again
+            sharedTokens.invalidateAll().subscribe().with(ignored -> {
+            }, failure -> LOG.debugf("Announcing the certificate reload failed: %s", failure.getMessage()));
+            rejectedTokens.invalidateAll();
+            metrics.recordKeyRefresh(System.nanoTime() - start, true);
+            LOG.infof("Reloaded Casdoor certificate from %s", file);
+        } catch (RuntimeException e) {
+            rejected = certificate;
+            metrics.recordKeyRefresh(System.nanoTime() - start, false);
+            LOG.warnf("Ignoring invalid Casdoor certificate in %s: %s", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+
+/**
+ * A count-based circuit breaker guarding calls to Casdoor.
+ * The circuit opens once the ratio of failures among the last calls reaches the configured threshold,
+ * rejects every call for the configured delay, and then lets a single trial call through:
+ * the circuit closes again if it succeeds, and stays open for another delay otherwise.
+ */
+final class CasdoorCircuitBreaker {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorCircuitBreaker.class);
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean[] failures;
+    private final double failureRatio;
+    private final long delayNanos;
+    private final Duration delay;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failureCount;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CasdoorCircuitBreaker(CasdoorConfig.CircuitBreaker config) {
+        this.failures = new boolean[Math.max(1, config.windowSize())];
+        this.failureRatio = config.failureRatio();
+        this.delay = config.delay();
+        this.delayNanos = config.delay().toNanos();
+    }
+
+    /**
+     * @return true if the call may proceed, in which case its outcome must be reported with {@link #record(boolean)}
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < delayNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (trialInFlight) {
+            return false;
+        }
+        trialInFlight = true;
+        return true;
+    }
+
+    synchronized void record(boolean success) {
+        switch (state) {
+            case HALF_OPEN:
+                trialInFlight = false;
+                if (success) {
+                    close();
+                } else {
+                    open();
+                }
+                break;
+            case CLOSED:
+                if (calls == failures.length) {
+                    if (failures[next]) {
+                        failureCount--;
+                    }
+                } else {
+                    calls++;
+                }
+                failures[next] = !success;
+                if (!success) {
+                    failureCount++;
+                }
+                next = (next + 1) % failures.length;
+                if (calls == failures.length && failureCount >= failureRatio * calls) {
+                    open();
+                }
+                break;
+            default:
+                // a call started before the circuit opened
+                break;
+        }
+    }
+
+    private void open() {
+        if (state != State.OPEN) {
+            LOG.warnf("Casdoor calls are failing, rejecting them for %s", delay);
+        }
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        LOG.info("Casdoor calls are succeeding again");
+        state = State.CLOSED;
+        calls = 0;
+        next = 0;
+        failureCount = 0;
+    }
+}
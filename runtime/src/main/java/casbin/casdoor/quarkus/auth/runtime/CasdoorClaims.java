@@ -0,0 +1,267 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonString;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The subset of Casdoor token claims used for authorization.
+ * Claims are read with a streaming parser, so nested objects such as the
+ * user's properties are skipped instead of being mapped, and only the
+ * names of roles and permissions are kept.
+ */
+public final class CasdoorClaims {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private String name;
+    private String owner;
+    private String issuer;
+    private String clientId;
+    private String tokenId;
+    private long expiresAt;
+    private long issuedAt;
+    private long notBefore;
+    private Set<String> roles = Collections.emptySet();
+    private Set<String> permissions = Collections.emptySet();
+
+    private CasdoorClaims() {
+    }
+
+    /**
+     * Reads the claims from a decoded JWT payload.
+     *
+     * @param json the decoded payload
+     * @return the claims
+     * @throws CasdoorTokenException if the payload is not a JSON object
+     */
+    public static CasdoorClaims parse(byte[] json) {
+        CasdoorClaims claims = new CasdoorClaims();
+        try (JsonParser parser = JSON.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new CasdoorTokenException(CasdoorTokenException.Reason.MALFORMED, "Token payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "name":
+                        claims.name = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        break;
+                    case "owner":
+                        claims.owner = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        break;
+                    case "iss":
+                        claims.issuer = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        break;
+                    case "azp":
+                        claims.clientId = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        break;
+                    case "jti":
+                        claims.tokenId = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                        break;
+                    case "exp":
+                        claims.expiresAt = value.isNumeric() ? parser.getLongValue() : 0;
+                        break;
+                    case "iat":
+                        claims.issuedAt = value.isNumeric() ? parser.getLongValue() : 0;
+                        break;
+                    case "nbf":
+                        claims.notBefore = value.isNumeric() ? parser.getLongValue() : 0;
+                        break;
+                    case "roles":
+                        claims.roles = readNames(parser, value);
+                        break;
+                    case "permissions":
+                        claims.permissions = readNames(parser, value);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.MALFORMED, "Token payload is not valid JSON", e);
+        }
+        return claims;
+    }
+
+    /**
+     * Reads the claims of a token that has already been parsed and verified.
+     *
+     * @param jwt the verified token
+     * @return the claims
+     */
+    public static CasdoorClaims of(JsonWebToken jwt) {
+        CasdoorClaims claims = new CasdoorClaims();
+        claims.name = stringClaim(jwt.getClaim("name"));
+        claims.owner = stringClaim(jwt.getClaim("owner"));
+        claims.issuer = jwt.getIssuer();
+        claims.clientId = stringClaim(jwt.getClaim("azp"));
+        claims.tokenId = jwt.getTokenID();
+        claims.expiresAt = jwt.getExpirationTime();
+        claims.issuedAt = jwt.getIssuedAtTime();
+        claims.notBefore = numberClaim(jwt.getClaim("nbf"));
+        claims.roles = names(jwt.getClaim("roles"));
+        claims.permissions = names(jwt.getClaim("permissions"));
+        return claims;
+    }
+
+    private static String stringClaim(Object value) {
+        if (value instanceof JsonString) {
+            return ((JsonString) value).getString();
+        }
+        return value instanceof String ? (String) value : null;
+    }
+
+    private static long numberClaim(Object value) {
+        if (value instanceof JsonNumber) {
+            return ((JsonNumber) value).longValue();
+        }
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * Reads the names of a parsed Casdoor role or permission array.
+     * Elements are either objects with a `name` field or plain strings.
+     */
+    private static Set<String> names(Object value) {
+        if (!(value instanceof Collection) || ((Collection<?>) value).isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> names = new HashSet<>();
+        for (Object element : (Collection<?>) value) {
+            if (element instanceof Map) {
+                element = ((Map<?, ?>) element).get("name");
+            }
+            String name = stringClaim(element);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Reads the names of a Casdoor role or permission array.
+     * Elements are either objects with a `name` field or plain strings.
+     */
+    private static Set<String> readNames(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return Collections.emptySet();
+        }
+        Set<String> names = new HashSet<>();
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (element == JsonToken.VALUE_STRING) {
+                names.add(parser.getText());
+            } else if (element == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    if (parser.nextToken() == JsonToken.VALUE_STRING && "name".equals(field)) {
+                        names.add(parser.getText());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * @return the Casdoor user name, from the `name` claim
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return the Casdoor organization of the user, from the `owner` claim
+     */
+    public String owner() {
+        return owner;
+    }
+
+    /**
+     * @return the `iss` claim, the Casdoor endpoint that issued the token
+     */
+    public String issuer() {
+        return issuer;
+    }
+
+    /**
+     * @return the `azp` claim, the client id of the application the token was issued to
+     */
+    public String clientId() {
+        return clientId;
+    }
+
+    /**
+     * @return the `jti` claim, the id of the token
+     */
+    public String tokenId() {
+        return tokenId;
+    }
+
+    /**
+     * @return the `exp` claim in epoch seconds, or 0 if absent
+     */
+    public long expiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return the `iat` claim in epoch seconds, or 0 if absent
+     */
+    public long issuedAt() {
+        return issuedAt;
+    }
+
+    /**
+     * @return the `nbf` claim in epoch seconds, or 0 if absent
+     */
+    public long notBefore() {
+        return notBefore;
+    }
+
+    /**
+     * @return the names of the user's Casdoor roles, from the `roles` claim
+     */
+    public Set<String> roles() {
+        return roles;
+    }
+
+    /**
+     * @return the names of the user's Casdoor permissions, from the `permissions` claim
+     */
+    public Set<String> permissions() {
+        return permissions;
+    }
+}
@@ -0,0 +1,340 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.VertxException;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.ext.web.client.HttpRequest;
+import io.vertx.mutiny.ext.web.client.HttpResponse;
+import io.vertx.mutiny.ext.web.client.WebClient;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.casbin.casdoor.entity.User;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A non-blocking client for the Casdoor API.
+ * Unlike the {@code AuthService} of the Casdoor Java SDK, requests never block the calling thread:
+ * they share a pool of Vert.x connections, negotiate HTTP/2 over TLS when Casdoor supports it and pipeline
+ * HTTP/1.1 requests otherwise. Idempotent requests are retried after connection failures and
+ * server errors, with an exponential, jittered backoff, within the configured request timeout.
+ * <p>
+ * Calls are guarded by a circuit breaker, which fails them at once while Casdoor keeps failing,
+ * by a limit on the number of calls in flight, and by a deadline per kind of call.
+ */
+@Singleton
+public class CasdoorClient {
+
+    private final WebClient client;
+    private final String endpoint;
+    private final String organizationName;
+    private final String clientId;
+    private final String clientSecret;
+    private final CasdoorConfig.Client config;
+    private final CasdoorCircuitBreaker circuitBreaker;
+    private final int maxConcurrentCalls;
+    private final Map<String, Duration> deadlines;
+    private final AtomicInteger callsInFlight = new AtomicInteger();
+
+    public CasdoorClient(Vertx vertx, CasdoorConfigResolver configResolver) {
+        CasdoorConfig casdoorConfig = configResolver.resolveCasdoorConfig().await().indefinitely();
+        this.config = casdoorConfig.client();
+        this.endpoint = casdoorConfig.endpoint().orElse(null);
+        this.organizationName = casdoorConfig.organizationName().orElse(null);
+        this.clientId = casdoorConfig.clientId().orElse(null);
+        this.clientSecret = casdoorConfig.clientSecret().orElse(null);
+        CasdoorConfig.Resilience resilience = casdoorConfig.resilience();
+        this.circuitBreaker = resilience.circuitBreaker().enabled()
+                ? new CasdoorCircuitBreaker(resilience.circuitBreaker())
+                : null;
+        this.maxConcurrentCalls = resilience.maxConcurrentCalls();
+        this.deadlines = resilience.deadlines();
+
+        WebClientOptions options = new WebClientOptions()
+                .setConnectTimeout((int) config.connectTimeout().toMillis())
+                .setIdleTimeout((int) config.idleTimeout().toSeconds())
+                .setMaxPoolSize(config.maxPoolSize())
+                .setKeepAlive(true)
+                .setPipelining(config.pipeliningLimit() > 1)
+                .setPipeliningLimit(Math.max(1, config.pipeliningLimit()))
+                .setUserAgent("quarkus-casdoor-auth");
+        // HTTP/2 is only negotiated with ALPN, an h2c upgrade would add a round trip and chunk request bodies
+        if (config.http2() && endpoint != null && endpoint.startsWith("https:")) {
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setUseAlpn(true)
+                    .setHttp2MaxPoolSize(config.maxPoolSize());
+        }
+        this.client = WebClient.create(vertx, options);
+    }
+
+    @PreDestroy
+    void close() {
+        client.close();
+    }
+
+    /**
+     * Gets a user of the configured organization.
+     *
+     * @param name the user name
+     * @return a Uni containing the user, or null if the user does not exist
+     */
+    public Uni<User> getUser(String name) {
+        return getUser(organizationName, name);
+    }
+
+    /**
+     * Gets a user of any organization of the Casdoor endpoint, such as the organization of a tenant.
+     *
+     * @param owner the organization of the user
+     * @param name the user name
+     * @return a Uni containing the user, or null if the user does not exist
+     */
+    public Uni<User> getUser(String owner, String name) {
+        return getJson("get-user", () -> request(HttpMethod.GET, "/api/get-user")
+                .addQueryParam("id", owner + "/" + name))
+                .map(data -> data instanceof JsonObject ? toUser((JsonObject) data) : null);
+    }
+
+    /**
+     * Gets all users of the configured organization.
+     *
+     * @return a Uni containing the users
+     */
+    public Uni<List<User>> getUsers() {
+        return getJson("get-users", () -> request(HttpMethod.GET, "/api/get-users")
+                .addQueryParam("owner", organizationName))
+                .map(data -> {
+                    List<User> users = new ArrayList<>();
+                    if (data instanceof JsonArray) {
+                        for (Object user : (JsonArray) data) {
+                            if (user instanceof JsonObject) {
+                                users.add(toUser((JsonObject) user));
+                            }
+                        }
+                    }
+                    return users;
+                });
+    }
+
+    /**
+     * Exchanges an authorization code for tokens. Codes can only be used once, so the request is not retried.
+     *
+     * @param code the authorization code
+     * @return a Uni containing the token response
+     */
+    public Uni<JsonObject> exchangeCode(String code) {
+        return tokenRequest(form("grant_type", "authorization_code", "code", code));
+    }
+
+    /**
+     * Refreshes tokens. Refresh tokens may be rotated on use, so the request is not retried.
+     *
+     * @param refreshToken the refresh token
+     * @return a Uni containing the token response
+     */
+    public Uni<JsonObject> refreshToken(String refreshToken) {
+        return tokenRequest(form("grant_type", "refresh_token", "refresh_token", refreshToken));
+    }
+
+    /**
+     * Introspects an access token. Introspection has no side effects, so the request is retried.
+     *
+     * @param path the introspection path, relative to the Casdoor endpoint
+     * @param token the access token
+     * @return a Uni containing the introspection response, whose `active` field tells whether the token is valid
+     */
+    public Uni<JsonObject> introspect(String path, String token) {
+        Buffer form = form("token", token, "token_type_hint", "access_token");
+        return call("introspection", Uni.createFrom().deferred(() -> request(HttpMethod.POST, path)
+                        .putHeader("Content-Type", "application/x-www-form-urlencoded")
+                        .sendBuffer(form))
+                .map(response -> body(response).toJsonObject()), true);
+    }
+
+    /**
+     * Gets the Casdoor JSON Web Key Set.
+     *
+     * @param path the JWKS path, relative to the Casdoor endpoint
+     * @return a Uni containing the key set
+     */
+    public Uni<JsonObject> getJwks(String path) {
+        return call("jwks", Uni.createFrom().deferred(() -> request(HttpMethod.GET, path).send())
+                .map(response -> body(response).toJsonObject()), true);
+    }
+
+    private Uni<Object> getJson(String operation, Supplier<HttpRequest<Buffer>> request) {
+        return call(operation, Uni.createFrom().deferred(() -> request.get().send())
+                .map(response -> unwrap(Json.decodeValue(body(response).getDelegate()))), true);
+    }
+
+    private Uni<JsonObject> tokenRequest(Buffer form) {
+        return call("token", Uni.createFrom().deferred(() -> request(HttpMethod.POST, "/api/login/oauth/access_token")
+                        .putHeader("Content-Type", "application/x-www-form-urlencoded")
+                        .sendBuffer(form))
+                .map(response -> {
+                    JsonObject token = body(response).toJsonObject();
+                    if (token.containsKey("error")) {
+                        throw new CasdoorClientException(response.statusCode(),
+                                "Casdoor rejected the token request: " + token.getString("error"));
+                    }
+                    return token;
+                }), false);
+    }
+
+    /**
+     * Encodes a token request form together with the client credentials.
+     * The form is sent as a sized buffer, as {@code sendForm} would stream it with chunked encoding.
+     */
+    private Buffer form(String... fields) {
+        StringBuilder form = new StringBuilder();
+        form.append("client_id=").append(encode(clientId))
+                .append("&client_secret=").append(encode(clientSecret));
+        for (int i = 0; i < fields.length; i += 2) {
+            form.append('&').append(fields[i]).append('=').append(encode(fields[i + 1]));
+        }
+        return Buffer.buffer(form.toString());
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private HttpRequest<Buffer> request(HttpMethod method, String path) {
+        if (endpoint == null) {
+            throw new IllegalStateException("quarkus.casdoor.endpoint is not configured");
+        }
+        HttpRequest<Buffer> request = client.requestAbs(method, endpoint + path);
+        if (clientId != null && clientSecret != null) {
+            request.basicAuthentication(clientId, clientSecret);
+        }
+        return request;
+    }
+
+    /**
+     * Passes each attempt through the circuit breaker, retries idempotent requests after connection failures
+     * and server errors with an exponential, jittered backoff, fails the call once its deadline has elapsed,
+     * and rejects it upfront when too many calls are in flight.
+     */
+    private <T> Uni<T> call(String operation, Uni<T> attempt, boolean idempotent) {
+        Uni<T> request = circuitBreaker == null ? attempt : Uni.createFrom().deferred(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                return Uni.createFrom().failure(new CasdoorUnavailableException(
+                        "The circuit breaker is open, Casdoor is not called"));
+            }
+            // an attempt cancelled by the deadline counts as a failure, a rejected request as a success
+            return attempt.onTermination().invoke((item, failure, cancelled) ->
+                    circuitBreaker.record(!cancelled && (failure == null || !isRetryable(failure))));
+        });
+        if (idempotent && config.maxRetries() > 0) {
+            request = request
+                    .onFailure(CasdoorClient::isRetryable).retry()
+                    .withBackOff(config.retryBackoff(), config.maxRetryBackoff())
+                    .withJitter(0.5)
+                    .atMost(config.maxRetries());
+        }
+        Uni<T> call = request.ifNoItem().after(deadlines.getOrDefault(operation, config.requestTimeout())).fail();
+        return Uni.createFrom().deferred(() -> {
+            if (callsInFlight.incrementAndGet() > maxConcurrentCalls) {
+                callsInFlight.decrementAndGet();
+                return Uni.createFrom().failure(new CasdoorUnavailableException(
+                        "Too many Casdoor calls in flight, Casdoor is not called"));
+            }
+            return call.onTermination().invoke(callsInFlight::decrementAndGet);
+        });
+    }
+
+    /**
+     * @return true if the call failed because Casdoor could not be reached in time,
+     * rather than because Casdoor rejected the request
+     */
+    static boolean isUnavailable(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure instanceof CasdoorUnavailableException
+                // the deadline of the call, which Mutiny reports with its own unchecked exception
+                || failure instanceof TimeoutException
+                || isRetryable(failure);
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        if (failure instanceof CasdoorClientException) {
+            return ((CasdoorClientException) failure).isRetryable();
+        }
+        // connection failures and connection timeouts, but not malformed responses
+        return failure instanceof IOException
+                || (failure instanceof VertxException && !(failure instanceof DecodeException));
+    }
+
+    private static Buffer body(HttpResponse<Buffer> response) {
+        if (response.statusCode() != 200) {
+            throw new CasdoorClientException(response.statusCode(),
+                    "Casdoor returned " + response.statusCode() + " for " + response.statusMessage());
+        }
+        return response.body();
+    }
+
+    /**
+     * Unwraps the `{"status": ..., "msg": ..., "data": ...}` envelope used by Casdoor API responses.
+     */
+    private static Object unwrap(Object body) {
+        if (!(body instanceof JsonObject) || !((JsonObject) body).containsKey("status")) {
+            return body;
+        }
+        JsonObject envelope = (JsonObject) body;
+        if (!"ok".equals(envelope.getString("status"))) {
+            throw new CasdoorClientException(200, "Casdoor returned an error: " + envelope.getString("msg"));
+        }
+        return envelope.getValue("data");
+    }
+
+    private static User toUser(JsonObject json) {
+        User user = new User();
+        user.owner = json.getString("owner");
+        user.name = json.getString("name");
+        user.id = json.getString("id");
+        user.type = json.getString("type");
+        user.displayName = json.getString("displayName");
+        user.avatar = json.getString("avatar");
+        user.email = json.getString("email");
+        user.phone = json.getString("phone");
+        user.createdTime = json.getString("createdTime");
+        user.updatedTime = json.getString("updatedTime");
+        user.isAdmin = json.getBoolean("isAdmin", false);
+        user.isForbidden = json.getBoolean("isForbidden", false);
+        user.isDeleted = json.getBoolean("isDeleted", false);
+        return user;
+    }
+}
@@ -0,0 +1,42 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+/**
+ * Thrown when a request to the Casdoor API fails.
+ */
+public class CasdoorClientException extends RuntimeException {
+
+    private final int statusCode;
+
+    public CasdoorClientException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * @return the HTTP status code returned by Casdoor, or 200 if Casdoor reported an error in the response body
+     */
+    public int statusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return true if the request may succeed when retried
+     */
+    public boolean isRetryable() {
+        return statusCode >= 500 || statusCode == 429;
+    }
+}
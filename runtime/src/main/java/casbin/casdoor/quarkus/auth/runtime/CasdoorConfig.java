@@ -16,9 +16,13 @@ package casbin.casdoor.quarkus.auth.runtime;
 
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ConfigMapping(prefix = "quarkus.casdoor")
@@ -60,4 +64,840 @@ public interface CasdoorConfig {
      */
     @WithDefault("true")
     boolean enabled();
+
+    /**
+     * The paths anonymous users may access.
+     * A trailing `*` matches any suffix, a `*` elsewhere matches one or more characters within a single path
+     * segment, any other pattern matches the path exactly.
+     */
+    @WithDefault("/,/health*,/metrics*,/openapi*,/swagger-ui*,/q/*,/quarkus-casdoor-auth*")
+    List<String> publicPaths();
+
+    /**
+     * The verified-token cache configuration.
+     */
+    TokenCache tokenCache();
+
+    /**
+     * The cache of recently rejected tokens.
+     */
+    RejectedTokenCache rejectedTokenCache();
+
+    /**
+     * The configuration of the verified-token cache shared by all replicas.
+     */
+    SharedCache sharedCache();
+
+    /**
+     * The token verification configuration.
+     */
+    Verification verification();
+
+    /**
+     * The JWKS configuration.
+     */
+    Jwks jwks();
+
+    /**
+     * The certificate reload configuration.
+     */
+    CertificateReload certificateReload();
+
+    /**
+     * The policy enforcement configuration.
+     */
+    Authorization authorization();
+
+    /**
+     * The rate limiting configuration.
+     */
+    RateLimit rateLimit();
+
+    /**
+     * The token revocation configuration.
+     */
+    Revocation revocation();
+
+    /**
+     * The opaque token introspection configuration.
+     */
+    Introspection introspection();
+
+    /**
+     * The background refresh of web-app session tokens.
+     */
+    SessionRefresh sessionRefresh();
+
+    /**
+     * The logging configuration.
+     */
+    Log log();
+
+    /**
+     * The configuration of the reactive Casdoor API client.
+     */
+    Client client();
+
+    /**
+     * The protection of the application from a slow or failing Casdoor.
+     */
+    Resilience resilience();
+
+    /**
+     * The user lookup configuration.
+     */
+    UserLookup userLookup();
+
+    /**
+     * Additional Casdoor organizations or applications served by this application, by tenant id.
+     * Properties a tenant does not set are inherited from the top-level configuration,
+     * which also serves as the default tenant.
+     */
+    @ConfigDocMapKey("tenant")
+    Map<String, Tenant> tenants();
+
+    /**
+     * The tenant resolution configuration.
+     */
+    Tenancy tenancy();
+
+    interface TokenCache {
+
+        /**
+         * Whether verified tokens are cached between requests.
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * The maximum number of verified tokens kept in the cache.
+         */
+        @WithDefault("10000")
+        long maximumSize();
+
+        /**
+         * The maximum time a verified token is kept in the cache.
+         * Entries never outlive the token's own `exp` claim.
+         */
+        @WithDefault("5M")
+        Duration maxTtl();
+
+        /**
+         * Whether cache hit and miss counters are recorded.
+         */
+        @WithDefault("false")
+        boolean recordStats();
+    }
+
+    interface RejectedTokenCache {
+
+        /**
+         * Whether tokens that failed verification are remembered, so they are denied again without verification.
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * The maximum number of rejected tokens kept in the cache.
+         */
+        @WithDefault("10000")
+        long maximumSize();
+
+        /**
+         * How long a rejected token is remembered.
+         */
+        @WithDefault("1M")
+        Duration ttl();
+    }
+
+    interface SharedCache {
+
+        /**
+         * Where verified tokens are shared with the other replicas of the application.
+         */
+        @WithDefault("none")
+        SharedCacheType type();
+
+        /**
+         * The URL of the Redis server, as `redis://[[user]:password@]host[:port][/database]`.
+         */
+        @WithDefault("redis://localhost:6379")
+        String url();
+
+        /**
+         * The secret, at least 32 characters long and the same on every replica, from which the keys signing
+         * verified tokens and encrypting session tokens in the shared cache are derived. Required with `redis`,
+         * or with a shared cache provided by the application, since anyone able to write to the cache could
+         * otherwise store a forged verified token.
+         */
+        Optional<String> secret();
+
+        /**
+         * The prefix of the keys under which verified tokens are stored.
+         */
+        @WithDefault("casdoor:token:")
+        String keyPrefix();
+
+        /**
+         * The channel on which invalidated and revoked tokens are announced to the other replicas.
+         */
+        @WithDefault("casdoor:token:invalidated")
+        String channel();
+
+        /**
+         * How long a request waits for the shared cache before verifying the token itself.
+         */
+        @WithDefault("100MS")
+        Duration timeout();
+
+        /**
+         * How long to wait before connecting again after the connection to the shared cache failed.
+         */
+        @WithDefault("1S")
+        Duration reconnectInterval();
+
+        /**
+         * How many commands may wait for a reply from Redis. Further lookups and writes fail immediately,
+         * so a slow Redis cannot make requests queue up in memory.
+         */
+        @WithDefault("1024")
+        int maxPendingCommands();
+
+        /**
+         * How long the oldest command may wait for its reply before the connection to Redis is considered stuck,
+         * closed and opened again.
+         */
+        @WithDefault("2S")
+        Duration stallTimeout();
+    }
+
+    enum SharedCacheType {
+
+        /**
+         * Verified tokens are not shared.
+         */
+        NONE,
+
+        /**
+         * Verified tokens are kept in a second in-process cache, serialized as they would be shared.
+         * Invalidations only reach the current replica; meant for development and tests.
+         */
+        MEMORY,
+
+        /**
+         * Verified tokens are shared through a Redis server, and invalidations through Redis pub/sub.
+         */
+        REDIS
+    }
+
+    interface Authorization {
+
+        /**
+         * Whether requests of authenticated users are checked against the configured policies.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The policies, as Casbin CSV lines: `p, subject, object, action[, allow|deny]` and `g, subject, role`.
+         * Users are referenced as `organization/name`, roles by name. Fields containing commas are double-quoted,
+         * as in Casbin CSV files. Objects use the same patterns as public paths: a trailing `*` matches any suffix,
+         * further path segments included, like Casbin's `keyMatch`, so `/api/*` also covers `/api/admin/users`.
+         * Since each line contains commas, use the indexed form, `policies[0]=p, admin, /api/*, GET`.
+         */
+        Optional<List<String>> policies();
+
+        /**
+         * A Casbin policy file, from the classpath or the file system, in the same format as `policies`.
+         */
+        Optional<String> policyFile();
+    }
+
+    interface Tenant {
+
+        /**
+         * The Casdoor server endpoint URL of the tenant.
+         */
+        Optional<String> endpoint();
+
+        /**
+         * The organization name of the tenant in Casdoor.
+         */
+        Optional<String> organizationName();
+
+        /**
+         * The client ID of the tenant's application in Casdoor.
+         */
+        Optional<String> clientId();
+
+        /**
+         * The client secret of the tenant's application in Casdoor.
+         */
+        Optional<String> clientSecret();
+
+        /**
+         * The certificate for JWT token verification of the tenant.
+         */
+        Optional<String> certificate();
+
+        /**
+         * The application name of the tenant in Casdoor.
+         */
+        Optional<String> applicationName();
+
+        /**
+         * The host names served by the tenant, when tenants are resolved by host.
+         * Defaults to the tenant id.
+         */
+        Optional<List<String>> hosts();
+    }
+
+    interface Tenancy {
+
+        /**
+         * How the tenant of a request is resolved. Requests that do not resolve to a configured tenant
+         * use the top-level configuration.
+         */
+        @WithDefault("header")
+        TenantResolution resolution();
+
+        /**
+         * The request header carrying the tenant id, when tenants are resolved by header.
+         */
+        @WithDefault("X-Casdoor-Tenant")
+        String header();
+
+        /**
+         * How long the key material and verifier of a tenant are kept after the tenant's last request.
+         */
+        @WithDefault("30M")
+        Duration idleTimeout();
+
+        /**
+         * The maximum number of tenants whose key material and verifier are kept at the same time.
+         */
+        @WithDefault("1000")
+        long maximumSize();
+    }
+
+    enum TenantResolution {
+
+        /**
+         * The `Host` header matches one of the tenant's `hosts`.
+         */
+        HOST,
+
+        /**
+         * The tenancy `header` carries the tenant id.
+         */
+        HEADER,
+
+        /**
+         * The first path segment is the tenant id.
+         */
+        PATH,
+
+        /**
+         * The unverified `iss` and `owner` claims of the bearer token match the tenant's endpoint and organization,
+         * or its `owner` claim matches the organization of a single tenant. The token is then verified with the keys
+         * of that tenant.
+         */
+        TOKEN
+    }
+
+    interface RateLimit {
+
+        /**
+         * Whether requests of authenticated users are rate limited.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * What requests are counted against.
+         */
+        @WithDefault("user")
+        RateLimitKey key();
+
+        /**
+         * The number of requests allowed per `period`, at least 1.
+         */
+        @WithDefault("100")
+        int limit();
+
+        /**
+         * The period over which `limit` requests are allowed.
+         */
+        @WithDefault("1S")
+        Duration period();
+
+        /**
+         * The number of requests that may be sent at once after a quiet period, at least 1. Defaults to `limit`.
+         */
+        Optional<Integer> burst();
+
+        /**
+         * How long the state of a user or client is kept after its last request.
+         */
+        @WithDefault("5M")
+        Duration idleTimeout();
+
+        /**
+         * The maximum number of users or clients whose state is kept.
+         */
+        @WithDefault("100000")
+        long maximumSize();
+    }
+
+    enum RateLimitKey {
+
+        /**
+         * Each Casdoor user, identified by its `owner` and `name`, has its own limit.
+         */
+        USER,
+
+        /**
+         * Each client application, identified by the `azp` claim of the token, has its own limit.
+         * Tokens without an `azp` claim are not limited.
+         */
+        CLIENT
+    }
+
+    interface Revocation {
+
+        /**
+         * Whether revoked tokens and users are rejected.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The number of revoked tokens the filter is sized for. The filter grows when more tokens are revoked.
+         */
+        @WithDefault("100000")
+        int expectedRevocations();
+
+        /**
+         * The false positive probability of the filter. False positives are confirmed against an exact set,
+         * so they only cost a lookup.
+         */
+        @WithDefault("0.01")
+        double falsePositiveProbability();
+
+        /**
+         * How long a revoked user is remembered. Should be at least the lifetime of the tokens issued by Casdoor.
+         */
+        @WithDefault("168H")
+        Duration userRetention();
+
+        /**
+         * How often expired revocations are removed.
+         */
+        @WithDefault("1M")
+        Duration cleanupInterval();
+
+        /**
+         * The path of the webhook receiving Casdoor events.
+         */
+        @WithDefault("/quarkus-casdoor-auth/webhook")
+        String webhookPath();
+
+        /**
+         * The secret Casdoor sends in the `X-Casdoor-Webhook-Secret` header. The webhook is disabled if not set.
+         */
+        Optional<String> webhookSecret();
+
+        /**
+         * How often the users of the organization are fetched to revoke the forbidden and deleted ones.
+         * Users are not polled if not set.
+         */
+        Optional<Duration> pollInterval();
+    }
+
+    interface Introspection {
+
+        /**
+         * Whether access tokens that are not JWTs are introspected by Casdoor.
+         * Only tokens of the default tenant are introspected.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The introspection path, relative to the Casdoor endpoint.
+         */
+        @WithDefault("/api/login/oauth/introspect")
+        String path();
+
+        /**
+         * The maximum number of introspection results kept in the cache.
+         */
+        @WithDefault("10000")
+        long maximumSize();
+
+        /**
+         * The maximum time an introspection result is kept in the cache.
+         * Results of active tokens never outlive the token's own `exp`.
+         */
+        @WithDefault("5M")
+        Duration maxTtl();
+
+        /**
+         * How long after an introspection a token used again is introspected in the background,
+         * while the cached result keeps serving requests.
+         */
+        @WithDefault("1M")
+        Duration refreshAfter();
+    }
+
+    interface SessionRefresh {
+
+        /**
+         * Whether the tokens of web-app sessions are kept on the server and renewed in the background.
+         * Only sessions of the default tenant are renewed. The quarkus-oidc token state manager is only replaced
+         * when this is `true` at build time.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * How long before its access token expires a session is renewed.
+         */
+        @WithDefault("1M")
+        Duration refreshAhead();
+
+        /**
+         * The maximum random time added to `refresh-ahead` for each session, so sessions created together
+         * are not renewed together.
+         */
+        @WithDefault("30S")
+        Duration jitter();
+
+        /**
+         * How often sessions due for renewal are looked for.
+         */
+        @WithDefault("5S")
+        Duration interval();
+
+        /**
+         * The maximum number of sessions renewed at each interval. Sessions left over are renewed at the next one.
+         */
+        @WithDefault("100")
+        int batchSize();
+
+        /**
+         * The maximum number of refresh requests sent to Casdoor at the same time.
+         */
+        @WithDefault("4")
+        int maxConcurrency();
+
+        /**
+         * Sessions not used for longer are no longer renewed in the background, their tokens are refreshed
+         * by quarkus-oidc on their next request.
+         */
+        @WithDefault("30M")
+        Duration activeTimeout();
+
+        /**
+         * Sessions not used for longer are forgotten.
+         */
+        @WithDefault("8H")
+        Duration sessionTimeout();
+
+        /**
+         * The maximum number of sessions kept on the server.
+         */
+        @WithDefault("100000")
+        long maximumSessions();
+    }
+
+    interface UserLookup {
+
+        /**
+         * The maximum number of user profiles kept in the cache.
+         */
+        @WithDefault("10000")
+        long maximumSize();
+
+        /**
+         * How long a cached profile is served before it is refreshed in the background.
+         * The stale profile keeps being served until the refresh completes.
+         */
+        @WithDefault("1M")
+        Duration refreshAfter();
+
+        /**
+         * How long a cached profile is served at most, after which lookups wait for Casdoor.
+         */
+        @WithDefault("10M")
+        Duration expireAfter();
+
+        /**
+         * How long lookups for distinct users are collected before they are sent to Casdoor together.
+         */
+        @WithDefault("5MS")
+        Duration batchWindow();
+
+        /**
+         * The maximum number of users looked up in one batch.
+         */
+        @WithDefault("100")
+        int maxBatchSize();
+
+        /**
+         * The maximum number of concurrent requests sent to Casdoor for one batch.
+         */
+        @WithDefault("4")
+        int maxConcurrency();
+    }
+
+    interface Client {
+
+        /**
+         * The timeout for establishing a connection to Casdoor.
+         */
+        @WithDefault("5S")
+        Duration connectTimeout();
+
+        /**
+         * The timeout for a single request to Casdoor, including retries of idempotent requests.
+         */
+        @WithDefault("10S")
+        Duration requestTimeout();
+
+        /**
+         * The maximum number of pooled connections to Casdoor.
+         */
+        @WithDefault("20")
+        int maxPoolSize();
+
+        /**
+         * How long an unused pooled connection is kept open.
+         */
+        @WithDefault("60S")
+        Duration idleTimeout();
+
+        /**
+         * Whether HTTP/2 is negotiated with Casdoor, using ALPN on `https` endpoints.
+         * Plain `http` endpoints and servers that do not support HTTP/2 are talked to over HTTP/1.1.
+         */
+        @WithDefault("true")
+        boolean http2();
+
+        /**
+         * The maximum number of HTTP/1.1 requests pipelined on a single connection. `1` disables pipelining.
+         */
+        @WithDefault("10")
+        int pipeliningLimit();
+
+        /**
+         * How many times an idempotent request is retried after a connection failure or a server error.
+         */
+        @WithDefault("2")
+        int maxRetries();
+
+        /**
+         * The delay before the first retry. Later retries back off exponentially, with jitter.
+         */
+        @WithDefault("100MS")
+        Duration retryBackoff();
+
+        /**
+         * The maximum delay between two retries.
+         */
+        @WithDefault("2S")
+        Duration maxRetryBackoff();
+    }
+
+    interface Resilience {
+
+        /**
+         * The circuit breaker configuration.
+         */
+        CircuitBreaker circuitBreaker();
+
+        /**
+         * The maximum number of calls to Casdoor in flight, including their retries.
+         * Further calls fail at once instead of waiting for a connection.
+         */
+        @WithDefault("50")
+        int maxConcurrentCalls();
+
+        /**
+         * The deadline of each kind of call to Casdoor, including its retries: `get-user`, `get-users`, `token`,
+         * `jwks` and `introspection`. Calls without a deadline use `quarkus.casdoor.client.request-timeout`.
+         */
+        @ConfigDocMapKey("operation")
+        Map<String, Duration> deadlines();
+
+        /**
+         * The degraded mode configuration.
+         */
+        DegradedMode degradedMode();
+    }
+
+    interface CircuitBreaker {
+
+        /**
+         * Whether calls to Casdoor stop for a while once most of the recent ones failed.
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * The number of recent calls the failure ratio is computed over.
+         */
+        @WithDefault("20")
+        int windowSize();
+
+        /**
+         * The ratio of failed calls, among the last `window-size` ones, that opens the circuit.
+         * Connection failures, server errors and calls exceeding their deadline count as failures.
+         */
+        @WithDefault("0.5")
+        double failureRatio();
+
+        /**
+         * How long calls fail at once after the circuit opened, before a single trial call is let through.
+         */
+        @WithDefault("30S")
+        Duration delay();
+    }
+
+    interface DegradedMode {
+
+        /**
+         * Whether the last known user profiles and token introspections keep being served
+         * while Casdoor cannot be reached.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * How long after it was last fetched a user profile or token introspection may be served
+         * while Casdoor cannot be reached. Introspections are never served past the token's `exp`.
+         */
+        @WithDefault("1H")
+        Duration maxStaleness();
+    }
+
+    interface Log {
+
+        /**
+         * The minimum time between two log lines about rejected tokens with the same reason.
+         * Rejections in between are counted and reported with the next line. `0` logs every rejection.
+         */
+        @WithDefault("10S")
+        Duration rejectionInterval();
+    }
+
+    interface CertificateReload {
+
+        /**
+         * Whether a certificate configured as a file system path is reloaded when the file changes.
+         */
+        @WithDefault("true")
+        boolean enabled();
+
+        /**
+         * How often the certificate file is checked when file system events are unavailable or missed,
+         * for example on network file systems.
+         */
+        @WithDefault("30S")
+        Duration pollInterval();
+    }
+
+    interface Jwks {
+
+        /**
+         * Whether verification keys are fetched from the Casdoor JWKS endpoint.
+         * Requires the `native` verifier, startup fails otherwise. Only the top-level configuration uses JWKS keys,
+         * tenants verify tokens with their configured certificate.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * The JWKS path, relative to the Casdoor endpoint.
+         */
+        @WithDefault("/.well-known/jwks")
+        String path();
+
+        /**
+         * How often the key set is refreshed in the background.
+         */
+        @WithDefault("10M")
+        Duration refreshInterval();
+
+        /**
+         * The minimum time between two fetches triggered by tokens signed with an unknown key.
+         */
+        @WithDefault("10S")
+        Duration minRefetchInterval();
+    }
+
+    interface Verification {
+
+        /**
+         * Where token signatures are verified when the token is not cached.
+         */
+        @WithDefault("worker")
+        ExecutionMode executionMode();
+
+        /**
+         * Which verifier checks token signatures.
+         */
+        @WithDefault("sdk")
+        Verifier verifier();
+
+        /**
+         * The `alg` header values accepted before a token is verified. Tokens signed with any other
+         * algorithm, including `none` and the HMAC algorithms, are denied without verification.
+         * The default lists the algorithms of the native verifier; other algorithms are only verified by the SDK verifier.
+         */
+        @WithDefault("RS256,ES256")
+        List<String> allowedAlgorithms();
+
+        /**
+         * The `kid` header values accepted before a token is verified. All key ids are accepted if not set.
+         * Should not be set together with `quarkus.casdoor.jwks.enabled`, which accepts keys added by rotation.
+         */
+        Optional<List<String>> allowedKeyIds();
+    }
+
+    enum Verifier {
+
+        /**
+         * Verify with `AuthService.parseJwtToken` from the Casdoor Java SDK.
+         */
+        SDK,
+
+        /**
+         * Verify RS256 and ES256 tokens with the built-in verifier, decoding only the claims needed for authorization.
+         */
+        NATIVE,
+
+        /**
+         * Reuse the claims of the identity already verified by `quarkus-oidc`, without verifying the token again.
+         */
+        OIDC
+    }
+
+    enum ExecutionMode {
+
+        /**
+         * Verify on the Vert.x event loop that received the request.
+         */
+        EVENT_LOOP,
+
+        /**
+         * Verify on the Quarkus worker pool.
+         */
+        WORKER,
+
+        /**
+         * Verify on a virtual thread, falling back to the worker pool when virtual threads are not available.
+         */
+        VIRTUAL_THREAD
+    }
 }
@@ -15,6 +15,7 @@
 package casbin.casdoor.quarkus.auth.runtime;
 
 import io.smallrye.mutiny.Uni;
+import io.vertx.ext.web.RoutingContext;
 
 public interface CasdoorConfigResolver {
 
@@ -24,4 +25,17 @@ public interface CasdoorConfigResolver {
      * @return a Uni containing the resolved Casdoor configuration
      */
     Uni<CasdoorConfig> resolveCasdoorConfig();
+
+    /**
+     * Resolves the Casdoor configuration of the tenant a request belongs to.
+     * Implementations should return the same instance for every request of a tenant,
+     * so that the tenant's key material and verifier are looked up rather than rebuilt.
+     * By default, every request uses the configuration returned by {@link #resolveCasdoorConfig()}.
+     *
+     * @param routingContext the routing context of the request
+     * @return a Uni containing the Casdoor configuration of the request
+     */
+    default Uni<CasdoorConfig> resolveCasdoorConfig(RoutingContext routingContext) {
+        return resolveCasdoorConfig();
+    }
 }
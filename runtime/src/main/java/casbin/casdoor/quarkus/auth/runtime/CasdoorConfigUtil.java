@@ -15,14 +15,33 @@
 package casbin.casdoor.quarkus.auth.runtime;
 
 import io.quarkus.runtime.configuration.ConfigurationException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Optional;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public final class CasdoorConfigUtil {
 
@@ -40,17 +59,29 @@ public final class CasdoorConfigUtil {
             throw new ConfigurationException("Casdoor configuration is disabled");
         }
 
-        Optional<String> endpoint = config.endpoint();
-        if (endpoint.isPresent()) {
-            String endpointUrl = endpoint.get();
-            if (!endpointUrl.startsWith("http://") && !endpointUrl.startsWith("https://")) {
-                throw new ConfigurationException(
-                        "Casdoor endpoint must start with 'http://' or 'https://': " + endpointUrl);
-            }
-            if (endpointUrl.endsWith("/")) {
-                throw new ConfigurationException(
-                        "Casdoor endpoint should not end with '/': " + endpointUrl);
-            }
+        config.endpoint().ifPresent(CasdoorConfigUtil::validateEndpoint);
+
+        // only the native verifier looks keys up by kid, the others would silently ignore the fetched keys
+        if (config.jwks().enabled() && config.verification().verifier() != CasdoorConfig.Verifier.NATIVE) {
+            throw new ConfigurationException(
+                    "quarkus.casdoor.jwks.enabled requires quarkus.casdoor.verification.verifier=native");
+        }
+    }
+
+    /**
+     * Validates a Casdoor endpoint URL.
+     *
+     * @param endpointUrl the endpoint
+     * @throws ConfigurationException if the endpoint is invalid
+     */
+    public static void validateEndpoint(String endpointUrl) {
+        if (!endpointUrl.startsWith("http://") && !endpointUrl.startsWith("https://")) {
+            throw new ConfigurationException(
+                    "Casdoor endpoint must start with 'http://' or 'https://': " + endpointUrl);
+        }
+        if (endpointUrl.endsWith("/")) {
+            throw new ConfigurationException(
+                    "Casdoor endpoint should not end with '/': " + endpointUrl);
         }
     }
 
@@ -70,20 +101,9 @@ public final class CasdoorConfigUtil {
         }
 
         if (isFilePath(certificateConfig)) {
-            String[] resourcePaths = {
-                certificateConfig.startsWith("/") ? certificateConfig.substring(1) : certificateConfig,
-                certificateConfig.startsWith("./") ? certificateConfig.substring(2) : certificateConfig,
-                certificateConfig
-            };
-            
-            for (String resourcePath : resourcePaths) {
-                try (InputStream is = Thread.currentThread().getContextClassLoader()
-                        .getResourceAsStream(resourcePath)) {
-                    if (is != null) {
-                        return new String(is.readAllBytes(), StandardCharsets.UTF_8);
-                    }
-                } catch (IOException e) {
-                }
+            String resource = readCertificateResource(certificateConfig);
+            if (resource != null) {
+                return resource;
             }
             
             try {
@@ -110,6 +130,218 @@ public final class CasdoorConfigUtil {
         }
     }
 
+    /**
+     * Reads the certificate if the certificate configuration refers to a classpath resource.
+     * Classpath certificates cannot change once the application is built, so they are read at build time.
+     *
+     * @param certificateConfig the certificate configuration value
+     * @return the certificate content, or null if the certificate is inline or not a classpath resource
+     */
+    public static String readCertificateResource(String certificateConfig) {
+        if (certificateConfig == null || !isFilePath(certificateConfig)) {
+            return null;
+        }
+        String[] resourcePaths = {
+            certificateConfig.startsWith("/") ? certificateConfig.substring(1) : certificateConfig,
+            certificateConfig.startsWith("./") ? certificateConfig.substring(2) : certificateConfig,
+            certificateConfig
+        };
+
+        for (String resourcePath : resourcePaths) {
+            String content = readResource(resourcePath);
+            if (content != null) {
+                return content;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the file system path of the certificate, if the certificate configuration refers to a file
+     * that is not a classpath resource. Only such certificates can change while the application runs.
+     *
+     * @param certificateConfig the certificate configuration value
+     * @return the certificate file, or null if the certificate is inline or a classpath resource
+     */
+    public static Path certificateFile(String certificateConfig) {
+        if (certificateConfig == null || !isFilePath(certificateConfig)) {
+            return null;
+        }
+        String resourcePath = certificateConfig.startsWith("/") ? certificateConfig.substring(1) : certificateConfig;
+        if (Thread.currentThread().getContextClassLoader().getResource(resourcePath) != null) {
+            return null;
+        }
+        Path path = Paths.get(certificateConfig);
+        if (!Files.exists(path) && certificateConfig.startsWith("./")) {
+            path = Paths.get(certificateConfig.substring(2));
+        }
+        return Files.exists(path) ? path.toAbsolutePath() : null;
+    }
+
+    /**
+     * Reads a Casbin policy file from the classpath or the file system.
+     * Blank lines and lines starting with `#` are skipped.
+     *
+     * @param location the classpath resource or file path
+     * @return the policy lines
+     * @throws ConfigurationException if the file cannot be read
+     */
+    public static List<String> readPolicyFile(String location) {
+        List<String> preloaded = CasdoorPreloadedResources.policyFile(location);
+        if (preloaded != null) {
+            return preloaded;
+        }
+        List<String> resource = readPolicyResource(location);
+        if (resource != null) {
+            return resource;
+        }
+
+        try {
+            Path policyPath = Paths.get(location);
+            if (!Files.exists(policyPath)) {
+                throw new ConfigurationException(
+                        "Casdoor policy file does not exist in classpath or file system: " + location);
+            }
+            return policyLines(Files.readString(policyPath));
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to read Casdoor policy file: " + location, e);
+        }
+    }
+
+    /**
+     * Reads a Casbin policy file if it is a classpath resource.
+     *
+     * @param location the policy file location
+     * @return the policy lines, or null if the file is not a classpath resource
+     */
+    public static List<String> readPolicyResource(String location) {
+        String content = readResource(location.startsWith("/") ? location.substring(1) : location);
+        return content != null ? policyLines(content) : null;
+    }
+
+    private static List<String> policyLines(String content) {
+        List<String> lines = new ArrayList<>();
+        for (String line : content.split("\\R")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                lines.add(trimmed);
+            }
+        }
+        return lines;
+    }
+
+    private static String readResource(String resourcePath) {
+        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(resourcePath)) {
+            if (is != null) {
+                return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+        }
+        return null;
+    }
+
+    /**
+     * Parses a PEM encoded certificate or public key.
+     * Both X.509 certificates and bare RSA or EC public keys are supported.
+     *
+     * @param pem the PEM content
+     * @return the public key
+     * @throws ConfigurationException if the content is not a valid certificate or public key
+     */
+    public static PublicKey parsePublicKey(String pem) {
+        try {
+            if (pem.contains("-----BEGIN CERTIFICATE-----")) {
+                CertificateFactory factory = CertificateFactory.getInstance("X.509");
+                return factory.generateCertificate(
+                        new ByteArrayInputStream(pem.getBytes(StandardCharsets.US_ASCII))).getPublicKey();
+            }
+
+            byte[] encoded = Base64.getMimeDecoder().decode(pem
+                    .replaceAll("-----(BEGIN|END) [A-Z ]*-----", "")
+                    .trim());
+            X509EncodedKeySpec spec = new X509EncodedKeySpec(encoded);
+            try {
+                return KeyFactory.getInstance("RSA").generatePublic(spec);
+            } catch (GeneralSecurityException e) {
+                return KeyFactory.getInstance("EC").generatePublic(spec);
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new ConfigurationException("Failed to parse Casdoor certificate", e);
+        }
+    }
+
+    /**
+     * Parses a JSON Web Key Set.
+     * RSA and EC keys are read from their parameters, or from the first `x5c` certificate when present.
+     * Keys without a `kid`, with an unsupported type, or meant for encryption are skipped.
+     *
+     * @param jwks the key set
+     * @return the keys indexed by `kid`
+     */
+    public static Map<String, PublicKey> parseJwks(JsonObject jwks) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        JsonArray entries = jwks.getJsonArray("keys");
+        if (entries == null) {
+            return keys;
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            JsonObject jwk = entries.getJsonObject(i);
+            String kid = jwk.getString("kid");
+            if (kid == null || "enc".equals(jwk.getString("use"))) {
+                continue;
+            }
+            try {
+                PublicKey key = parseJwk(jwk);
+                if (key != null) {
+                    keys.put(kid, key);
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException | ClassCastException e) {
+                // an invalid key must not prevent the other keys from being used
+            }
+        }
+        return keys;
+    }
+
+    private static PublicKey parseJwk(JsonObject jwk) throws GeneralSecurityException {
+        JsonArray x5c = jwk.getJsonArray("x5c");
+        if (x5c != null && !x5c.isEmpty()) {
+            return CertificateFactory.getInstance("X.509").generateCertificate(
+                    new ByteArrayInputStream(Base64.getDecoder().decode(x5c.getString(0)))).getPublicKey();
+        }
+
+        String kty = jwk.getString("kty");
+        if ("RSA".equals(kty)) {
+            return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                    unsigned(jwk.getString("n")), unsigned(jwk.getString("e"))));
+        }
+        if ("EC".equals(kty)) {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(curveName(jwk.getString("crv"))));
+            ECPoint point = new ECPoint(unsigned(jwk.getString("x")), unsigned(jwk.getString("y")));
+            return KeyFactory.getInstance("EC").generatePublic(
+                    new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class)));
+        }
+        return null;
+    }
+
+    private static String curveName(String crv) {
+        if ("P-256".equals(crv)) {
+            return "secp256r1";
+        }
+        if ("P-384".equals(crv)) {
+            return "secp384r1";
+        }
+        if ("P-521".equals(crv)) {
+            return "secp521r1";
+        }
+        throw new IllegalArgumentException("Unsupported curve: " + crv);
+    }
+
+    private static BigInteger unsigned(String base64Url) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(base64Url));
+    }
+
     /**
      * Determines if the given string looks like a file path.
      *
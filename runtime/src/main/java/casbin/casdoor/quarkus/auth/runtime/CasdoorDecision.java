@@ -0,0 +1,99 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+/**
+ * The outcome of a {@link CasdoorHttpSecurityPolicy} check, and why it was reached.
+ */
+public enum CasdoorDecision {
+
+    /**
+     * Permitted, the path is public.
+     */
+    PUBLIC_PATH(true),
+
+    /**
+     * Permitted, the route is annotated with `@PermitAll`.
+     */
+    PERMIT_ALL(true),
+
+    /**
+     * Permitted, the user holds a valid token and passed every policy.
+     */
+    AUTHENTICATED(true),
+
+    /**
+     * Denied, an anonymous user requested a protected path.
+     */
+    ANONYMOUS(false),
+
+    /**
+     * Denied, the identity carries no access token.
+     */
+    MISSING_TOKEN(false),
+
+    /**
+     * Denied, the access token failed verification.
+     */
+    INVALID_TOKEN(false),
+
+    /**
+     * Denied without verification, the access token failed the structural pre-check.
+     */
+    PRECHECK_FAILED(false),
+
+    /**
+     * Denied without verification, the access token was rejected recently.
+     */
+    KNOWN_INVALID_TOKEN(false),
+
+    /**
+     * Denied, the token does not identify a Casdoor user.
+     */
+    MISSING_USER(false),
+
+    /**
+     * Denied, the token or its user was revoked.
+     */
+    REVOKED_TOKEN(false),
+
+    /**
+     * Denied, the user or client exceeded its rate limit.
+     */
+    RATE_LIMITED(false),
+
+    /**
+     * Denied by the `@CasdoorRequires` policy of the route.
+     */
+    ROUTE_POLICY(false),
+
+    /**
+     * Denied by the enforced Casbin policies.
+     */
+    ENFORCER_POLICY(false);
+
+    private final boolean permitted;
+
+    CasdoorDecision(boolean permitted) {
+        this.permitted = permitted;
+    }
+
+    /**
+     * @return true if access is granted
+     */
+    public boolean isPermitted() {
+        return permitted;
+    }
+}
@@ -14,17 +14,22 @@
 
 package casbin.casdoor.quarkus.auth.runtime;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import io.quarkus.oidc.AccessTokenCredential;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.virtual.threads.VirtualThreads;
 import io.quarkus.vertx.http.runtime.security.HttpSecurityPolicy;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import io.vertx.ext.web.RoutingContext;
-import org.casbin.casdoor.exception.AuthException;
-import org.casbin.casdoor.entity.User;
-import org.casbin.casdoor.service.AuthService;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 
 @Singleton
@@ -34,7 +39,82 @@ public class CasdoorHttpSecurityPolicy implements HttpSecurityPolicy {
     CasdoorConfigResolver configResolver;
     
     @Inject
-    AuthService authService;
+    CasdoorTokenVerifier tokenVerifier;
+
+    @Inject
+    CasdoorTenantVerifiers tenantVerifiers;
+
+    @Inject
+    CasdoorTokenCache tokenCache;
+
+    @Inject
+    CasdoorRejectedTokenCache rejectedTokens;
+
+    @Inject
+    CasdoorSharedTokens sharedTokens;
+
+    @Inject
+    CasdoorJwksRefresher jwksRefresher;
+
+    @Inject
+    CasdoorRouteTable routeTable;
+
+    @Inject
+    CasdoorPolicyEnforcer policyEnforcer;
+
+    @Inject
+    CasdoorRevocations revocations;
+
+    @Inject
+    CasdoorIntrospections introspections;
+
+    @Inject
+    CasdoorRateLimiter rateLimiter;
+
+    @Inject
+    CasdoorConfig config;
+
+    @Inject
+    CasdoorMetrics metrics;
+
+    @Inject
+    CasdoorTracing tracing;
+
+    @Inject
+    @VirtualThreads
+    Instance<ExecutorService> virtualThreadExecutor;
+
+    private Executor verificationExecutor;
+
+    private CasdoorPathMatcher publicPaths;
+
+    private String verifierName;
+
+    private CasdoorRejectionLog rejectionLog;
+
+    private CasdoorTokenPrecheck precheck;
+
+    private boolean multiTenant;
+
+    @PostConstruct
+    void init() {
+        publicPaths = CasdoorPreloadedResources.publicPaths(config.publicPaths());
+        verifierName = config.verification().verifier().name().toLowerCase();
+        rejectionLog = new CasdoorRejectionLog(config);
+        precheck = new CasdoorTokenPrecheck(config);
+        multiTenant = !config.tenants().isEmpty() || !(configResolver instanceof DefaultCasdoorConfigResolver);
+
+        switch (config.verification().executionMode()) {
+            case WORKER:
+                verificationExecutor = Infrastructure.getDefaultWorkerPool();
+                break;
+            case VIRTUAL_THREAD:
+                verificationExecutor = virtualThreadExecutor.get();
+                break;
+            default:
+                verificationExecutor = null;
+        }
+    }
 
     @Override
     public Uni<CheckResult> checkPermission(RoutingContext routingContext, Uni<SecurityIdentity> identity,
@@ -43,11 +123,17 @@ public class CasdoorHttpSecurityPolicy implements HttpSecurityPolicy {
         return identity.flatMap(new Function<SecurityIdentity, Uni<? extends CheckResult>>() {
             @Override
             public Uni<? extends CheckResult> apply(SecurityIdentity identity) {
+                CasdoorRoutePolicy routePolicy = routeTable.lookup(routingContext.request().method().name(),
+                        routingContext.normalizedPath());
+                if (routePolicy != null && routePolicy.isPermitAll()) {
+                    return Uni.createFrom().item(decide(CasdoorDecision.PERMIT_ALL));
+                }
+
                 if (identity.isAnonymous()) {
                     return checkAnonymousAccess(routingContext);
                 }
                 
-                return checkAuthenticatedAccess(routingContext, identity);
+                return checkAuthenticatedAccess(routingContext, identity, routePolicy);
             }
         });
     }
@@ -62,57 +148,298 @@ public class CasdoorHttpSecurityPolicy implements HttpSecurityPolicy {
         String path = routingContext.normalizedPath();
         
         if (isPublicPath(path)) {
-            return CheckResult.permit();
+            return Uni.createFrom().item(decide(CasdoorDecision.PUBLIC_PATH));
         }
         
-        return CheckResult.deny();
+        return Uni.createFrom().item(decide(CasdoorDecision.ANONYMOUS));
     }
 
     /**
      * Checks access for authenticated users.
-     * Uses the AuthService from Casdoor Java SDK to validate the token
-     * and extract user information.
+     * Identities augmented by {@link CasdoorIdentityAugmentor} are checked as they are; otherwise
+     * the configured {@link CasdoorTokenVerifier} validates the token and extracts user information.
      * 
      * @param routingContext the routing context
      * @param identity the authenticated security identity
+     * @param routePolicy the policy of the requested route, or null if the route has none
      * @return the check result
      */
-    private Uni<CheckResult> checkAuthenticatedAccess(RoutingContext routingContext, SecurityIdentity identity) {
+    private Uni<CheckResult> checkAuthenticatedAccess(RoutingContext routingContext, SecurityIdentity identity,
+            CasdoorRoutePolicy routePolicy) {
+        VerifiedToken augmented = identity.getAttribute(CasdoorIdentityAugmentor.VERIFIED_TOKEN);
+        if (augmented != null) {
+            return Uni.createFrom().item(checkUser(routingContext, augmented, routePolicy));
+        }
+
         AccessTokenCredential credential = identity.getCredential(AccessTokenCredential.class);
         
         if (credential == null) {
-            return CheckResult.deny();
+            return Uni.createFrom().item(decide(CasdoorDecision.MISSING_TOKEN));
         }
         
         String token = credential.getToken();
         
         if (token == null || token.isEmpty()) {
-            return CheckResult.deny();
+            return Uni.createFrom().item(decide(CasdoorDecision.MISSING_TOKEN));
         }
-        
-        try {
-            User user = authService.parseJwtToken(token);
-            
-            if (user == null) {
-                return CheckResult.deny();
+
+        if (!multiTenant) {
+            return checkToken(routingContext, token, routePolicy, tokenVerifier, null);
+        }
+        return configResolver.resolveCasdoorConfig(routingContext)
+                .flatMap(tenant -> checkToken(routingContext, token, routePolicy,
+                        tenantVerifiers.verifier(tenant), tenantVerifiers.key(tenant)));
+    }
+
+    /**
+     * Checks access with the token of the request, verifying it unless it is cached locally or shared by another
+     * replica. Tokens rejected recently, or failing the structural pre-check, are denied without verification.
+     * Opaque tokens of the default tenant are introspected by Casdoor when introspection is enabled, once their
+     * length and characters have been checked.
+     *
+     * @param routingContext the routing context
+     * @param token the bearer token
+     * @param routePolicy the policy of the requested route, or null if the route has none
+     * @param verifier the verifier of the request's tenant
+     * @param tenant the key of the request's tenant, or null for the default tenant
+     * @return the check result
+     */
+    private Uni<CheckResult> checkToken(RoutingContext routingContext, String token, CasdoorRoutePolicy routePolicy,
+            CasdoorTokenVerifier verifier, String tenant) {
+        String digest = null;
+        String cacheKey = null;
+        if (tokenCache.isEnabled()) {
+            digest = CasdoorTokenUtil.digest(token);
+            cacheKey = cacheKey(digest, tenant);
+            VerifiedToken cached = tokenCache.get(cacheKey);
+            if (cached != null) {
+                return Uni.createFrom().item(checkUser(routingContext, cached, routePolicy));
+            }
+        }
+
+        if (tenant == null && introspections.isEnabled() && CasdoorIntrospections.isOpaque(token)) {
+            CasdoorTokenException malformed = CasdoorTokenPrecheck.checkOpaque(token);
+            if (malformed != null) {
+                rejectionLog.rejected(malformed);
+                return Uni.createFrom().item(decide(CasdoorDecision.PRECHECK_FAILED));
+            }
+            // inactive tokens stay in the introspection cache, like rejected JWTs in the rejected-token cache
+            return introspections.verify(token).map(verified -> verified == null
+                    ? decide(CasdoorDecision.INVALID_TOKEN)
+                    : checkUser(routingContext, verified, routePolicy));
+        }
+
+        CasdoorTokenException malformed = precheck.check(token);
+        if (malformed != null) {
+            rejectionLog.rejected(malformed);
+            return Uni.createFrom().item(decide(CasdoorDecision.PRECHECK_FAILED));
+        }
+
+        if (digest == null && (rejectedTokens.isEnabled() || sharedTokens.isEnabled())) {
+            digest = CasdoorTokenUtil.digest(token);
+            cacheKey = cacheKey(digest, tenant);
+        }
+        if (rejectedTokens.isEnabled()) {
+            CasdoorTokenException rejection = rejectedTokens.get(cacheKey);
+            if (rejection != null) {
+                rejectionLog.rejected(rejection);
+                return Uni.createFrom().item(decide(CasdoorDecision.KNOWN_INVALID_TOKEN));
+            }
+        }
+
+        if (!sharedTokens.isEnabled()) {
+            return verifyToken(routingContext, token, routePolicy, verifier, tenant, digest, cacheKey);
+        }
+        String tokenDigest = digest;
+        String key = cacheKey;
+        return sharedTokens.get(tokenDigest, tenant, verifier).flatMap(shared -> {
+            if (shared == null) {
+                return verifyToken(routingContext, token, routePolicy, verifier, tenant, tokenDigest, key);
             }
-            
-            String username = user.name;
-            if (username == null || username.isEmpty()) {
-                return CheckResult.deny();
+            tokenCache.put(key, shared);
+            return Uni.createFrom().item(checkUser(routingContext, shared, routePolicy));
+        });
+    }
+
+    /**
+     * Verifies the token of the request, caches the result and checks access with it.
+     *
+     * @param routingContext the routing context
+     * @param token the bearer token
+     * @param routePolicy the policy of the requested route, or null if the route has none
+     * @param verifier the verifier of the request's tenant
+     * @param tenant the key of the request's tenant, or null for the default tenant
+     * @param digest the token digest, or null if no cache is enabled
+     * @param cacheKey the key of the token in the local caches, or null if no cache is enabled
+     * @return the check result
+     */
+    private Uni<CheckResult> verifyToken(RoutingContext routingContext, String token, CasdoorRoutePolicy routePolicy,
+            CasdoorTokenVerifier verifier, String tenant, String digest, String cacheKey) {
+        return verify(token, verifier, tenant == null, cacheKey).map(new Function<VerifiedToken, CheckResult>() {
+            @Override
+            public CheckResult apply(VerifiedToken verified) {
+                if (verified == null) {
+                    return decide(CasdoorDecision.INVALID_TOKEN);
+                }
+                if (cacheKey != null) {
+                    tokenCache.put(cacheKey, verified);
+                }
+                if (sharedTokens.isEnabled()) {
+                    sharedTokens.put(digest, tenant, verifier, verified);
+                }
+                return checkUser(routingContext, verified, routePolicy);
             }
-            
-            return CheckResult.permit();
-            
-        } catch (AuthException e) {
-            System.err.println("Error validating Casdoor token: " + e.getMessage());
-            return CheckResult.deny();
-        } catch (Exception e) {
-            System.err.println("Unexpected error during Casdoor authorization: " + e.getMessage());
-            return CheckResult.deny();
+        });
+    }
+
+    /**
+     * Computes the key of a token in the local caches.
+     *
+     * @param digest the token digest
+     * @param tenant the key of the request's tenant, or null for the default tenant
+     * @return the token digest, prefixed with the tenant key for other tenants
+     */
+    private static String cacheKey(String digest, String tenant) {
+        // a token is only valid for the tenant whose keys verified it
+        return tenant == null ? digest : tenant + ':' + digest;
+    }
+
+    /**
+     * Checks the user carried by a verified token against the rate limit, the route policy and the enforced policies.
+     *
+     * @param routingContext the routing context
+     * @param verified the verified token
+     * @param routePolicy the policy of the requested route, or null if the route has none
+     * @return the check result
+     * @throws CasdoorRevokedTokenException if the token or its user was revoked
+     * @throws CasdoorRateLimitException if the user or client exceeded its rate limit
+     */
+    private CheckResult checkUser(RoutingContext routingContext, VerifiedToken verified,
+            CasdoorRoutePolicy routePolicy) {
+        String username = verified.user().name;
+        if (username == null || username.isEmpty()) {
+            return decide(CasdoorDecision.MISSING_USER);
+        }
+
+        if (revocations.isEnabled() && revocations.isRevoked(verified)) {
+            metrics.recordDecision(CasdoorDecision.REVOKED_TOKEN);
+            throw new CasdoorRevokedTokenException();
+        }
+
+        long retryAfter = rateLimiter.tryAcquire(verified);
+        if (retryAfter > 0) {
+            metrics.recordDecision(CasdoorDecision.RATE_LIMITED);
+            throw new CasdoorRateLimitException(retryAfter);
+        }
+
+        if (routePolicy != null && !routePolicy.permits(verified)) {
+            return decide(CasdoorDecision.ROUTE_POLICY);
+        }
+
+        if (policyEnforcer.isEnabled() && !policyEnforcer.enforce(verified,
+                routingContext.request().method().name(), routingContext.normalizedPath())) {
+            return decide(CasdoorDecision.ENFORCER_POLICY);
+        }
+
+        return decide(CasdoorDecision.AUTHENTICATED);
+    }
+
+    /**
+     * Records a decision and turns it into a check result.
+     *
+     * @param decision the decision
+     * @return the check result
+     */
+    private CheckResult decide(CasdoorDecision decision) {
+        metrics.recordDecision(decision);
+        return decision.isPermitted() ? CheckResult.PERMIT : CheckResult.DENY;
+    }
+
+    /**
+     * Verifies the token according to the configured execution mode.
+     * Tokens of the default tenant signed with an unknown key are verified again once the JWKS keys
+     * have been refetched.
+     *
+     * @param token the bearer token
+     * @param verifier the verifier of the request's tenant
+     * @param defaultTenant whether the request belongs to the default tenant
+     * @param cacheKey the key under which a rejection is cached, or null if it is not
+     * @return a Uni containing the verified token, or null if the token is invalid
+     */
+    private Uni<VerifiedToken> verify(String token, CasdoorTokenVerifier verifier, boolean defaultTenant,
+            String cacheKey) {
+        CasdoorTracing.Span span = tracing.startVerification(verifierName);
+        Uni<VerifiedToken> verification = offload(Uni.createFrom().item(() -> timedVerify(token, verifier)));
+        if (defaultTenant && jwksRefresher.isEnabled()) {
+            verification = verification
+                    .onFailure(CasdoorHttpSecurityPolicy::isUnknownKey)
+                    .recoverWithUni(() -> jwksRefresher.refetch()
+                            .chain(() -> offload(Uni.createFrom().item(() -> timedVerify(token, verifier)))));
+        }
+        return verification
+                .onItemOrFailure().invoke((verified, failure) -> span.end(failure))
+                .onFailure().recoverWithItem(failure -> rejected(failure, cacheKey));
+    }
+
+    /**
+     * Verifies the token and records how long the verification took.
+     *
+     * @param token the bearer token
+     * @param verifier the verifier of the request's tenant
+     * @return the verified token
+     */
+    private VerifiedToken timedVerify(String token, CasdoorTokenVerifier verifier) {
+        long start = System.nanoTime();
+        try {
+            VerifiedToken verified = verifier.verify(token);
+            metrics.recordVerification(System.nanoTime() - start, null);
+            return verified;
+        } catch (CasdoorTokenException e) {
+            metrics.recordVerification(System.nanoTime() - start, e.reason());
+            throw e;
         }
     }
 
+    /**
+     * Moves the verification to the configured executor. When verification is moved off
+     * the event loop, the result is emitted back on the Vert.x context of the request.
+     *
+     * @param verification the verification
+     * @return the verification running on the configured executor
+     */
+    private Uni<VerifiedToken> offload(Uni<VerifiedToken> verification) {
+        if (verificationExecutor == null) {
+            return verification;
+        }
+
+        Context context = Vertx.currentContext();
+        verification = verification.runSubscriptionOn(verificationExecutor);
+        if (context == null) {
+            return verification;
+        }
+        return verification.emitOn(command -> context.runOnContext(ignored -> command.run()));
+    }
+
+    private static boolean isUnknownKey(Throwable failure) {
+        return failure instanceof CasdoorTokenException
+                && ((CasdoorTokenException) failure).reason() == CasdoorTokenException.Reason.UNKNOWN_KEY;
+    }
+
+    /**
+     * Reports a token that failed verification, and remembers the rejection.
+     *
+     * @param failure the verification failure
+     * @param cacheKey the key under which the rejection is cached, or null if it is not
+     * @return always null
+     */
+    private VerifiedToken rejected(Throwable failure, String cacheKey) {
+        rejectionLog.rejected(failure);
+        if (cacheKey != null && failure instanceof CasdoorTokenException) {
+            rejectedTokens.put(cacheKey, (CasdoorTokenException) failure);
+        }
+        return null;
+    }
+
     /**
      * Extracts the user ID from the security identity.
      * 
@@ -146,16 +473,6 @@ public class CasdoorHttpSecurityPolicy implements HttpSecurityPolicy {
      * @return true if the path is public, false otherwise
      */
     private boolean isPublicPath(String path) {
-        if (path == null) {
-            return false;
-        }
-        
-        return path.equals("/") ||
-               path.startsWith("/health") ||
-               path.startsWith("/metrics") ||
-               path.startsWith("/openapi") ||
-               path.startsWith("/swagger-ui") ||
-               path.startsWith("/q/") ||
-               path.startsWith("/quarkus-casdoor-auth");
+        return publicPaths.matches(path);
     }
 }
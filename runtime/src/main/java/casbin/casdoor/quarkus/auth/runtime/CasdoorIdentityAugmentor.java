@@ -0,0 +1,63 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.security.identity.AuthenticationRequestContext;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.security.identity.SecurityIdentityAugmentor;
+import io.quarkus.security.runtime.QuarkusSecurityIdentity;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Singleton;
+import org.casbin.casdoor.entity.User;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+/**
+ * Builds the Casdoor view of an identity from the token claims already verified by `quarkus-oidc`,
+ * when `quarkus.casdoor.verification.verifier` is `oidc`.
+ * The result is stored as the {@link #VERIFIED_TOKEN} attribute, so {@link CasdoorHttpSecurityPolicy}
+ * neither verifies nor parses the token again.
+ */
+@Singleton
+public class CasdoorIdentityAugmentor implements SecurityIdentityAugmentor {
+
+    /**
+     * The identity attribute holding the {@link VerifiedToken}.
+     */
+    public static final String VERIFIED_TOKEN = "casdoor.verified-token";
+
+    private final boolean enabled;
+
+    public CasdoorIdentityAugmentor(CasdoorConfig config) {
+        this.enabled = config.verification().verifier() == CasdoorConfig.Verifier.OIDC;
+    }
+
+    @Override
+    public Uni<SecurityIdentity> augment(SecurityIdentity identity, AuthenticationRequestContext context) {
+        if (!enabled || identity.isAnonymous() || !(identity.getPrincipal() instanceof JsonWebToken)) {
+            return Uni.createFrom().item(identity);
+        }
+
+        CasdoorClaims claims = CasdoorClaims.of((JsonWebToken) identity.getPrincipal());
+        User user = new User();
+        user.name = claims.name();
+        user.owner = claims.owner();
+        VerifiedToken verified = new VerifiedToken(user, claims.expiresAt(), claims.roles(), claims.permissions(),
+                claims.clientId(), claims.tokenId(), claims.issuedAt());
+
+        return Uni.createFrom().item(QuarkusSecurityIdentity.builder(identity)
+                .addAttribute(VERIFIED_TOKEN, verified)
+                .build());
+    }
+}
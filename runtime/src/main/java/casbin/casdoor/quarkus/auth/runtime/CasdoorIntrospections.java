@@ -0,0 +1,257 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import jakarta.inject.Singleton;
+import org.casbin.casdoor.entity.User;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Introspection of opaque Casdoor access tokens, with a local cache of the results keyed by token digest, so the
+ * cache never holds the tokens themselves. Concurrent introspections of the same token share a single request to Casdoor. A token used again
+ * `quarkus.casdoor.introspection.refresh-after` after its introspection is introspected again in the background,
+ * while the cached result keeps serving requests, so repeat traffic never waits for Casdoor.
+ * Results of active tokens expire no later than the token's `exp`.
+ * <p>
+ * In degraded mode, the last active introspection of a token keeps being served, up to a maximum staleness
+ * and never past the token's `exp`, while Casdoor cannot be reached.
+ */
+@Singleton
+public class CasdoorIntrospections {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorIntrospections.class);
+
+    private final CasdoorClient client;
+    private final String path;
+    private final String organizationName;
+    private final long refreshAfterNanos;
+    private final AsyncCache<String, Introspection> cache;
+    private final Cache<String, Introspection> lastKnown;
+
+    public CasdoorIntrospections(CasdoorClient client, CasdoorConfig config) {
+        CasdoorConfig.Introspection introspectionConfig = config.introspection();
+        this.client = client;
+        this.path = introspectionConfig.path();
+        this.organizationName = config.organizationName().orElse(null);
+        CasdoorConfig.DegradedMode degradedMode = config.resilience().degradedMode();
+        this.refreshAfterNanos = introspectionConfig.refreshAfter().toNanos();
+        if (!introspectionConfig.enabled()) {
+            this.cache = null;
+            this.lastKnown = null;
+            return;
+        }
+        this.lastKnown = degradedMode.enabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(introspectionConfig.maximumSize())
+                        .expireAfterWrite(degradedMode.maxStaleness())
+                        .build()
+                : null;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(introspectionConfig.maximumSize())
+                .expireAfter(new IntrospectionExpiry(introspectionConfig.maxTtl().toNanos()))
+                .buildAsync();
+    }
+
+    /**
+     * @return true if opaque tokens are introspected
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Tells opaque tokens from JWTs, which always contain dots between their parts.
+     *
+     * @param token the bearer token
+     * @return true if the token is not a JWT
+     */
+    public static boolean isOpaque(String token) {
+        return token.indexOf('.') < 0;
+    }
+
+    /**
+     * Introspects a token, unless its introspection is cached.
+     *
+     * @param token the access token
+     * @return a Uni containing the token, or null if Casdoor reports it inactive or cannot be reached
+     */
+    public Uni<VerifiedToken> verify(String token) {
+        return introspect(token).map(introspection -> introspection == null ? null : introspection.verified);
+    }
+
+    /**
+     * Introspects a token, unless its introspection is cached.
+     *
+     * @param token the access token
+     * @return a Uni containing the introspection response of the token, or null if Casdoor reports
+     *         it inactive or cannot be reached
+     */
+    public Uni<String> introspection(String token) {
+        return introspect(token).map(introspection -> introspection == null ? null : introspection.response);
+    }
+
+    /**
+     * Caches an introspection performed elsewhere, by quarkus-oidc. Results of inactive tokens are not cached.
+     *
+     * @param token the access token
+     * @param response the introspection response
+     */
+    public void put(String token, String response) {
+        if (cache == null) {
+            return;
+        }
+        Introspection introspection = toIntrospection(new JsonObject(response));
+        if (introspection.verified != null) {
+            String digest = CasdoorTokenUtil.digest(token);
+            cache.put(digest, CompletableFuture.completedFuture(introspection));
+            if (lastKnown != null) {
+                lastKnown.put(digest, introspection);
+            }
+        }
+    }
+
+    private Uni<Introspection> introspect(String token) {
+        if (cache == null) {
+            return Uni.createFrom().nullItem();
+        }
+        String digest = CasdoorTokenUtil.digest(token);
+        CompletableFuture<Introspection> cached = cache.get(digest, (key, executor) -> load(digest, token));
+        if (cached.isDone() && !cached.isCompletedExceptionally()) {
+            refreshIfStale(digest, token, cached);
+        }
+        return Uni.createFrom().completionStage(cached)
+                .map(introspection -> introspection.verified == null ? null : introspection)
+                .onFailure().recoverWithItem(failure -> {
+                    LOG.debugf(failure, "Casdoor token introspection failed");
+                    return null;
+                });
+    }
+
+    /**
+     * Introspects the token again in the background once its cached introspection is older than the refresh
+     * interval. The cached introspection keeps serving requests meanwhile, and is kept if the refresh fails.
+     */
+    private void refreshIfStale(String digest, String token, CompletableFuture<Introspection> cached) {
+        Introspection current = cached.join();
+        if (System.nanoTime() - current.loadedAt < refreshAfterNanos
+                || !current.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        load(digest, token).whenComplete((introspection, failure) -> {
+            current.refreshing.set(false);
+            if (failure == null) {
+                // unless the entry was invalidated or replaced meanwhile
+                cache.asMap().replace(digest, cached, CompletableFuture.completedFuture(introspection));
+            } else {
+                LOG.debugf(failure, "Casdoor token introspection refresh failed");
+            }
+        });
+    }
+
+    private CompletableFuture<Introspection> load(String digest, String token) {
+        Uni<Introspection> introspection = client.introspect(path, token).map(this::toIntrospection);
+        if (lastKnown != null) {
+            introspection = introspection
+                    .invoke(result -> {
+                        if (result.verified == null) {
+                            lastKnown.invalidate(digest);
+                        } else {
+                            lastKnown.put(digest, result);
+                        }
+                    })
+                    .onFailure(CasdoorClient::isUnavailable).recoverWithUni(failure -> {
+                        Introspection stale = lastKnown.getIfPresent(digest);
+                        long expiresAt = stale == null ? 0 : stale.verified.expiresAt();
+                        if (stale == null || (expiresAt > 0 && expiresAt * 1000 <= System.currentTimeMillis())) {
+                            return Uni.createFrom().failure(failure);
+                        }
+                        LOG.debug("Casdoor is unavailable, serving the last known introspection of a token");
+                        return Uni.createFrom().item(stale);
+                    });
+        }
+        return introspection.subscribeAsCompletionStage();
+    }
+
+    /**
+     * Maps an introspection response onto a token. The claims Casdoor puts in its JWTs are used when the response
+     * has them, the standard introspection fields otherwise.
+     */
+    private Introspection toIntrospection(JsonObject response) {
+        if (!response.getBoolean("active", false)) {
+            return new Introspection(null, null);
+        }
+        String encoded = response.encode();
+        CasdoorClaims claims = CasdoorClaims.parse(encoded.getBytes(StandardCharsets.UTF_8));
+        User user = new User();
+        user.name = claims.name() != null ? claims.name() : response.getString("username");
+        user.owner = claims.owner() != null ? claims.owner() : organizationName;
+        String clientId = claims.clientId() != null ? claims.clientId() : response.getString("client_id");
+        VerifiedToken verified = new VerifiedToken(user, claims.expiresAt(), claims.roles(), claims.permissions(),
+                clientId, claims.tokenId(), claims.issuedAt());
+        return new Introspection(verified, encoded);
+    }
+
+    private static final class Introspection {
+
+        private final VerifiedToken verified;
+        private final String response;
+        private final long loadedAt = System.nanoTime();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Introspection(VerifiedToken verified, String response) {
+            this.verified = verified;
+            this.response = response;
+        }
+    }
+
+    private static final class IntrospectionExpiry implements Expiry<String, Introspection> {
+
+        private final long maxTtlNanos;
+
+        IntrospectionExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Introspection value, long currentTime) {
+            if (value.verified == null || value.verified.expiresAt() <= 0) {
+                return maxTtlNanos;
+            }
+            long remainingMillis = value.verified.expiresAt() * 1000 - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Introspection value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Introspection value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
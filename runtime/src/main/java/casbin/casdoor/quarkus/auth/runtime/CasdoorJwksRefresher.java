@@ -0,0 +1,160 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+import org.jboss.logging.Logger;
+
+import java.security.PublicKey;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the JWKS keys of {@link CasdoorKeyMaterialHolder} up to date.
+ * Keys are refreshed on a fixed schedule and refetched when a token is signed with an unknown key.
+ * Concurrent refetches share a single request, so a burst of tokens with a new `kid` causes one fetch.
+ * The previous keys are kept when a refresh fails, and in degraded mode also when Casdoor returns no keys at all.
+ * When a key is removed or replaced, tokens verified with it are verified again, on every replica when a shared
+ * cache is configured.
+ */
+@Singleton
+public class CasdoorJwksRefresher {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorJwksRefresher.class);
+
+    private final CasdoorKeyMaterialHolder keyMaterial;
+    private final CasdoorSharedTokens sharedTokens;
+    private final CasdoorMetrics metrics;
+    private final Vertx vertx;
+    private final CasdoorClient client;
+    private final CasdoorConfig.Jwks config;
+    private final String jwksUrl;
+    private final boolean degradedMode;
+    private final AtomicReference<CompletableFuture<Void>> inflight = new AtomicReference<>();
+
+    private long timerId = -1;
+    private volatile long lastFetch;
+
+    public CasdoorJwksRefresher(CasdoorKeyMaterialHolder keyMaterial, CasdoorSharedTokens sharedTokens, Vertx vertx,
+            CasdoorClient client, CasdoorConfig config, CasdoorMetrics metrics) {
+        this.keyMaterial = keyMaterial;
+        this.sharedTokens = sharedTokens;
+        this.metrics = metrics;
+        this.vertx = vertx;
+        this.client = client;
+        this.config = config.jwks();
+        this.jwksUrl = config.endpoint().map(endpoint -> endpoint + this.config.path()).orElse(null);
+        this.degradedMode = config.resilience().degradedMode().enabled();
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        refresh();
+        timerId = vertx.setPeriodic(config.refreshInterval().toMillis(), ignored -> refresh());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId >= 0) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    /**
+     * @return true if keys are fetched from the JWKS endpoint
+     */
+    public boolean isEnabled() {
+        return config.enabled() && jwksUrl != null;
+    }
+
+    /**
+     * Refetches the key set after a token signed with an unknown key was seen.
+     * Refetches are limited to one per minimum refetch interval; a refetch already in flight is shared.
+     *
+     * @return a Uni completing once the key set is up to date
+     */
+    public Uni<Void> refetch() {
+        if (!isEnabled()) {
+            return Uni.createFrom().voidItem();
+        }
+        CompletableFuture<Void> current = inflight.get();
+        if (current == null && System.currentTimeMillis() - lastFetch < config.minRefetchInterval().toMillis()) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().completionStage(current != null ? current : refresh());
+    }
+
+    private CompletableFuture<Void> refresh() {
+        while (true) {
+            CompletableFuture<Void> current = inflight.get();
+            if (current != null) {
+                return current;
+            }
+            CompletableFuture<Void> next = new CompletableFuture<>();
+            if (inflight.compareAndSet(null, next)) {
+                long start = System.nanoTime();
+                fetch().subscribe().with(
+                        keys -> {
+                            if (keys.isEmpty() && degradedMode) {
+                                LOG.warnf("Casdoor JWKS at %s has no keys, keeping the previous ones", jwksUrl);
+                            } else {
+                                update(keys);
+                            }
+                            metrics.recordKeyRefresh(System.nanoTime() - start, true);
+                            complete(next, null);
+                        },
+                        failure -> {
+                            metrics.recordKeyRefresh(System.nanoTime() - start, false);
+                            complete(next, failure);
+                        });
+                return next;
+            }
+        }
+    }
+
+    private void update(Map<String, PublicKey> keys) {
+        Map<String, PublicKey> previous = keyMaterial.get().keys();
+        keyMaterial.updateKeys(keys);
+        // new keys only verify new tokens, a key that is gone or replaced must not keep its tokens valid
+        for (Map.Entry<String, PublicKey> key : previous.entrySet()) {
+            if (!key.getValue().equals(keys.get(key.getKey()))) {
+                sharedTokens.invalidateAll().subscribe().with(ignored -> {
+                }, failure -> LOG.debugf("Announcing the JWKS change failed: %s", failure.getMessage()));
+                return;
+            }
+        }
+    }
+
+    private void complete(CompletableFuture<Void> fetch, Throwable failure) {
+        lastFetch = System.currentTimeMillis();
+        inflight.compareAndSet(fetch, null);
+        if (failure != null) {
+            // keep serving the previous keys, tokens signed with an unknown key stay rejected
+            LOG.warnf("Failed to refresh Casdoor JWKS from %s: %s", jwksUrl, failure.getMessage());
+        }
+        fetch.complete(null);
+    }
+
+    private Uni<Map<String, PublicKey>> fetch() {
+        return client.getJwks(config.path()).map(CasdoorConfigUtil::parseJwks);
+    }
+}
@@ -0,0 +1,164 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable key material used to verify Casdoor tokens.
+ */
+public final class CasdoorKeyMaterial {
+
+    static final CasdoorKeyMaterial EMPTY = new CasdoorKeyMaterial(null, null, Collections.emptyMap());
+
+    private final String certificate;
+    private final PublicKey publicKey;
+    private final Map<String, PublicKey> keys;
+    private final long fingerprint;
+
+    private CasdoorKeyMaterial(String certificate, PublicKey publicKey, Map<String, PublicKey> keys) {
+        this.certificate = certificate;
+        this.publicKey = publicKey;
+        this.keys = keys;
+        this.fingerprint = fingerprint(publicKey, keys);
+    }
+
+    /**
+     * Resolves and parses the configured certificate. Classpath certificates are parsed during static
+     * initialization, see {@link CasdoorPreloadedResources}.
+     *
+     * @param certificateConfig the certificate configuration value, either a path or the PEM content
+     * @return the key material
+     * @throws io.quarkus.runtime.configuration.ConfigurationException if the certificate cannot be resolved or parsed
+     */
+    public static CasdoorKeyMaterial fromCertificate(String certificateConfig) {
+        CasdoorKeyMaterial preloaded = CasdoorPreloadedResources.certificate(certificateConfig);
+        if (preloaded != null) {
+            return preloaded;
+        }
+        return fromPem(CasdoorConfigUtil.resolveCertificate(certificateConfig));
+    }
+
+    /**
+     * Parses a certificate.
+     *
+     * @param certificate the PEM content
+     * @return the key material
+     * @throws io.quarkus.runtime.configuration.ConfigurationException if the certificate cannot be parsed
+     */
+    static CasdoorKeyMaterial fromPem(String certificate) {
+        return new CasdoorKeyMaterial(certificate, CasdoorConfigUtil.parsePublicKey(certificate), Collections.emptyMap());
+    }
+
+    /**
+     * @return the resolved PEM content, or null if no certificate is configured
+     */
+    public String certificate() {
+        return certificate;
+    }
+
+    /**
+     * @return the parsed public key, or null if no certificate is configured
+     */
+    public PublicKey publicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Returns the key a token should be verified with.
+     * Keys fetched from the JWKS endpoint are looked up by `kid`, the configured certificate is used otherwise.
+     *
+     * @param kid the `kid` header of the token, may be null
+     * @return the key, or null if the token was signed with a key that is not known yet
+     */
+    public PublicKey publicKey(String kid) {
+        if (keys.isEmpty()) {
+            return publicKey;
+        }
+        if (kid == null) {
+            return publicKey != null || keys.size() != 1 ? publicKey : keys.values().iterator().next();
+        }
+        return keys.get(kid);
+    }
+
+    /**
+     * @return the keys fetched from the JWKS endpoint, indexed by `kid`
+     */
+    public Map<String, PublicKey> keys() {
+        return keys;
+    }
+
+    /**
+     * Identifies the keys of this key material. The fingerprint only depends on the keys, so replicas holding
+     * the same certificate and JWKS keys compute the same value, and it changes when a key is replaced or removed.
+     *
+     * @return the first 8 bytes of a SHA-256 digest of the encoded keys, or 0 if there are none
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns a copy of this key material with a new certificate, keeping the JWKS keys.
+     *
+     * @param certificate the PEM content of the certificate
+     * @return the new key material
+     * @throws io.quarkus.runtime.configuration.ConfigurationException if the certificate cannot be parsed
+     */
+    public CasdoorKeyMaterial withCertificate(String certificate) {
+        return new CasdoorKeyMaterial(certificate, CasdoorConfigUtil.parsePublicKey(certificate), keys);
+    }
+
+    /**
+     * Returns a copy of this key material with the given JWKS keys.
+     *
+     * @param keys the keys indexed by `kid`
+     * @return the new key material
+     */
+    public CasdoorKeyMaterial withKeys(Map<String, PublicKey> keys) {
+        return new CasdoorKeyMaterial(certificate, publicKey, Map.copyOf(keys));
+    }
+
+    private static long fingerprint(PublicKey publicKey, Map<String, PublicKey> keys) {
+        if (publicKey == null && keys.isEmpty()) {
+            return 0;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        if (publicKey != null) {
+            digest.update(publicKey.getEncoded());
+        }
+        for (Map.Entry<String, PublicKey> key : new TreeMap<>(keys).entrySet()) {
+            digest.update(key.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update(key.getValue().getEncoded());
+        }
+        byte[] hash = digest.digest();
+        long fingerprint = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            fingerprint = fingerprint << 8 | (hash[i] & 0xFF);
+        }
+        return fingerprint;
+    }
+}
@@ -0,0 +1,71 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.security.PublicKey;
+import java.util.Map;
+
+/**
+ * Holds the key material of the Casdoor configuration.
+ * The certificate is resolved and parsed once, when the holder is created,
+ * so no PEM parsing or file I/O happens on the request path.
+ */
+@Singleton
+public class CasdoorKeyMaterialHolder {
+
+    private volatile CasdoorKeyMaterial keyMaterial;
+
+    @Inject
+    public CasdoorKeyMaterialHolder(CasdoorConfigResolver configResolver) {
+        CasdoorConfig config = configResolver.resolveCasdoorConfig().await().indefinitely();
+        this.keyMaterial = config.certificate()
+                .map(CasdoorKeyMaterial::fromCertificate)
+                .orElse(CasdoorKeyMaterial.EMPTY);
+    }
+
+    CasdoorKeyMaterialHolder(CasdoorKeyMaterial keyMaterial) {
+        this.keyMaterial = keyMaterial;
+    }
+
+    /**
+     * @return the current key material
+     */
+    public CasdoorKeyMaterial get() {
+        return keyMaterial;
+    }
+
+    /**
+     * Atomically replaces the JWKS keys. Requests in flight keep using the previous key material.
+     *
+     * @param keys the keys indexed by `kid`
+     */
+    public synchronized void updateKeys(Map<String, PublicKey> keys) {
+        keyMaterial = keyMaterial.withKeys(keys);
+    }
+
+    /**
+     * Atomically replaces the certificate, after parsing and validating it.
+     * Requests in flight keep using the previous key material.
+     *
+     * @param certificate the PEM content of the new certificate
+     * @throws io.quarkus.runtime.configuration.ConfigurationException if the certificate cannot be parsed
+     */
+    public synchronized void updateCertificate(String certificate) {
+        keyMaterial = keyMaterial.withCertificate(certificate);
+    }
+}
@@ -0,0 +1,61 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+/**
+ * Receives measurements of the Casdoor security policy.
+ * The default implementation discards them; a Micrometer based implementation
+ * is registered when the application uses the Micrometer extension.
+ */
+public interface CasdoorMetrics {
+
+    CasdoorMetrics NOOP = new CasdoorMetrics() {
+    };
+
+    /**
+     * Records a token verification.
+     *
+     * @param durationNanos how long the verification took
+     * @param failure why the token was rejected, or null if it was verified
+     */
+    default void recordVerification(long durationNanos, CasdoorTokenException.Reason failure) {
+    }
+
+    /**
+     * Records the outcome of an authorization check.
+     *
+     * @param decision the decision
+     */
+    default void recordDecision(CasdoorDecision decision) {
+    }
+
+    /**
+     * Records a refresh of the verification keys.
+     *
+     * @param durationNanos how long the refresh took
+     * @param success whether new keys were obtained
+     */
+    default void recordKeyRefresh(long durationNanos, boolean success) {
+    }
+
+    /**
+     * Records a background refresh of the tokens of a web-app session.
+     *
+     * @param durationNanos how long the refresh took
+     * @param success whether new tokens were obtained
+     */
+    default void recordSessionRefresh(long durationNanos, boolean success) {
+    }
+}
@@ -43,6 +43,11 @@ public class CasdoorOidcConfigSource implements ConfigSource {
             properties.put("quarkus.oidc.client-id", clientId.getValue());
             properties.put("quarkus.oidc.credentials.secret", clientSecret.getValue());
             properties.put("quarkus.oidc.application-type", "web-app");
+            if (isTrue(context.getValue("quarkus.casdoor.introspection.enabled"))) {
+                ConfigValue path = context.getValue("quarkus.casdoor.introspection.path");
+                properties.put("quarkus.oidc.introspection-path", path != null && path.getValue() != null
+                        ? path.getValue() : "/api/login/oauth/introspect");
+            }
         }
     }
     
@@ -50,6 +55,10 @@ public class CasdoorOidcConfigSource implements ConfigSource {
         return enabled == null || enabled.getValue() == null || !"false".equals(enabled.getValue());
     }
 
+    private boolean isTrue(ConfigValue value) {
+        return value != null && "true".equals(value.getValue());
+    }
+
     @Override
     public Map<String, String> getProperties() {
         return Collections.unmodifiableMap(properties);
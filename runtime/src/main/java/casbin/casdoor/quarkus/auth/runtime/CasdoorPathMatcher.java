@@ -0,0 +1,251 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Matches request paths against a set of patterns compiled into a single deterministic automaton over the
+ * characters of the path, so a lookup reads each character once, without backtracking, regardless of the number
+ * of patterns. The patterns matching a path are known once its last character is read.
+ * <p>
+ * Supported patterns:
+ * <ul>
+ * <li>{@code /health} matches the path exactly</li>
+ * <li>{@code /health*} matches every path starting with {@code /health}</li>
+ * <li>{@code /api/*}{@code /docs} matches one or more characters of a single path segment in place of {@code *},
+ * so neither {@code /api//docs} nor {@code /api/a/b/docs} match</li>
+ * </ul>
+ */
+public final class CasdoorPathMatcher {
+
+    private static final int[] NONE = new int[0];
+
+    private final Node root;
+    private final Node[] nodes;
+    private final int size;
+
+    private CasdoorPathMatcher(Node root, Node[] nodes, int size) {
+        this.root = root;
+        this.nodes = nodes;
+        this.size = size;
+    }
+
+    /**
+     * Compiles the given patterns. The index of a pattern in the list identifies it in {@link #matchAll(String, BitSet)}.
+     *
+     * @param patterns the path patterns
+     * @return the compiled matcher
+     */
+    public static CasdoorPathMatcher compile(List<String> patterns) {
+        String[] trimmed = new String[patterns.size()];
+        TreeSet<Long> start = new TreeSet<>();
+        for (int rule = 0; rule < trimmed.length; rule++) {
+            trimmed[rule] = patterns.get(rule).trim();
+            start.add(state(rule, 0));
+        }
+        Compiler compiler = new Compiler(trimmed);
+        Node root = compiler.node(start);
+        return new CasdoorPathMatcher(root, compiler.nodes.values().toArray(new Node[0]), patterns.size());
+    }
+
+    /**
+     * @return the number of compiled patterns
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of states of the automaton, see {@link #state(String)}
+     */
+    public int states() {
+        return nodes.length;
+    }
+
+    /**
+     * Finds the state of the automaton a path ends in. Paths matched by the same patterns may end in different
+     * states, but all paths ending in a state are matched by the same patterns, so whatever depends on the matched
+     * patterns can be computed once per state.
+     *
+     * @param path the request path
+     * @return the state, between 0 and {@link #states()}, or -1 if no pattern matches the path
+     */
+    public int state(String path) {
+        Node node = walk(path);
+        return node != null && node.rules.length > 0 ? node.id : -1;
+    }
+
+    /**
+     * @param state a state of the automaton
+     * @return the indexes of the patterns matching the paths ending in the state, in ascending order
+     */
+    public int[] rules(int state) {
+        return nodes[state].rules.clone();
+    }
+
+    /**
+     * @param path the request path
+     * @return true if at least one pattern matches the path
+     */
+    public boolean matches(String path) {
+        Node node = walk(path);
+        return node != null && node.rules.length > 0;
+    }
+
+    /**
+     * Collects the indexes of all patterns matching the path.
+     *
+     * @param path the request path
+     * @param rules the set the matching pattern indexes are added to
+     * @return true if at least one pattern matches the path
+     */
+    public boolean matchAll(String path, BitSet rules) {
+        Node node = walk(path);
+        if (node == null || node.rules.length == 0) {
+            return false;
+        }
+        for (int rule : node.rules) {
+            rules.set(rule);
+        }
+        return true;
+    }
+
+    private Node walk(String path) {
+        if (path == null) {
+            return null;
+        }
+        Node node = root;
+        for (int i = 0; i < path.length() && node != null; i++) {
+            node = node.next(path.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * A position in a pattern: the pattern and the index of its next character.
+     */
+    private static long state(int rule, int position) {
+        return (long) rule << 32 | position;
+    }
+
+    /**
+     * Builds the automaton by subset construction: each node stands for the set of pattern positions the
+     * characters read so far can have reached, and nodes of equal sets are shared.
+     */
+    private static final class Compiler {
+
+        private final String[] patterns;
+        // in creation order, which is the order of the node ids
+        private final Map<TreeSet<Long>, Node> nodes = new LinkedHashMap<>();
+
+        Compiler(String[] patterns) {
+            this.patterns = patterns;
+        }
+
+        Node node(TreeSet<Long> states) {
+            if (states.isEmpty()) {
+                return null;
+            }
+            Node node = nodes.get(states);
+            if (node != null) {
+                return node;
+            }
+            node = new Node(nodes.size());
+            nodes.put(states, node);
+
+            TreeSet<Integer> rules = new TreeSet<>();
+            TreeSet<Character> labels = new TreeSet<>();
+            for (long state : states) {
+                int rule = (int) (state >>> 32);
+                int position = (int) state;
+                String pattern = patterns[rule];
+                if (position == pattern.length() || isPrefix(pattern, position)) {
+                    rules.add(rule);
+                } else if (pattern.charAt(position) != '*') {
+                    labels.add(pattern.charAt(position));
+                }
+            }
+            node.rules = rules.stream().mapToInt(Integer::intValue).toArray();
+            node.labels = new char[labels.size()];
+            node.children = new Node[labels.size()];
+            int i = 0;
+            for (char label : labels) {
+                node.labels[i] = label;
+                node.children[i++] = node(step(states, label));
+            }
+            // any character that is not a label: only wildcards, and a slash only for trailing ones
+            node.other = node(step(states, '\0'));
+            node.slash = labels.contains('/') ? null : node(step(states, '/'));
+            return node;
+        }
+
+        private TreeSet<Long> step(TreeSet<Long> states, char c) {
+            TreeSet<Long> next = new TreeSet<>();
+            for (long state : states) {
+                int rule = (int) (state >>> 32);
+                int position = (int) state;
+                String pattern = patterns[rule];
+                if (position == pattern.length()) {
+                    continue;
+                }
+                char expected = pattern.charAt(position);
+                if (isPrefix(pattern, position)) {
+                    next.add(state);
+                } else if (expected == '*') {
+                    if (c != '/') {
+                        // the wildcard matched a character: it may match more, or the rest of the pattern follows
+                        next.add(state);
+                        next.add(state(rule, position + 1));
+                    }
+                } else if (expected == c && c != '\0') {
+                    next.add(state(rule, position + 1));
+                }
+            }
+            return next;
+        }
+
+        private static boolean isPrefix(String pattern, int position) {
+            return position == pattern.length() - 1 && pattern.charAt(position) == '*';
+        }
+    }
+
+    private static final class Node {
+
+        private final int id;
+        private int[] rules = NONE;
+        private char[] labels;
+        private Node[] children;
+        private Node other;
+        private Node slash;
+
+        Node(int id) {
+            this.id = id;
+        }
+
+        Node next(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            return c == '/' ? slash : other;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Enforces Casbin style policies against the request path and method without calling Casdoor.
+ * <p>
+ * Policies are written as Casbin CSV lines, {@code p, subject, object, action[, allow|deny]} and
+ * {@code g, subject, role}. Subjects are {@code organization/name}; a bare name is a role or user of
+ * {@code quarkus.casdoor.organization-name}. At startup, objects are compiled into a {@link CasdoorPathMatcher}, role
+ * inheritance is folded in, and every (automaton state, action) pair gets the bitset of the subjects it allows and
+ * of those it denies. A decision therefore costs one automaton walk plus one bit lookup per subject of the user,
+ * whatever the number of policies, and allocates nothing.
+ * <p>
+ * Fields may be quoted as in Casbin CSV files, {@code p, "acme/o'neil, jr", /api/*, GET}, with {@code ""} standing
+ * for a quote inside a quoted field. Objects match like Casbin's {@code keyMatch}: a trailing {@code *} matches any
+ * suffix, including further path segments.
+ */
+@Singleton
+public class CasdoorPolicyEnforcer {
+
+    private static final String[] ACTIONS = { "GET", "HEAD", "OPTIONS", "POST", "PUT", "PATCH", "DELETE" };
+    private static final int READ_ACTIONS = 3;
+
+    private final boolean enabled;
+    private final CasdoorPathMatcher objects;
+    // subject indexes by organization and name
+    private final Map<String, Map<String, Integer>> subjects = new HashMap<>();
+    private int subjectCount;
+    // subjects allowed and denied by automaton state and action, null when there are none
+    private final BitSet[] allowed;
+    private final BitSet[] denied;
+
+    public CasdoorPolicyEnforcer(CasdoorConfig config) {
+        CasdoorConfig.Authorization authorization = config.authorization();
+        this.enabled = authorization.enabled();
+        String organization = config.organizationName().orElse(null);
+
+        Map<String, Integer> objectIndexes = new LinkedHashMap<>();
+        Map<String, BitSet> directAllowed = new HashMap<>();
+        Map<String, BitSet> directDenied = new HashMap<>();
+        Map<String, Set<String>> inherits = new HashMap<>();
+
+        List<String> lines = new ArrayList<>(authorization.policies().orElse(List.of()));
+        authorization.policyFile().ifPresent(file -> lines.addAll(CasdoorConfigUtil.readPolicyFile(file)));
+
+        for (String line : lines) {
+            String[] fields = fields(line);
+            if ("g".equals(fields[0]) && fields.length == 3) {
+                inherits.computeIfAbsent(qualify(fields[1], organization, line), ignored -> new HashSet<>())
+                        .add(qualify(fields[2], organization, line));
+            } else if ("p".equals(fields[0]) && (fields.length == 4 || fields.length == 5)) {
+                boolean deny = fields.length == 5 && "deny".equalsIgnoreCase(fields[4]);
+                int object = objectIndexes.computeIfAbsent(fields[2], ignored -> objectIndexes.size());
+                BitSet bits = (deny ? directDenied : directAllowed)
+                        .computeIfAbsent(qualify(fields[1], organization, line), ignored -> new BitSet());
+                for (int action : actionIndexes(fields[3])) {
+                    bits.set(object * ACTIONS.length + action);
+                }
+            } else {
+                throw new ConfigurationException("Invalid Casdoor authorization policy: " + line);
+            }
+        }
+
+        this.objects = CasdoorPathMatcher.compile(new ArrayList<>(objectIndexes.keySet()));
+        int[][] statesByObject = statesByObject(objects);
+        this.allowed = index(fold(directAllowed, inherits), statesByObject);
+        this.denied = index(fold(directDenied, inherits), statesByObject);
+    }
+
+    /**
+     * @return true if policies are enforced
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Decides whether the user of a verified token may perform the request.
+     * The user is identified as {@code organization/name} and by the roles of the token, which belong to the
+     * organization of the user. Access is granted if at least one policy allows it and none denies it.
+     *
+     * @param token the verified token
+     * @param method the HTTP method
+     * @param path the normalized request path
+     * @return true if access is granted
+     */
+    public boolean enforce(VerifiedToken token, String method, String path) {
+        int action = actionIndex(method);
+        int state = action < 0 ? -1 : objects.state(path);
+        if (state < 0) {
+            return false;
+        }
+        Map<String, Integer> organization = subjects.get(token.user().owner != null ? token.user().owner : "");
+        if (organization == null) {
+            return false;
+        }
+
+        BitSet allow = allowed[state * ACTIONS.length + action];
+        BitSet deny = denied[state * ACTIONS.length + action];
+        Integer user = organization.get(token.user().name);
+        if (user != null && deny != null && deny.get(user)) {
+            return false;
+        }
+        boolean granted = user != null && allow != null && allow.get(user);
+        for (String name : token.roles()) {
+            Integer role = organization.get(name);
+            if (role == null) {
+                continue;
+            }
+            if (deny != null && deny.get(role)) {
+                return false;
+            }
+            granted = granted || allow != null && allow.get(role);
+        }
+        return granted;
+    }
+
+    /**
+     * Splits a policy line into trimmed fields, honouring double-quoted fields that contain commas.
+     */
+    private static String[] fields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            while (i < line.length() && line.charAt(i) == ' ') {
+                i++;
+            }
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i == line.length()) {
+                        throw new ConfigurationException("Unterminated quote in Casdoor authorization policy: " + line);
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                while (i < line.length() && line.charAt(i) == ' ') {
+                    i++;
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new ConfigurationException(
+                            "Unexpected text after a quoted field in Casdoor authorization policy: " + line);
+                }
+                fields.add(field.toString());
+            } else {
+                int end = line.indexOf(',', i);
+                end = end < 0 ? line.length() : end;
+                fields.add(line.substring(i, end).trim());
+                i = end;
+            }
+            field.setLength(0);
+            if (i >= line.length()) {
+                return fields.toArray(new String[0]);
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Qualifies a bare subject with the configured organization.
+     */
+    private static String qualify(String subject, String organization, String line) {
+        if (subject.indexOf('/') >= 0) {
+            return subject;
+        }
+        if (organization == null) {
+            throw new ConfigurationException("Casdoor authorization policy subjects must be written as organization/name"
+                    + " unless quarkus.casdoor.organization-name is set: " + line);
+        }
+        return organization + "/" + subject;
+    }
+
+    /**
+     * Inverts the automaton, listing for each object the states whose paths it matches.
+     */
+    private static int[][] statesByObject(CasdoorPathMatcher objects) {
+        List<List<Integer>> states = new ArrayList<>();
+        for (int object = 0; object < objects.size(); object++) {
+            states.add(new ArrayList<>());
+        }
+        for (int state = 0; state < objects.states(); state++) {
+            for (int object : objects.rules(state)) {
+                states.get(object).add(state);
+            }
+        }
+        int[][] result = new int[states.size()][];
+        for (int object = 0; object < result.length; object++) {
+            result[object] = states.get(object).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return result;
+    }
+
+    /**
+     * Turns the (object, action) bits of each subject into the subjects of each (state, action) pair.
+     */
+    private BitSet[] index(Map<String, BitSet> folded, int[][] statesByObject) {
+        BitSet[] index = new BitSet[objects.states() * ACTIONS.length];
+        for (Map.Entry<String, BitSet> entry : folded.entrySet()) {
+            int subject = subject(entry.getKey());
+            BitSet bits = entry.getValue();
+            for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+                for (int state : statesByObject[bit / ACTIONS.length]) {
+                    int slot = state * ACTIONS.length + bit % ACTIONS.length;
+                    if (index[slot] == null) {
+                        index[slot] = new BitSet();
+                    }
+                    index[slot].set(subject);
+                }
+            }
+        }
+        return index;
+    }
+
+    private int subject(String qualified) {
+        int slash = qualified.indexOf('/');
+        return subjects.computeIfAbsent(qualified.substring(0, slash), ignored -> new HashMap<>())
+                .computeIfAbsent(qualified.substring(slash + 1), ignored -> subjectCount++);
+    }
+
+    /**
+     * Merges the bits of every role a subject inherits, directly or transitively, into the subject's bits.
+     */
+    private static Map<String, BitSet> fold(Map<String, BitSet> direct, Map<String, Set<String>> inherits) {
+        Set<String> subjects = new HashSet<>(direct.keySet());
+        subjects.addAll(inherits.keySet());
+
+        Map<String, BitSet> folded = new HashMap<>();
+        for (String subject : subjects) {
+            BitSet bits = new BitSet();
+            Set<String> visited = new HashSet<>();
+            List<String> pending = new ArrayList<>(List.of(subject));
+            while (!pending.isEmpty()) {
+                String current = pending.remove(pending.size() - 1);
+                if (!visited.add(current)) {
+                    continue;
+                }
+                BitSet own = direct.get(current);
+                if (own != null) {
+                    bits.or(own);
+                }
+                pending.addAll(inherits.getOrDefault(current, Set.of()));
+            }
+            if (!bits.isEmpty()) {
+                folded.put(subject, bits);
+            }
+        }
+        return folded;
+    }
+
+    /**
+     * Maps a policy action to HTTP methods. Besides HTTP method names, the Casdoor permission actions
+     * `Read` (safe methods), `Write` (unsafe methods) and `Admin` or `*` (all methods) are accepted.
+     */
+    private static int[] actionIndexes(String action) {
+        if ("*".equals(action) || "admin".equalsIgnoreCase(action)) {
+            return range(0, ACTIONS.length);
+        }
+        if ("read".equalsIgnoreCase(action)) {
+            return range(0, READ_ACTIONS);
+        }
+        if ("write".equalsIgnoreCase(action)) {
+            return range(READ_ACTIONS, ACTIONS.length);
+        }
+        int index = actionIndex(action);
+        if (index < 0) {
+            throw new ConfigurationException("Unknown Casdoor authorization action: " + action);
+        }
+        return new int[] { index };
+    }
+
+    private static int actionIndex(String method) {
+        for (int i = 0; i < ACTIONS.length; i++) {
+            if (ACTIONS[i].equalsIgnoreCase(method)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] range(int from, int to) {
+        int[] indexes = new int[to - from];
+        for (int i = from; i < to; i++) {
+            indexes[i - from] = i;
+        }
+        return indexes;
+    }
+}
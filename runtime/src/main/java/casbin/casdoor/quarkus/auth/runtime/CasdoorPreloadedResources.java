@@ -0,0 +1,86 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resources prepared during static initialization by {@link CasdoorRecorder#preload}: classpath certificates,
+ * already parsed, classpath policy files, and the public path matcher compiled for the public paths configured
+ * at build time. In a native image, static initialization runs while the image is built, so none of this work
+ * is left for startup. Each resource is only used while the runtime configuration still refers to it;
+ * otherwise it is read and prepared again at runtime.
+ */
+final class CasdoorPreloadedResources {
+
+    private static volatile Map<String, CasdoorKeyMaterial> certificates = Collections.emptyMap();
+    private static volatile Map<String, List<String>> policyFiles = Collections.emptyMap();
+    private static volatile List<String> publicPathPatterns;
+    private static volatile CasdoorPathMatcher publicPaths;
+
+    private CasdoorPreloadedResources() {
+    }
+
+    static void preload(Map<String, String> certificateResources, Map<String, List<String>> policyFileResources,
+            List<String> publicPathPatterns) {
+        Map<String, CasdoorKeyMaterial> parsed = new HashMap<>();
+        for (Map.Entry<String, String> certificate : certificateResources.entrySet()) {
+            try {
+                parsed.put(certificate.getKey(), CasdoorKeyMaterial.fromPem(certificate.getValue()));
+            } catch (ConfigurationException e) {
+                // read again at runtime, where an invalid certificate is reported
+            }
+        }
+        CasdoorPreloadedResources.certificates = parsed;
+        CasdoorPreloadedResources.policyFiles = new HashMap<>(policyFileResources);
+        if (publicPathPatterns != null) {
+            CasdoorPreloadedResources.publicPaths = CasdoorPathMatcher.compile(publicPathPatterns);
+            CasdoorPreloadedResources.publicPathPatterns = publicPathPatterns;
+        }
+    }
+
+    /**
+     * @param certificateConfig the certificate configuration value
+     * @return the key material of the certificate, or null if it was not preloaded
+     */
+    static CasdoorKeyMaterial certificate(String certificateConfig) {
+        return certificates.get(certificateConfig);
+    }
+
+    /**
+     * @param location the policy file location
+     * @return the policy lines, or null if the file was not preloaded
+     */
+    static List<String> policyFile(String location) {
+        return policyFiles.get(location);
+    }
+
+    /**
+     * @param patterns the public paths of the runtime configuration
+     * @return the compiled matcher, preloaded if the patterns did not change since the application was built
+     */
+    static CasdoorPathMatcher publicPaths(List<String> patterns) {
+        CasdoorPathMatcher preloaded = publicPaths;
+        if (preloaded != null && patterns.equals(publicPathPatterns)) {
+            return preloaded;
+        }
+        return CasdoorPathMatcher.compile(patterns);
+    }
+}
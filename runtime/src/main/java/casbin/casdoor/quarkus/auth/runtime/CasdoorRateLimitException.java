@@ -0,0 +1,38 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fails the authorization of a request that exceeds the rate limit of its user or client.
+ * The request is answered with `429 Too Many Requests`. No stack trace is captured.
+ */
+public class CasdoorRateLimitException extends RuntimeException {
+
+    private final long retryAfterNanos;
+
+    public CasdoorRateLimitException(long retryAfterNanos) {
+        super("Casdoor rate limit exceeded", null, false, false);
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    /**
+     * @return how long the client should wait before sending the request again, in whole seconds
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
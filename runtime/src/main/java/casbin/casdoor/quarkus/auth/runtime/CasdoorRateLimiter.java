@@ -0,0 +1,144 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.Router;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Limits the request rate of each Casdoor user or client application.
+ * Each key has a token bucket, implemented as the generic cell rate algorithm: a single
+ * {@link AtomicLong} holds the time at which the bucket is full again, and a request is a
+ * compare-and-set on it, so checking the limit takes no lock and allocates nothing.
+ * Buckets of idle keys are evicted, which bounds memory to the active users or clients.
+ */
+@Singleton
+public class CasdoorRateLimiter {
+
+    private static final Function<String, Bucket> NEW_BUCKET = key -> new Bucket();
+
+    private final Cache<String, Bucket> buckets;
+    private final CasdoorConfig.RateLimitKey key;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    public CasdoorRateLimiter(CasdoorConfig config) {
+        CasdoorConfig.RateLimit rateLimit = config.rateLimit();
+        this.key = rateLimit.key();
+        if (!rateLimit.enabled()) {
+            this.intervalNanos = 0;
+            this.toleranceNanos = 0;
+            this.buckets = null;
+            return;
+        }
+        int burst = rateLimit.burst().orElse(rateLimit.limit());
+        if (rateLimit.limit() < 1 || burst < 1) {
+            throw new ConfigurationException(
+                    "quarkus.casdoor.rate-limit.limit and quarkus.casdoor.rate-limit.burst must be at least 1");
+        }
+        if (rateLimit.period().isNegative() || rateLimit.period().isZero()) {
+            throw new ConfigurationException("quarkus.casdoor.rate-limit.period must be positive");
+        }
+        this.intervalNanos = Math.max(1, rateLimit.period().toNanos() / rateLimit.limit());
+        this.toleranceNanos = intervalNanos * burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(rateLimit.maximumSize())
+                .expireAfterAccess(rateLimit.idleTimeout())
+                .build();
+    }
+
+    /**
+     * @return true if requests are rate limited
+     */
+    public boolean isEnabled() {
+        return buckets != null;
+    }
+
+    /**
+     * Counts a request of the user or client of the token against its limit.
+     *
+     * @param token the verified token of the request
+     * @return 0 if the request is allowed, otherwise how long to wait before it would be, in nanoseconds
+     */
+    public long tryAcquire(VerifiedToken token) {
+        if (buckets == null) {
+            return 0;
+        }
+        String id = key(token);
+        if (id == null) {
+            return 0;
+        }
+        return buckets.get(id, NEW_BUCKET).tryAcquire(intervalNanos, toleranceNanos);
+    }
+
+    /**
+     * Answers requests failed by {@link CasdoorRateLimitException} with `429 Too Many Requests`.
+     */
+    void registerFailureHandler(@Observes Router router) {
+        if (buckets == null) {
+            return;
+        }
+        router.route().order(Integer.MIN_VALUE).failureHandler(context -> {
+            if (!(context.failure() instanceof CasdoorRateLimitException) || context.response().ended()) {
+                context.next();
+                return;
+            }
+            CasdoorRateLimitException failure = (CasdoorRateLimitException) context.failure();
+            context.response()
+                    .setStatusCode(429)
+                    .putHeader(HttpHeaders.RETRY_AFTER, Long.toString(failure.retryAfterSeconds()))
+                    .end();
+        });
+    }
+
+    private String key(VerifiedToken token) {
+        if (key == CasdoorConfig.RateLimitKey.CLIENT) {
+            return token.clientId();
+        }
+        String owner = token.user().owner;
+        return owner == null ? token.user().name : owner + '/' + token.user().name;
+    }
+
+    private static final class Bucket {
+
+        /**
+         * The theoretical arrival time: when the bucket would be full again if no other request came.
+         */
+        private final AtomicLong fullAt = new AtomicLong(System.nanoTime());
+
+        long tryAcquire(long intervalNanos, long toleranceNanos) {
+            long now = System.nanoTime();
+            while (true) {
+                long current = fullAt.get();
+                long next = (current - now > 0 ? current : now) + intervalNanos;
+                long excess = next - now - toleranceNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
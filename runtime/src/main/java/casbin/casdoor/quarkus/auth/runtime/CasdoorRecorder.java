@@ -0,0 +1,49 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.annotations.Recorder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Recorder
+public class CasdoorRecorder {
+
+    /**
+     * Creates the route table from the routes discovered at build time.
+     *
+     * @param routes the route definitions
+     * @return a supplier of the route table
+     */
+    public Supplier<CasdoorRouteTable> routeTable(List<CasdoorRouteDefinition> routes) {
+        CasdoorRouteTable table = CasdoorRouteTable.build(routes);
+        return () -> table;
+    }
+
+    /**
+     * Parses the classpath certificates and compiles the public path matcher read at build time, so they are
+     * ready before the beans that use them are created.
+     *
+     * @param certificates the content of the classpath certificates, by certificate configuration value
+     * @param policyFiles the lines of the classpath policy files, by location
+     * @param publicPaths the public paths configured at build time, or null if unknown
+     */
+    public void preload(Map<String, String> certificates, Map<String, List<String>> policyFiles,
+            List<String> publicPaths) {
+        CasdoorPreloadedResources.preload(certificates, policyFiles, publicPaths);
+    }
+}
@@ -0,0 +1,89 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.inject.Singleton;
+
+/**
+ * Bounded cache of recently rejected tokens, keyed by the token digest.
+ * A token replayed during a burst of forged or stale tokens is denied again
+ * without verifying its signature.
+ */
+@Singleton
+public class CasdoorRejectedTokenCache {
+
+    private final Cache<String, CasdoorTokenException> cache;
+
+    public CasdoorRejectedTokenCache(CasdoorConfig config) {
+        CasdoorConfig.RejectedTokenCache cacheConfig = config.rejectedTokenCache();
+        if (!cacheConfig.enabled()) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.maximumSize())
+                .expireAfterWrite(cacheConfig.ttl())
+                .build();
+    }
+
+    /**
+     * @return true if rejected tokens are cached
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns why the token with the given digest was rejected.
+     *
+     * @param digest the token digest, see {@link CasdoorTokenUtil#digest(String)}
+     * @return the rejection, or null if the token was not rejected recently
+     */
+    public CasdoorTokenException get(String digest) {
+        return cache == null ? null : cache.getIfPresent(digest);
+    }
+
+    /**
+     * Remembers a rejection. Rejections that may not hold on the next attempt, because the key
+     * may be published later or the token may become valid, are not cached.
+     *
+     * @param digest the token digest, see {@link CasdoorTokenUtil#digest(String)}
+     * @param rejection why the token was rejected
+     */
+    public void put(String digest, CasdoorTokenException rejection) {
+        if (cache == null) {
+            return;
+        }
+        switch (rejection.reason()) {
+            case UNKNOWN_KEY:
+            case NOT_YET_VALID:
+                return;
+            default:
+                cache.put(digest, rejection);
+        }
+    }
+
+    /**
+     * Forgets all rejections, so tokens are verified again against new key material.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+}
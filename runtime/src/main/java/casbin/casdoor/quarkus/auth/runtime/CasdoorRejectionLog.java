@@ -0,0 +1,85 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs rejected tokens, at most once per interval for each rejection reason.
+ * Suppressed rejections are only counted, and reported with the next line logged for their reason,
+ * so a burst of invalid tokens neither floods the log nor pays for formatting messages.
+ */
+final class CasdoorRejectionLog {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorHttpSecurityPolicy.class);
+
+    private final long intervalNanos;
+    private final Window[] windows;
+    private final Window unexpected = new Window();
+
+    CasdoorRejectionLog(CasdoorConfig config) {
+        this.intervalNanos = config.log().rejectionInterval().toNanos();
+        this.windows = new Window[CasdoorTokenException.Reason.values().length];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = new Window();
+        }
+    }
+
+    /**
+     * Reports a failed token verification.
+     *
+     * @param failure the verification failure
+     */
+    void rejected(Throwable failure) {
+        if (failure instanceof CasdoorTokenException) {
+            if (!LOG.isEnabled(Logger.Level.WARN)) {
+                return;
+            }
+            CasdoorTokenException rejection = (CasdoorTokenException) failure;
+            long suppressed = windows[rejection.reason().ordinal()].acquire(intervalNanos);
+            if (suppressed >= 0) {
+                LOG.warnf("Rejected Casdoor token: reason=%s, message=%s, suppressed=%d",
+                        rejection.reason(), rejection.getMessage(), suppressed);
+            }
+        } else {
+            long suppressed = unexpected.acquire(intervalNanos);
+            if (suppressed >= 0) {
+                LOG.errorf(failure, "Unexpected error during Casdoor authorization, suppressed=%d", suppressed);
+            }
+        }
+    }
+
+    private static final class Window {
+
+        private final AtomicLong next = new AtomicLong(System.nanoTime());
+        private final LongAdder suppressed = new LongAdder();
+
+        /**
+         * @return the number of events suppressed since the last line, or -1 if this event is suppressed
+         */
+        long acquire(long intervalNanos) {
+            long now = System.nanoTime();
+            long allowed = next.get();
+            if (now - allowed >= 0 && next.compareAndSet(allowed, now + intervalNanos)) {
+                return suppressed.sumThenReset();
+            }
+            suppressed.increment();
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a JAX-RS resource or Vert.x route to Casdoor users holding one of the given roles or permissions.
+ * The annotation is read at build time and compiled into the route table used by {@link CasdoorHttpSecurityPolicy}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface CasdoorRequires {
+
+    /**
+     * @return the Casdoor role names, the user must hold at least one of them
+     */
+    String[] roles() default {};
+
+    /**
+     * @return the Casdoor permission names, the user must hold at least one of them
+     */
+    String[] permissions() default {};
+}
@@ -0,0 +1,159 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Receives Casdoor webhook events and revokes the tokens they invalidate:
+ * `logout` revokes the tokens of the user who logged out, `delete-user` those of the deleted user,
+ * `update-user` those of a user who was forbidden or deleted, and `delete-token` the deleted token.
+ * Other events are ignored. Casdoor must send the configured secret in the `X-Casdoor-Webhook-Secret` header.
+ */
+@Singleton
+public class CasdoorRevocationWebhook {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorRevocationWebhook.class);
+
+    static final String SECRET_HEADER = "X-Casdoor-Webhook-Secret";
+
+    private static final long MAX_BODY_SIZE = 1024 * 1024;
+
+    private final CasdoorRevocations revocations;
+    private final String path;
+    private final byte[] secret;
+
+    public CasdoorRevocationWebhook(CasdoorRevocations revocations, CasdoorConfig config) {
+        this.revocations = revocations;
+        this.path = config.revocation().webhookPath();
+        this.secret = config.revocation().webhookSecret()
+                .map(value -> value.getBytes(StandardCharsets.UTF_8))
+                .orElse(null);
+    }
+
+    void registerRoute(@Observes Router router) {
+        if (!revocations.isEnabled() || secret == null) {
+            return;
+        }
+        router.post(path)
+                .handler(BodyHandler.create().setBodyLimit(MAX_BODY_SIZE))
+                .handler(this::handle);
+    }
+
+    private void handle(RoutingContext context) {
+        String provided = context.request().getHeader(SECRET_HEADER);
+        if (provided == null || !MessageDigest.isEqual(secret, provided.getBytes(StandardCharsets.UTF_8))) {
+            context.response().setStatusCode(401).end();
+            return;
+        }
+        JsonObject record;
+        try {
+            record = context.body().asJsonObject();
+        } catch (DecodeException | ClassCastException e) {
+            record = null;
+        }
+        if (record == null) {
+            context.response().setStatusCode(400).end();
+            return;
+        }
+        apply(record);
+        context.response().setStatusCode(204).end();
+    }
+
+    /**
+     * Applies a Casdoor record, as sent by a webhook.
+     *
+     * @param record the record
+     */
+    void apply(JsonObject record) {
+        String action = string(record, "action");
+        if (action == null) {
+            return;
+        }
+        switch (action) {
+            case "logout":
+                revokeUser(string(record, "organization"), string(record, "user"), action);
+                break;
+            case "delete-user": {
+                JsonObject user = object(record);
+                if (user != null) {
+                    revokeUser(string(user, "owner"), string(user, "name"), action);
+                }
+                break;
+            }
+            case "update-user": {
+                JsonObject user = object(record);
+                if (user != null && (Boolean.TRUE.equals(user.getValue("isForbidden"))
+                        || Boolean.TRUE.equals(user.getValue("isDeleted")))) {
+                    revokeUser(string(user, "owner"), string(user, "name"), action);
+                }
+                break;
+            }
+            case "delete-token": {
+                JsonObject token = object(record);
+                String accessToken = token == null ? null : string(token, "accessToken");
+                // the token is not verified: the claims only name what to revoke, and revoking never grants access
+                CasdoorClaims claims = accessToken == null ? null : CasdoorTokenUtil.decodeClaims(accessToken);
+                if (claims != null && claims.tokenId() != null) {
+                    LOG.debugf("Revoking token %s after a %s event", claims.tokenId(), action);
+                    revocations.revokeToken(claims.tokenId(), claims.expiresAt());
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private void revokeUser(String owner, String name, String action) {
+        if (owner != null && name != null) {
+            LOG.debugf("Revoking the tokens of %s/%s after a %s event", owner, name, action);
+            revocations.revokeUser(owner, name);
+        }
+    }
+
+    /**
+     * Reads the object a record is about. Casdoor sends it as a JSON document inside a string.
+     */
+    private static JsonObject object(JsonObject record) {
+        Object value = record.getValue("object");
+        if (value instanceof JsonObject) {
+            return (JsonObject) value;
+        }
+        if (value instanceof String) {
+            try {
+                return new JsonObject((String) value);
+            } catch (DecodeException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String string(JsonObject json, String field) {
+        Object value = json.getValue(field);
+        return value instanceof String && !((String) value).isEmpty() ? (String) value : null;
+    }
+}
@@ -0,0 +1,286 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.ext.web.Router;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+import org.casbin.casdoor.entity.User;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens and users revoked before their tokens expire, for example because the user logged out or was
+ * disabled in Casdoor. Revoked token ids (`jti`) are kept in a Bloom filter in front of an exact set, so
+ * looking up a token that is not revoked, the common case, reads a few bits whatever the number of revocations.
+ * A revoked user invalidates every token issued to them up to the revocation. Revoked token ids are forgotten
+ * once their token has expired, revoked users after `quarkus.casdoor.revocation.user-retention`.
+ * Revocations are announced to the other replicas through the {@link CasdoorSharedTokenCache}.
+ */
+@Singleton
+public class CasdoorRevocations {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorRevocations.class);
+
+    private static final String REVOKE_TOKEN = "revoke-token";
+    private static final String REVOKE_USER = "revoke-user";
+
+    private final CasdoorSharedTokens sharedTokens;
+    private final CasdoorClient client;
+    private final Vertx vertx;
+    private final CasdoorConfig.Revocation config;
+    private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> users = new ConcurrentHashMap<>();
+    private final long userRetentionSeconds;
+
+    private volatile CasdoorBloomFilter filter;
+    // replaced by each poll, whose replies may complete on different threads
+    private volatile Set<String> disabledUsers = Collections.emptySet();
+    private long cleanupTimerId = -1;
+    private long pollTimerId = -1;
+
+    public CasdoorRevocations(CasdoorSharedTokens sharedTokens, CasdoorClient client, Vertx vertx,
+            CasdoorConfig config) {
+        this.sharedTokens = sharedTokens;
+        this.client = client;
+        this.vertx = vertx;
+        this.config = config.revocation();
+        this.userRetentionSeconds = this.config.userRetention().toSeconds();
+        this.filter = new CasdoorBloomFilter(this.config.expectedRevocations(),
+                this.config.falsePositiveProbability());
+        if (this.config.enabled()) {
+            sharedTokens.onMessage(REVOKE_TOKEN, this::revokedToken);
+            sharedTokens.onMessage(REVOKE_USER, this::revokedUser);
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        cleanupTimerId = vertx.setPeriodic(config.cleanupInterval().toMillis(), ignored -> cleanup());
+        Optional<Duration> pollInterval = config.pollInterval();
+        if (pollInterval.isPresent()) {
+            poll();
+            pollTimerId = vertx.setPeriodic(pollInterval.get().toMillis(), ignored -> poll());
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (cleanupTimerId >= 0) {
+            vertx.cancelTimer(cleanupTimerId);
+        }
+        if (pollTimerId >= 0) {
+            vertx.cancelTimer(pollTimerId);
+        }
+    }
+
+    /**
+     * Answers requests failed by {@link CasdoorRevokedTokenException} with `401 Unauthorized`.
+     */
+    void registerFailureHandler(@Observes Router router) {
+        if (!isEnabled()) {
+            return;
+        }
+        router.route().order(Integer.MIN_VALUE).failureHandler(context -> {
+            if (!(context.failure() instanceof CasdoorRevokedTokenException) || context.response().ended()) {
+                context.next();
+                return;
+            }
+            context.response()
+                    .setStatusCode(401)
+                    .putHeader("WWW-Authenticate", "Bearer error=\"invalid_token\"")
+                    .end();
+        });
+    }
+
+    /**
+     * @return true if revoked tokens and users are rejected
+     */
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    /**
+     * @param token a verified token
+     * @return true if the token or every token of its user issued up to the token's `iat` was revoked
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        String tokenId = token.tokenId();
+        if (tokenId != null && !tokens.isEmpty() && filter.mightContain(tokenId) && tokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (users.isEmpty()) {
+            return false;
+        }
+        Long revokedAt = users.get(userKey(token.user().owner, token.user().name));
+        return revokedAt != null && token.issuedAt() <= revokedAt;
+    }
+
+    /**
+     * Revokes a token on every replica.
+     *
+     * @param tokenId the `jti` claim of the token
+     * @param expiresAt the `exp` claim of the token in epoch seconds, or 0 if it does not expire
+     */
+    public void revokeToken(String tokenId, long expiresAt) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (expiresAt <= 0) {
+            expiresAt = now() + userRetentionSeconds;
+        }
+        addToken(tokenId, expiresAt);
+        announce(REVOKE_TOKEN, expiresAt + " " + tokenId);
+    }
+
+    /**
+     * Revokes every token issued to a user until now, on every replica.
+     * Tokens issued to the user afterwards are accepted.
+     *
+     * @param owner the organization of the user
+     * @param name the name of the user
+     */
+    public void revokeUser(String owner, String name) {
+        if (!isEnabled()) {
+            return;
+        }
+        long revokedAt = now();
+        String user = userKey(owner, name);
+        addUser(user, revokedAt);
+        announce(REVOKE_USER, revokedAt + " " + user);
+    }
+
+    private void revokedToken(String payload) {
+        long expiresAt = timestamp(payload);
+        if (expiresAt > 0) {
+            addToken(payload.substring(payload.indexOf(' ') + 1), expiresAt);
+        }
+    }
+
+    private void revokedUser(String payload) {
+        long revokedAt = timestamp(payload);
+        if (revokedAt > 0) {
+            addUser(payload.substring(payload.indexOf(' ') + 1), revokedAt);
+        }
+    }
+
+    /**
+     * @param payload a revocation announced by a replica, a timestamp followed by a space and the revoked id
+     * @return the timestamp, or 0 if the payload is malformed or null because announcements were missed
+     */
+    private static long timestamp(String payload) {
+        int space = payload == null ? -1 : payload.indexOf(' ');
+        if (space <= 0) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(payload.substring(0, space));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void announce(String type, String payload) {
+        sharedTokens.announce(type, payload).subscribe().with(ignored -> {
+        }, failure -> LOG.warnf("Failed to announce a revocation to the other replicas: %s", failure.getMessage()));
+    }
+
+    private synchronized void addToken(String tokenId, long expiresAt) {
+        if (tokens.put(tokenId, expiresAt) != null) {
+            return;
+        }
+        if (tokens.size() > filter.capacity()) {
+            rebuild();
+        } else {
+            filter.add(tokenId);
+        }
+    }
+
+    private void addUser(String user, long revokedAt) {
+        users.merge(user, revokedAt, Math::max);
+    }
+
+    /**
+     * Forgets expired revocations, and rebuilds the filter without the expired token ids.
+     */
+    synchronized void cleanup() {
+        long now = now();
+        users.values().removeIf(revokedAt -> now - revokedAt >= userRetentionSeconds);
+        if (tokens.values().removeIf(expiresAt -> expiresAt <= now)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the filter with one sized for the current revocations. Callers hold the lock, so no token
+     * is added to the old filter while the new one is filled.
+     */
+    private void rebuild() {
+        CasdoorBloomFilter rebuilt = new CasdoorBloomFilter(Math.max(config.expectedRevocations(), tokens.size() * 2),
+                config.falsePositiveProbability());
+        for (String tokenId : tokens.keySet()) {
+            rebuilt.add(tokenId);
+        }
+        filter = rebuilt;
+    }
+
+    /**
+     * Revokes every token of the users of the organization that are forbidden or deleted in Casdoor, until they
+     * are enabled again. Tokens issued before a user was enabled again stay revoked. Every replica polls, so these
+     * revocations are not announced.
+     */
+    private void poll() {
+        client.getUsers().subscribe().with(this::revokeDisabled,
+                failure -> LOG.warnf("Failed to poll Casdoor users for revocations: %s", failure.getMessage()));
+    }
+
+    private void revokeDisabled(List<User> polled) {
+        Set<String> disabled = new HashSet<>();
+        for (User user : polled) {
+            if (user.isForbidden || user.isDeleted) {
+                String key = userKey(user.owner, user.name);
+                disabled.add(key);
+                users.put(key, Long.MAX_VALUE);
+            }
+        }
+        long now = now();
+        for (String user : disabledUsers) {
+            if (!disabled.contains(user)) {
+                users.replace(user, Long.MAX_VALUE, now);
+            }
+        }
+        disabledUsers = disabled;
+    }
+
+    private static String userKey(String owner, String name) {
+        return owner + '/' + name;
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A route discovered at build time, together with its Casdoor authorization requirements.
+ */
+public class CasdoorRouteDefinition {
+
+    private String path;
+    private String method;
+    private boolean permitAll;
+    private List<String> roles = new ArrayList<>();
+    private List<String> permissions = new ArrayList<>();
+
+    /**
+     * @return the route path, path parameters are written as `{name}`
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /**
+     * @return the HTTP method, or null if the route accepts any method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    /**
+     * @return true if anonymous users may access the route
+     */
+    public boolean isPermitAll() {
+        return permitAll;
+    }
+
+    public void setPermitAll(boolean permitAll) {
+        this.permitAll = permitAll;
+    }
+
+    /**
+     * @return the accepted Casdoor role names
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(List<String> roles) {
+        this.roles = roles;
+    }
+
+    /**
+     * @return the accepted Casdoor permission names
+     */
+    public List<String> getPermissions() {
+        return permissions;
+    }
+
+    public void setPermissions(List<String> permissions) {
+        this.permissions = permissions;
+    }
+}
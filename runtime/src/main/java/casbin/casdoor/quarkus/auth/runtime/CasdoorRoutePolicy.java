@@ -0,0 +1,63 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import java.util.Set;
+
+/**
+ * The authorization requirements of a route.
+ */
+public final class CasdoorRoutePolicy {
+
+    private final boolean permitAll;
+    private final Set<String> roles;
+    private final Set<String> permissions;
+
+    CasdoorRoutePolicy(boolean permitAll, Set<String> roles, Set<String> permissions) {
+        this.permitAll = permitAll;
+        this.roles = roles;
+        this.permissions = permissions;
+    }
+
+    /**
+     * @return true if anonymous users may access the route
+     */
+    public boolean isPermitAll() {
+        return permitAll;
+    }
+
+    /**
+     * Checks whether the user of a verified token may access the route.
+     * A route requiring roles or permissions accepts users holding at least one of them.
+     *
+     * @param token the verified token
+     * @return true if access is granted
+     */
+    public boolean permits(VerifiedToken token) {
+        if (permitAll || (roles.isEmpty() && permissions.isEmpty())) {
+            return true;
+        }
+        return intersects(roles, token.roles()) || intersects(permissions, token.permissions());
+    }
+
+    private static boolean intersects(Set<String> required, Set<String> held) {
+        for (String name : held) {
+            if (required.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
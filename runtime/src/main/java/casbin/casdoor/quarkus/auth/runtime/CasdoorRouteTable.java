@@ -0,0 +1,379 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable route to policy lookup table, generated at build time from the application's routes.
+ * Literal paths are resolved with a single hash lookup. Templates whose parameters each take a whole path segment
+ * are compiled into a segment trie, with one hash lookup per segment and a single parameter child per node, so
+ * resolving a path never backtracks and never runs a regular expression. When several templates match a path,
+ * the most specific one, with the most literal segments, then the longest literal text, decides; this is resolved
+ * while the trie is built, by giving each literal child the templates of the parameter child as well.
+ * Templates with a parameter expression, such as `{id: \d+}`, or a parameter sharing its segment with literal
+ * text are matched with an anchored regular expression, and only when they are more specific than the trie's match.
+ * Routes without an authorization annotation are recorded as unrestricted, so the policy of a less specific
+ * route never applies to them.
+ */
+public final class CasdoorRouteTable {
+
+    private static final String[] METHODS = { "GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS" };
+    private static final int ANY = METHODS.length;
+
+    private final Map<String, CasdoorRoutePolicy[]> literalRoutes;
+    private final Node root;
+    private final Template[] expressionTemplates;
+    private final boolean empty;
+
+    private CasdoorRouteTable(Map<String, CasdoorRoutePolicy[]> literalRoutes, Node root,
+            Template[] expressionTemplates, boolean empty) {
+        this.literalRoutes = literalRoutes;
+        this.root = root;
+        this.expressionTemplates = expressionTemplates;
+        this.empty = empty;
+    }
+
+    /**
+     * Builds the lookup table.
+     *
+     * @param routes the route definitions
+     * @return the route table
+     * @throws IllegalArgumentException if a route template is malformed
+     */
+    public static CasdoorRouteTable build(List<CasdoorRouteDefinition> routes) {
+        Map<String, CasdoorRoutePolicy[]> literalRoutes = new HashMap<>();
+        Map<String, CasdoorRoutePolicy[]> templateRoutes = new LinkedHashMap<>();
+        boolean empty = true;
+
+        for (CasdoorRouteDefinition route : routes) {
+            String path = normalize(route.getPath());
+            Map<String, CasdoorRoutePolicy[]> target = path.indexOf('{') >= 0 ? templateRoutes : literalRoutes;
+            CasdoorRoutePolicy[] policies = target.computeIfAbsent(path, ignored -> new CasdoorRoutePolicy[ANY + 1]);
+            policies[methodIndex(route.getMethod())] = new CasdoorRoutePolicy(route.isPermitAll(),
+                    Set.copyOf(route.getRoles()), Set.copyOf(route.getPermissions()));
+            empty &= !route.isPermitAll() && route.getRoles().isEmpty() && route.getPermissions().isEmpty();
+        }
+
+        List<Template> templates = new ArrayList<>();
+        templateRoutes.forEach((path, policies) -> templates.add(Template.parse(path, policies)));
+        // stable, so equally specific templates keep their declaration order
+        templates.sort(Comparator.comparingInt((Template template) -> -template.literalSegments)
+                .thenComparingInt(template -> -template.literalLength));
+
+        List<Template> expressionTemplates = new ArrayList<>();
+        long[] states = new long[templates.size()];
+        int count = 0;
+        for (int rank = 0; rank < templates.size(); rank++) {
+            Template template = templates.get(rank);
+            template.rank = rank;
+            if (template.segments == null) {
+                expressionTemplates.add(template);
+            } else {
+                states[count++] = state(rank, 0);
+            }
+        }
+        Node root = Node.compile(Arrays.copyOf(states, count), templates, new HashMap<>());
+        return new CasdoorRouteTable(literalRoutes, root, expressionTemplates.toArray(new Template[0]), empty);
+    }
+
+    /**
+     * @return true if no route carries a policy
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Finds the policy of a request.
+     *
+     * @param method the HTTP method
+     * @param path the normalized request path
+     * @return the route policy, or null if the route has no policy
+     */
+    public CasdoorRoutePolicy lookup(String method, String path) {
+        if (path == null) {
+            return null;
+        }
+        String key = normalize(path);
+        int index = methodIndex(method);
+
+        CasdoorRoutePolicy policy = select(literalRoutes.get(key), index);
+        if (policy != null) {
+            return policy;
+        }
+
+        Node node = root;
+        int start = key.startsWith("/") ? 1 : 0;
+        while (node != null) {
+            int end = key.indexOf('/', start);
+            String segment = key.substring(start, end < 0 ? key.length() : end);
+            Node next = node.literals.get(segment);
+            // a parameter never matches an empty segment
+            node = next != null || segment.isEmpty() ? next : node.parameter;
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        int rank = Integer.MAX_VALUE;
+        if (node != null && node.policies[index] != null) {
+            policy = node.policies[index];
+            rank = node.ranks[index];
+        }
+
+        for (Template template : expressionTemplates) {
+            if (template.rank > rank) {
+                break;
+            }
+            if (key.startsWith(template.prefix) && template.pattern.matcher(key).matches()) {
+                CasdoorRoutePolicy matched = select(template.policies, index);
+                if (matched != null) {
+                    return matched;
+                }
+            }
+        }
+        return policy;
+    }
+
+    private static CasdoorRoutePolicy select(CasdoorRoutePolicy[] policies, int method) {
+        if (policies == null) {
+            return null;
+        }
+        return policies[method] != null ? policies[method] : policies[ANY];
+    }
+
+    private static int methodIndex(String method) {
+        if (method != null) {
+            for (int i = 0; i < METHODS.length; i++) {
+                if (METHODS[i].equalsIgnoreCase(method)) {
+                    return i;
+                }
+            }
+        }
+        return ANY;
+    }
+
+    private static String normalize(String path) {
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    /**
+     * @return a template and how many of its segments have been matched, ordered by template specificity
+     */
+    private static long state(int rank, int position) {
+        return (long) rank << 32 | position;
+    }
+
+    /**
+     * A node of the segment trie. Each node stands for the templates, and how far into each, that the path
+     * segments before it can have matched, and holds the policy of the most specific template ending there.
+     */
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+        private final CasdoorRoutePolicy[] policies = new CasdoorRoutePolicy[ANY + 1];
+        private final int[] ranks = new int[ANY + 1];
+        private Node parameter;
+
+        /**
+         * Builds the node of a set of states, sharing the nodes of equal sets.
+         *
+         * @param states the states, in ascending order
+         * @param templates the templates, by rank
+         * @param nodes the nodes built so far, by set of states
+         */
+        static Node compile(long[] states, List<Template> templates, Map<String, Node> nodes) {
+            String key = Arrays.toString(states);
+            Node node = nodes.get(key);
+            if (node != null) {
+                return node;
+            }
+            node = new Node();
+            nodes.put(key, node);
+
+            Set<String> literals = new LinkedHashSet<>();
+            boolean parameter = false;
+            for (long state : states) {
+                Template template = templates.get((int) (state >>> 32));
+                int position = (int) state;
+                if (position == template.segments.length) {
+                    for (int method = 0; method <= ANY; method++) {
+                        // states are ordered by specificity, so the first template ending here decides
+                        CasdoorRoutePolicy policy = select(template.policies, method);
+                        if (node.policies[method] == null && policy != null) {
+                            node.policies[method] = policy;
+                            node.ranks[method] = template.rank;
+                        }
+                    }
+                } else if (template.segments[position] != null) {
+                    literals.add(template.segments[position]);
+                } else {
+                    parameter = true;
+                }
+            }
+            for (String literal : literals) {
+                node.literals.put(literal, compile(advance(states, templates, literal), templates, nodes));
+            }
+            if (parameter) {
+                node.parameter = compile(advance(states, templates, null), templates, nodes);
+            }
+            return node;
+        }
+
+        /**
+         * @param literal the next path segment, or null for a segment no literal child matches
+         * @return the states reached by matching the next path segment
+         */
+        private static long[] advance(long[] states, List<Template> templates, String literal) {
+            long[] next = new long[states.length];
+            int count = 0;
+            for (long state : states) {
+                Template template = templates.get((int) (state >>> 32));
+                int position = (int) state;
+                if (position < template.segments.length
+                        && (template.segments[position] == null || template.segments[position].equals(literal))) {
+                    next[count++] = state + 1;
+                }
+            }
+            return Arrays.copyOf(next, count);
+        }
+    }
+
+    /**
+     * A route template, split into segments for the trie, or compiled into an anchored regular expression.
+     */
+    private static final class Template {
+
+        private static final String SEGMENT = "[^/]+";
+
+        private final String[] segments;
+        private final Pattern pattern;
+        private final String prefix;
+        private final int literalSegments;
+        private final int literalLength;
+        private final CasdoorRoutePolicy[] policies;
+        private int rank;
+
+        private Template(String[] segments, Pattern pattern, String prefix, int literalSegments, int literalLength,
+                CasdoorRoutePolicy[] policies) {
+            this.segments = segments;
+            this.pattern = pattern;
+            this.prefix = prefix;
+            this.literalSegments = literalSegments;
+            this.literalLength = literalLength;
+            this.policies = policies;
+        }
+
+        /**
+         * Parses a template such as `/items/{id}/parts/{part: [a-z]+}`. Parameter expressions may contain
+         * braces, as in `{id: \d{3}}`, so braces are balanced rather than matched with a regular expression.
+         */
+        static Template parse(String path, CasdoorRoutePolicy[] policies) {
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            String prefix = null;
+            int literalSegments = 0;
+            int literalLength = 0;
+            boolean segmentHasParameter = false;
+            // whether every parameter takes a whole segment and matches any segment, as the trie requires
+            boolean segmentParameters = true;
+            int segmentStart = path.startsWith("/") ? 1 : 0;
+
+            int i = 0;
+            while (i < path.length()) {
+                char c = path.charAt(i);
+                if (c == '{') {
+                    int end = closingBrace(path, i);
+                    String parameter = path.substring(i + 1, end);
+                    int colon = parameter.indexOf(':');
+                    String expression = colon < 0 ? SEGMENT : parameter.substring(colon + 1).trim();
+                    if (expression.isEmpty()) {
+                        expression = SEGMENT;
+                    }
+                    int next = end + 1;
+                    segmentParameters &= expression.equals(SEGMENT) && i == segmentStart
+                            && (next == path.length() || path.charAt(next) == '/');
+                    if (prefix == null) {
+                        prefix = literal.toString();
+                    }
+                    appendLiteral(regex, literal);
+                    regex.append("(?:").append(expression).append(')');
+                    segmentHasParameter = true;
+                    i = end + 1;
+                    continue;
+                }
+                if (c == '}') {
+                    throw new IllegalArgumentException("Unbalanced '}' in route template " + path);
+                }
+                if (c == '/') {
+                    if (i > 0 && !segmentHasParameter) {
+                        literalSegments++;
+                    }
+                    segmentHasParameter = false;
+                    segmentStart = i + 1;
+                } else {
+                    literalLength++;
+                }
+                literal.append(c);
+                i++;
+            }
+            if (!segmentHasParameter && path.length() > 1) {
+                literalSegments++;
+            }
+            appendLiteral(regex, literal);
+            String[] segments = null;
+            if (segmentParameters) {
+                segments = path.substring(path.startsWith("/") ? 1 : 0).split("/", -1);
+                for (int segment = 0; segment < segments.length; segment++) {
+                    if (segments[segment].startsWith("{")) {
+                        segments[segment] = null;
+                    }
+                }
+            }
+            return new Template(segments, Pattern.compile(regex.toString()), prefix == null ? path : prefix,
+                    literalSegments, literalLength, policies);
+        }
+
+        private static int closingBrace(String path, int open) {
+            int depth = 0;
+            for (int i = open; i < path.length(); i++) {
+                char c = path.charAt(i);
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}' && --depth == 0) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unbalanced '{' in route template " + path);
+        }
+
+        private static void appendLiteral(StringBuilder regex, StringBuilder literal) {
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,392 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.quarkus.oidc.AuthorizationCodeTokens;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The tokens of web-app sessions, kept on the server so they can be renewed before they expire instead of
+ * on the request that finds them expired. At each `quarkus.casdoor.session-refresh.interval`, up to `batch-size`
+ * sessions whose access token expires within `refresh-ahead`, plus a random jitter drawn for each session,
+ * are renewed with their refresh token, at most `max-concurrency` at a time. Sessions not used within
+ * `active-timeout` are left alone, and sessions not used within `session-timeout` are forgotten.
+ * <p>
+ * With a {@link CasdoorSharedTokenCache}, sessions are stored in it under the digest of their id, so they survive
+ * restarts and are found by every replica. Shared entries are encrypted with the {@link CasdoorSharedSecret}, so the
+ * refresh tokens they hold cannot be read from the cache. Each replica keeps the sessions it serves in a local cache,
+ * and renewed or deleted sessions are announced so the other replicas read them again. Without a shared cache, sessions only
+ * live in the memory of the replica that created them.
+ */
+@Singleton
+public class CasdoorSessions {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorSessions.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final String CHANGED = "session";
+    private static final String KEY_PREFIX = "session:";
+
+    private final CasdoorClient client;
+    private final CasdoorMetrics metrics;
+    private final Vertx vertx;
+    private final CasdoorSharedTokenCache sharedCache;
+    private final CasdoorSharedTokens sharedTokens;
+    private final CasdoorConfig.SessionRefresh config;
+    private final boolean shared;
+    private final Cache<String, Session> sessions;
+    private final String replicaId = randomId(16);
+    private final Duration sharedTimeout;
+    private final long refreshAheadMillis;
+    private final long jitterMillis;
+    private final long activeTimeoutMillis;
+    private final long touchIntervalMillis;
+    private long timerId = -1;
+
+    public CasdoorSessions(CasdoorClient client, CasdoorMetrics metrics, Vertx vertx,
+            CasdoorSharedTokenCache sharedCache, CasdoorSharedTokens sharedTokens, CasdoorConfig config) {
+        this.client = client;
+        this.metrics = metrics;
+        this.vertx = vertx;
+        this.sharedCache = sharedCache;
+        this.sharedTokens = sharedTokens;
+        this.config = config.sessionRefresh();
+        this.shared = sharedTokens.isEnabled();
+        this.sharedTimeout = config.sharedCache().timeout();
+        this.refreshAheadMillis = this.config.refreshAhead().toMillis();
+        this.jitterMillis = this.config.jitter().toMillis();
+        this.activeTimeoutMillis = this.config.activeTimeout().toMillis();
+        // the shared entry expires session-timeout after it was last written, so active sessions rewrite it
+        this.touchIntervalMillis = this.config.sessionTimeout().toMillis() / 10;
+        this.sessions = this.config.enabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(this.config.maximumSessions())
+                        .expireAfterAccess(this.config.sessionTimeout())
+                        .build()
+                : null;
+        if (isEnabled() && shared) {
+            sharedTokens.onMessage(CHANGED, this::changed);
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!shared || sharedCache instanceof InMemoryCasdoorSharedTokenCache) {
+            LOG.warn("Casdoor session tokens are only kept in the memory of this replica: users are logged out when "
+                    + "it restarts, and requests reaching another replica are not authenticated. Configure "
+                    + "quarkus.casdoor.shared-cache.type=redis before running several replicas or a load balancer "
+                    + "without sticky sessions.");
+        }
+        timerId = vertx.setPeriodic(config.interval().toMillis(), ignored -> refreshDue());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (timerId >= 0) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
+    /**
+     * @return true if session tokens are kept on the server and renewed in the background
+     */
+    public boolean isEnabled() {
+        return sessions != null;
+    }
+
+    /**
+     * Stores the tokens of a new session.
+     *
+     * @param tokens the tokens obtained from Casdoor
+     * @return a Uni containing the session id, a random value to be sent to the browser instead of the tokens,
+     *         once the session is stored
+     */
+    public Uni<String> create(AuthorizationCodeTokens tokens) {
+        String sessionId = randomId(32);
+        String digest = CasdoorTokenUtil.digest(sessionId);
+        Session session = new Session(tokens, refreshAt(tokens));
+        sessions.put(digest, session);
+        return store(digest, session).replaceWith(sessionId);
+    }
+
+    /**
+     * Gets the current tokens of a session, and marks the session as active.
+     *
+     * @param sessionId the session id
+     * @return a Uni containing the tokens, or null if the session is unknown
+     */
+    public Uni<AuthorizationCodeTokens> get(String sessionId) {
+        String digest = CasdoorTokenUtil.digest(sessionId);
+        Session session = sessions.getIfPresent(digest);
+        if (session != null) {
+            long now = System.currentTimeMillis();
+            session.lastAccess = now;
+            if (shared && now - session.storedAt > touchIntervalMillis) {
+                store(digest, session).subscribe().with(ignored -> {
+                });
+            }
+            return Uni.createFrom().item(session.tokens);
+        }
+        if (!shared) {
+            return Uni.createFrom().nullItem();
+        }
+        return load(digest).map(loaded -> {
+            if (loaded == null) {
+                return null;
+            }
+            Session current = sessions.asMap().putIfAbsent(digest, loaded);
+            return current == null ? loaded.tokens : current.tokens;
+        });
+    }
+
+    /**
+     * Forgets a session, on every replica.
+     *
+     * @param sessionId the session id
+     * @return a Uni completed once the session is forgotten
+     */
+    public Uni<Void> delete(String sessionId) {
+        String digest = CasdoorTokenUtil.digest(sessionId);
+        sessions.invalidate(digest);
+        if (!shared) {
+            return Uni.createFrom().voidItem();
+        }
+        return sharedCache.delete(KEY_PREFIX + digest)
+                .chain(() -> sharedTokens.announce(CHANGED, replicaId + ' ' + digest))
+                .onFailure().recoverWithUni(failure -> {
+                    LOG.warnf("Failed to delete a shared Casdoor session: %s", failure.getMessage());
+                    return Uni.createFrom().voidItem();
+                });
+    }
+
+    /**
+     * Renews the next batch of active sessions whose tokens are about to expire.
+     */
+    void refreshDue() {
+        long now = System.currentTimeMillis();
+        List<String> due = new ArrayList<>();
+        for (Map.Entry<String, Session> entry : sessions.asMap().entrySet()) {
+            Session session = entry.getValue();
+            if (!session.refreshing && session.refreshAt <= now && now - session.lastAccess <= activeTimeoutMillis
+                    && session.tokens.getRefreshToken() != null) {
+                session.refreshing = true;
+                due.add(entry.getKey());
+                if (due.size() == config.batchSize()) {
+                    break;
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        Multi.createFrom().iterable(due)
+                .onItem().transformToUni(this::refresh).merge(config.maxConcurrency())
+                .subscribe().with(ignored -> {
+                });
+    }
+
+    private Uni<Void> refresh(String digest) {
+        Session session = sessions.getIfPresent(digest);
+        if (session == null) {
+            return Uni.createFrom().voidItem();
+        }
+        long start = System.nanoTime();
+        AuthorizationCodeTokens current = session.tokens;
+        return client.refreshToken(current.getRefreshToken())
+                .onItemOrFailure().transformToUni((response, failure) -> {
+                    metrics.recordSessionRefresh(System.nanoTime() - start, failure == null);
+                    Uni<Void> stored = Uni.createFrom().voidItem();
+                    if (failure == null) {
+                        session.tokens = tokens(response, current);
+                        session.refreshAt = refreshAt(session.tokens);
+                        // the refresh token may have been rotated, the other replicas must not keep the old one
+                        stored = store(digest, session).chain(() -> shared
+                                ? sharedTokens.announce(CHANGED, replicaId + ' ' + digest)
+                                : Uni.createFrom().voidItem());
+                    } else if (failure instanceof CasdoorClientException
+                            && !(failure instanceof CasdoorUnavailableException)
+                            && !((CasdoorClientException) failure).isRetryable()) {
+                        // the refresh token was rejected, the next request will have to re-authenticate
+                        LOG.debugf("Casdoor rejected the refresh of a session: %s", failure.getMessage());
+                        session.refreshAt = Long.MAX_VALUE;
+                    } else {
+                        LOG.debugf(failure, "Failed to refresh a session, retrying at the next interval");
+                    }
+                    session.refreshing = false;
+                    return stored;
+                })
+                .onFailure().recoverWithNull();
+    }
+
+    /**
+     * Writes a session to the shared cache. The write waits at most the shared cache timeout, and a failed write
+     * only leaves the session local to this replica.
+     */
+    private Uni<Void> store(String digest, Session session) {
+        if (!shared) {
+            return Uni.createFrom().voidItem();
+        }
+        session.storedAt = System.currentTimeMillis();
+        String key = KEY_PREFIX + digest;
+        byte[] entry = sharedTokens.secret().encrypt(key, encode(session.tokens));
+        return sharedCache.put(key, entry, config.sessionTimeout())
+                .ifNoItem().after(sharedTimeout).fail()
+                .onFailure().recoverWithUni(failure -> {
+                    LOG.warnf("Failed to store a Casdoor session in the shared cache: %s", failure.getMessage());
+                    return Uni.createFrom().voidItem();
+                });
+    }
+
+    private Uni<Session> load(String digest) {
+        String key = KEY_PREFIX + digest;
+        return sharedCache.get(key)
+                .ifNoItem().after(sharedTimeout).fail()
+                .map(bytes -> {
+                    AuthorizationCodeTokens tokens = decode(sharedTokens.secret().decrypt(key, bytes));
+                    if (tokens == null) {
+                        return null;
+                    }
+                    Session session = new Session(tokens, refreshAt(tokens));
+                    session.storedAt = System.currentTimeMillis();
+                    return session;
+                })
+                .onFailure().recoverWithItem(failure -> {
+                    LOG.debugf("Shared session lookup failed: %s", failure);
+                    return null;
+                });
+    }
+
+    /**
+     * Drops the local copy of a session renewed or deleted by another replica, or every local copy when
+     * messages may have been missed. Sessions are read again from the shared cache on their next request.
+     */
+    private void changed(String payload) {
+        if (payload == null) {
+            sessions.invalidateAll();
+            return;
+        }
+        int space = payload.indexOf(' ');
+        if (space > 0 && !replicaId.equals(payload.substring(0, space))) {
+            sessions.invalidate(payload.substring(space + 1));
+        }
+    }
+
+    private static byte[] encode(AuthorizationCodeTokens tokens) {
+        Long expiresIn = tokens.getAccessTokenExpiresIn();
+        return new JsonObject()
+                .put("id_token", tokens.getIdToken())
+                .put("access_token", tokens.getAccessToken())
+                .put("refresh_token", tokens.getRefreshToken())
+                .put("expires_at", expiresIn == null ? null : System.currentTimeMillis() / 1000 + expiresIn)
+                .put("scope", tokens.getAccessTokenScope())
+                .encode()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static AuthorizationCodeTokens decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            JsonObject json = new JsonObject(new String(bytes, StandardCharsets.UTF_8));
+            Long expiresAt = json.getLong("expires_at");
+            return new AuthorizationCodeTokens(
+                    json.getString("id_token"),
+                    json.getString("access_token"),
+                    json.getString("refresh_token"),
+                    expiresAt == null ? null : Math.max(0, expiresAt - System.currentTimeMillis() / 1000),
+                    json.getString("scope"));
+        } catch (RuntimeException e) {
+            LOG.debugf("Ignoring an unreadable shared session: %s", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String randomId(int length) {
+        byte[] id = new byte[length];
+        RANDOM.nextBytes(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+    }
+
+    private static AuthorizationCodeTokens tokens(JsonObject response, AuthorizationCodeTokens current) {
+        Long expiresIn = response.getLong("expires_in");
+        return new AuthorizationCodeTokens(
+                response.getString("id_token", current.getIdToken()),
+                response.getString("access_token"),
+                response.getString("refresh_token", current.getRefreshToken()),
+                expiresIn,
+                response.getString("scope", current.getAccessTokenScope()));
+    }
+
+    /**
+     * Computes when a session is due for renewal: `refresh-ahead` plus a random jitter before its access token
+     * expires, so sessions whose tokens expire together are spread over the jitter.
+     */
+    private long refreshAt(AuthorizationCodeTokens tokens) {
+        long expiresAt = expiresAt(tokens);
+        if (expiresAt == 0) {
+            return Long.MAX_VALUE;
+        }
+        long jitter = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis) : 0;
+        return expiresAt - refreshAheadMillis - jitter;
+    }
+
+    private static long expiresAt(AuthorizationCodeTokens tokens) {
+        if (tokens.getAccessTokenExpiresIn() != null) {
+            return System.currentTimeMillis() + tokens.getAccessTokenExpiresIn() * 1000;
+        }
+        CasdoorClaims claims = tokens.getAccessToken() == null ? null
+                : CasdoorTokenUtil.decodeClaims(tokens.getAccessToken());
+        if ((claims == null || claims.expiresAt() == 0) && tokens.getIdToken() != null) {
+            claims = CasdoorTokenUtil.decodeClaims(tokens.getIdToken());
+        }
+        return claims == null ? 0 : claims.expiresAt() * 1000;
+    }
+
+    private static final class Session {
+
+        volatile AuthorizationCodeTokens tokens;
+        volatile long refreshAt;
+        volatile long lastAccess = System.currentTimeMillis();
+        volatile long storedAt;
+        volatile boolean refreshing;
+
+        Session(AuthorizationCodeTokens tokens, long refreshAt) {
+            this.tokens = tokens;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
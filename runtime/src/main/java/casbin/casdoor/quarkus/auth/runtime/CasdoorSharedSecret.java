@@ -0,0 +1,170 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Protects the entries of the {@link CasdoorSharedTokenCache}, which is a store any of its clients can write to.
+ * Verified tokens are signed with an HMAC-SHA256 over the key they are stored under and their content, so an entry
+ * forged or copied under another key is read as a miss. Session tokens are encrypted with AES-GCM, with their key as
+ * associated data. Both keys are derived from `quarkus.casdoor.shared-cache.secret`, which every replica shares.
+ */
+final class CasdoorSharedSecret {
+
+    static final int MIN_SECRET_LENGTH = 32;
+
+    private static final int TAG_LENGTH = 16;
+    private static final int IV_LENGTH = 12;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final CasdoorSharedSecret LOCAL = new CasdoorSharedSecret(randomBytes(32));
+
+    private final SecretKeySpec macKey;
+    private final SecretKeySpec encryptionKey;
+
+    private CasdoorSharedSecret(byte[] secret) {
+        this.macKey = new SecretKeySpec(derive(secret, "casdoor shared-cache mac"), "HmacSHA256");
+        this.encryptionKey = new SecretKeySpec(derive(secret, "casdoor shared-cache encryption"), "AES");
+    }
+
+    /**
+     * @param secret the configured secret
+     * @return the keys derived from the secret
+     * @throws ConfigurationException if the secret is shorter than {@value #MIN_SECRET_LENGTH} characters
+     */
+    static CasdoorSharedSecret of(String secret) {
+        if (secret.length() < MIN_SECRET_LENGTH) {
+            throw new ConfigurationException("quarkus.casdoor.shared-cache.secret must be at least "
+                    + MIN_SECRET_LENGTH + " characters long");
+        }
+        return new CasdoorSharedSecret(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return keys drawn at random when the class is loaded, for a shared cache no other process can reach
+     */
+    static CasdoorSharedSecret local() {
+        return LOCAL;
+    }
+
+    /**
+     * @param key the key the entry is stored under
+     * @param content the content of the entry
+     * @return the content followed by its tag
+     */
+    byte[] sign(String key, byte[] content) {
+        byte[] signed = Arrays.copyOf(content, content.length + TAG_LENGTH);
+        System.arraycopy(tag(key, content, content.length), 0, signed, content.length, TAG_LENGTH);
+        return signed;
+    }
+
+    /**
+     * @param key the key the entry was read from
+     * @param signed the entry
+     * @return the content of the entry, or null if its tag does not match its key and content
+     */
+    byte[] verify(String key, byte[] signed) {
+        if (signed == null || signed.length < TAG_LENGTH) {
+            return null;
+        }
+        int length = signed.length - TAG_LENGTH;
+        byte[] expected = Arrays.copyOf(tag(key, signed, length), TAG_LENGTH);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(signed, length, signed.length))) {
+            return null;
+        }
+        return Arrays.copyOf(signed, length);
+    }
+
+    /**
+     * @param key the key the entry is stored under
+     * @param content the content of the entry
+     * @return the random IV followed by the encrypted content and its tag
+     */
+    byte[] encrypt(String key, byte[] content) {
+        byte[] iv = randomBytes(IV_LENGTH);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH * 8, iv));
+            cipher.updateAAD(key.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = Arrays.copyOf(iv, IV_LENGTH + cipher.getOutputSize(content.length));
+            cipher.doFinal(content, 0, content.length, encrypted, IV_LENGTH);
+            return encrypted;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param key the key the entry was read from
+     * @param encrypted the entry
+     * @return the decrypted content, or null if the entry was not encrypted under this key with this secret
+     */
+    byte[] decrypt(String key, byte[] encrypted) {
+        if (encrypted == null || encrypted.length < IV_LENGTH + TAG_LENGTH) {
+            return null;
+        }
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey,
+                    new GCMParameterSpec(TAG_LENGTH * 8, encrypted, 0, IV_LENGTH));
+            cipher.updateAAD(key.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH);
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    private byte[] tag(String key, byte[] content, int length) {
+        try {
+            // Mac instances are not thread-safe, and creating one costs far less than the shared cache round trip
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(macKey);
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            mac.update((byte) (keyBytes.length >>> 8));
+            mac.update((byte) keyBytes.length);
+            mac.update(keyBytes);
+            mac.update(content, 0, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] derive(byte[] secret, String purpose) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
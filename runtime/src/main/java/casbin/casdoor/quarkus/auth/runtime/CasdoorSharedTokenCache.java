@@ -0,0 +1,102 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * A cache of verified tokens shared by all replicas of the application, behind the local {@link CasdoorTokenCache}.
+ * Entries are keyed by token digest and hold the serialized verification result, so a token verified by
+ * one replica is not verified again by the others. The cache also carries messages between replicas, such as
+ * token invalidations and revocations. The built-in implementations are selected with
+ * `quarkus.casdoor.shared-cache.type`; applications can provide their own bean to use another store.
+ * Implementations must never block the calling thread.
+ */
+public interface CasdoorSharedTokenCache {
+
+    /**
+     * No shared cache: nothing is stored and every lookup misses.
+     */
+    CasdoorSharedTokenCache NONE = new CasdoorSharedTokenCache() {
+        @Override
+        public Uni<byte[]> get(String key) {
+            return Uni.createFrom().nullItem();
+        }
+
+        @Override
+        public Uni<Void> put(String key, byte[] value, Duration ttl) {
+            return Uni.createFrom().voidItem();
+        }
+
+        @Override
+        public Uni<Void> delete(String key) {
+            return Uni.createFrom().voidItem();
+        }
+
+        @Override
+        public Uni<Void> publish(String message) {
+            return Uni.createFrom().voidItem();
+        }
+
+        @Override
+        public void onMessage(Consumer<String> listener) {
+        }
+    };
+
+    /**
+     * Reads an entry.
+     *
+     * @param key the token digest
+     * @return the serialized entry, or null if there is none
+     */
+    Uni<byte[]> get(String key);
+
+    /**
+     * Stores an entry.
+     *
+     * @param key the token digest
+     * @param value the serialized entry
+     * @param ttl how long the entry is kept
+     * @return a Uni completed once the entry is stored
+     */
+    Uni<Void> put(String key, byte[] value, Duration ttl);
+
+    /**
+     * Removes an entry.
+     *
+     * @param key the token digest
+     * @return a Uni completed once the entry is removed
+     */
+    Uni<Void> delete(String key);
+
+    /**
+     * Announces a message to every replica, including this one.
+     *
+     * @param message the message
+     * @return a Uni completed once the message is announced
+     */
+    Uni<Void> publish(String message);
+
+    /**
+     * Registers a listener of messages announced by any replica.
+     *
+     * @param listener called with each message, or with null when messages may have been missed, for example
+     *        after the connection to the store was lost
+     */
+    void onMessage(Consumer<String> listener);
+}
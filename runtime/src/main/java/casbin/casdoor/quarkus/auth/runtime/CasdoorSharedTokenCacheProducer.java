@@ -0,0 +1,50 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.arc.DefaultBean;
+import io.vertx.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/**
+ * Produces the {@link CasdoorSharedTokenCache} selected by `quarkus.casdoor.shared-cache.type`,
+ * unless the application provides its own.
+ */
+@ApplicationScoped
+public class CasdoorSharedTokenCacheProducer {
+
+    @Produces
+    @Singleton
+    @DefaultBean
+    public CasdoorSharedTokenCache produceSharedTokenCache(CasdoorConfig config, Vertx vertx) {
+        switch (config.sharedCache().type()) {
+            case MEMORY:
+                return new InMemoryCasdoorSharedTokenCache(config.tokenCache().maximumSize());
+            case REDIS:
+                return new RedisCasdoorSharedTokenCache(vertx, config.sharedCache());
+            default:
+                return CasdoorSharedTokenCache.NONE;
+        }
+    }
+
+    void closeSharedTokenCache(@Disposes CasdoorSharedTokenCache cache) {
+        if (cache instanceof RedisCasdoorSharedTokenCache) {
+            ((RedisCasdoorSharedTokenCache) cache).close();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import jakarta.inject.Singleton;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reads and writes verified tokens in the {@link CasdoorSharedTokenCache}, and invalidates tokens on every replica.
+ * Messages between replicas are a type and a payload separated by a space.
+ * Entries record the fingerprint of the keys that verified them, so once the certificate or the JWKS keys change,
+ * entries verified with the previous keys are misses and the token is verified again.
+ * Entries are signed with the {@link CasdoorSharedSecret} under the digest they are stored at, and an entry whose
+ * signature does not match is a miss, so writing to the shared cache is not enough to authenticate a token.
+ * The shared cache is an optimization only: a lookup that fails or takes longer than the configured timeout
+ * is a miss, and the token is verified locally.
+ */
+@Singleton
+public class CasdoorSharedTokens {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorSharedTokens.class);
+
+    private static final String INVALIDATE = "invalidate";
+
+    /**
+     * The payload invalidating every token, which is never a token digest.
+     */
+    private static final String ALL = "*";
+
+    private final CasdoorSharedTokenCache cache;
+    private final CasdoorTokenCache tokenCache;
+    private final CasdoorKeyMaterialHolder keyMaterial;
+    private final boolean enabled;
+    private final CasdoorSharedSecret secret;
+    private final Duration timeout;
+    private final long maxTtlNanos;
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+
+    public CasdoorSharedTokens(CasdoorSharedTokenCache cache, CasdoorTokenCache tokenCache,
+            CasdoorKeyMaterialHolder keyMaterial, CasdoorConfig config) {
+        this.cache = cache;
+        this.tokenCache = tokenCache;
+        this.keyMaterial = keyMaterial;
+        this.enabled = cache != CasdoorSharedTokenCache.NONE;
+        this.secret = enabled ? secret(cache, config.sharedCache()) : null;
+        this.timeout = config.sharedCache().timeout();
+        this.maxTtlNanos = config.tokenCache().maxTtl().toNanos();
+        if (enabled) {
+            onMessage(INVALIDATE, digest -> {
+                if (digest == null || ALL.equals(digest)) {
+                    tokenCache.invalidateAll();
+                } else {
+                    tokenCache.invalidateDigest(digest);
+                }
+            });
+            cache.onMessage(this::received);
+        }
+    }
+
+    /**
+     * @return true if verified tokens are shared
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Looks a token up in the shared cache. The result is emitted on the Vert.x context of the caller.
+     *
+     * @param digest the token digest, see {@link CasdoorTokenUtil#digest(String)}
+     * @param tenant the key of the request's tenant, or null for the default tenant
+     * @param verifier the verifier of the request's tenant
+     * @return the verified token, or null if it is not shared, was verified for another tenant or with other keys,
+     *         is not signed with the shared secret, or the lookup failed
+     */
+    Uni<VerifiedToken> get(String digest, String tenant, CasdoorTokenVerifier verifier) {
+        Context context = Vertx.currentContext();
+        long keys = keys(tenant, verifier);
+        Uni<VerifiedToken> lookup = cache.get(digest)
+                .map(bytes -> CasdoorTokenCodec.decode(tenant, keys, secret.verify(digest, bytes)))
+                .ifNoItem().after(timeout).fail()
+                .onFailure().recoverWithItem(failure -> {
+                    LOG.debugf("Shared token cache lookup failed: %s", failure);
+                    return null;
+                });
+        if (context == null) {
+            return lookup;
+        }
+        return lookup.emitOn(command -> {
+            if (Vertx.currentContext() == context) {
+                command.run();
+            } else {
+                context.runOnContext(ignored -> command.run());
+            }
+        });
+    }
+
+    /**
+     * Shares a verified token, without waiting for the write to complete.
+     * The entry expires with the token, and no later than `quarkus.casdoor.token-cache.max-ttl`.
+     *
+     * @param digest the token digest
+     * @param tenant the key of the tenant that verified the token, or null for the default tenant
+     * @param verifier the verifier of the tenant
+     * @param token the verified token
+     */
+    void put(String digest, String tenant, CasdoorTokenVerifier verifier, VerifiedToken token) {
+        long ttlNanos = maxTtlNanos;
+        if (token.expiresAt() > 0) {
+            long remainingMillis = token.expiresAt() * 1000 - System.currentTimeMillis();
+            ttlNanos = Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+        }
+        if (ttlNanos <= 0) {
+            return;
+        }
+        byte[] entry = secret.sign(digest, CasdoorTokenCodec.encode(tenant, keys(tenant, verifier), token));
+        cache.put(digest, entry, Duration.ofNanos(ttlNanos))
+                .subscribe().with(ignored -> {
+                }, failure -> LOG.debugf("Shared token cache write failed: %s", failure.getMessage()));
+    }
+
+    /**
+     * Removes a token from the verified-token cache of every replica, so it is verified again on its next use,
+     * for example after its user has changed in Casdoor.
+     *
+     * @param token the bearer token
+     * @return a Uni completed once the invalidation has been announced
+     */
+    public Uni<Void> invalidate(String token) {
+        String digest = CasdoorTokenUtil.digest(token);
+        tokenCache.invalidateDigest(digest);
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        return cache.delete(digest).chain(() -> announce(INVALIDATE, digest));
+    }
+
+    /**
+     * Empties the verified-token cache of every replica, for example after the keys changed, so tokens verified with
+     * the previous keys are verified again. Shared entries are left in place, they no longer match the keys.
+     *
+     * @return a Uni completed once the invalidation has been announced
+     */
+    public Uni<Void> invalidateAll() {
+        tokenCache.invalidateAll();
+        return announce(INVALIDATE, ALL);
+    }
+
+    /**
+     * Announces a message to every replica, including this one. Nothing is announced without a shared cache.
+     *
+     * @param type the message type
+     * @param payload the message payload
+     * @return a Uni completed once the message is announced
+     */
+    Uni<Void> announce(String type, String payload) {
+        return enabled ? cache.publish(type + ' ' + payload) : Uni.createFrom().voidItem();
+    }
+
+    /**
+     * Registers the handler of a message type.
+     *
+     * @param type the message type
+     * @param handler called with the payload of each message of this type announced by any replica, or with null
+     *        when messages may have been missed
+     */
+    void onMessage(String type, Consumer<String> handler) {
+        handlers.put(type, handler);
+    }
+
+    /**
+     * @return the keys protecting the entries of the shared cache, null if verified tokens are not shared
+     */
+    CasdoorSharedSecret secret() {
+        return secret;
+    }
+
+    /**
+     * @param tenant the key of a tenant, or null for the default tenant
+     * @param verifier the verifier of the tenant
+     * @return the fingerprint of the keys verifying the tenant's tokens
+     */
+    private long keys(String tenant, CasdoorTokenVerifier verifier) {
+        return tenant == null ? keyMaterial.get().fingerprint() : verifier.fingerprint();
+    }
+
+    private static CasdoorSharedSecret secret(CasdoorSharedTokenCache cache, CasdoorConfig.SharedCache config) {
+        if (config.secret().isPresent()) {
+            return CasdoorSharedSecret.of(config.secret().get());
+        }
+        if (cache instanceof InMemoryCasdoorSharedTokenCache) {
+            // nothing outside this process can write to it
+            return CasdoorSharedSecret.local();
+        }
+        throw new ConfigurationException("quarkus.casdoor.shared-cache.secret must be set to share verified tokens "
+                + "through " + cache.getClass().getSimpleName() + ", otherwise anyone able to write to it could "
+                + "store a forged token");
+    }
+
+    private void received(String message) {
+        if (message == null) {
+            for (Consumer<String> handler : handlers.values()) {
+                handler.accept(null);
+            }
+            return;
+        }
+        int space = message.indexOf(' ');
+        Consumer<String> handler = space < 0 ? null : handlers.get(message.substring(0, space));
+        if (handler != null) {
+            handler.accept(message.substring(space + 1));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/**
+ * Produces no-op metrics and tracing, unless the Micrometer or OpenTelemetry implementations are registered.
+ */
+@ApplicationScoped
+public class CasdoorTelemetryProducer {
+
+    @Produces
+    @Singleton
+    @DefaultBean
+    public CasdoorMetrics produceMetrics() {
+        return CasdoorMetrics.NOOP;
+    }
+
+    @Produces
+    @Singleton
+    @DefaultBean
+    public CasdoorTracing produceTracing() {
+        return CasdoorTracing.NOOP;
+    }
+}
@@ -0,0 +1,167 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The configuration of a tenant, with the properties it does not set inherited from the top-level configuration.
+ */
+final class CasdoorTenantConfig implements CasdoorConfig {
+
+    private final String id;
+    private final CasdoorConfig parent;
+    private final CasdoorConfig.Tenant tenant;
+
+    CasdoorTenantConfig(String id, CasdoorConfig parent, CasdoorConfig.Tenant tenant) {
+        this.id = id;
+        this.parent = parent;
+        this.tenant = tenant;
+    }
+
+    /**
+     * @return the tenant id
+     */
+    String id() {
+        return id;
+    }
+
+    @Override
+    public Optional<String> endpoint() {
+        return tenant.endpoint().or(parent::endpoint);
+    }
+
+    @Override
+    public Optional<String> organizationName() {
+        return tenant.organizationName().or(parent::organizationName);
+    }
+
+    @Override
+    public Optional<String> clientId() {
+        return tenant.clientId().or(parent::clientId);
+    }
+
+    @Override
+    public Optional<String> clientSecret() {
+        return tenant.clientSecret().or(parent::clientSecret);
+    }
+
+    @Override
+    public Optional<String> certificate() {
+        return tenant.certificate().or(parent::certificate);
+    }
+
+    @Override
+    public Optional<String> applicationName() {
+        return tenant.applicationName().or(parent::applicationName);
+    }
+
+    @Override
+    public boolean enabled() {
+        return parent.enabled();
+    }
+
+    @Override
+    public List<String> publicPaths() {
+        return parent.publicPaths();
+    }
+
+    @Override
+    public TokenCache tokenCache() {
+        return parent.tokenCache();
+    }
+
+    @Override
+    public RejectedTokenCache rejectedTokenCache() {
+        return parent.rejectedTokenCache();
+    }
+
+    @Override
+    public SharedCache sharedCache() {
+        return parent.sharedCache();
+    }
+
+    @Override
+    public Verification verification() {
+        return parent.verification();
+    }
+
+    @Override
+    public Jwks jwks() {
+        return parent.jwks();
+    }
+
+    @Override
+    public CertificateReload certificateReload() {
+        return parent.certificateReload();
+    }
+
+    @Override
+    public Authorization authorization() {
+        return parent.authorization();
+    }
+
+    @Override
+    public RateLimit rateLimit() {
+        return parent.rateLimit();
+    }
+
+    @Override
+    public Revocation revocation() {
+        return parent.revocation();
+    }
+
+    @Override
+    public Introspection introspection() {
+        return parent.introspection();
+    }
+
+    @Override
+    public SessionRefresh sessionRefresh() {
+        return parent.sessionRefresh();
+    }
+
+    @Override
+    public Log log() {
+        return parent.log();
+    }
+
+    @Override
+    public Resilience resilience() {
+        return parent.resilience();
+    }
+
+    @Override
+    public Client client() {
+        return parent.client();
+    }
+
+    @Override
+    public UserLookup userLookup() {
+        return parent.userLookup();
+    }
+
+    @Override
+    public Map<String, Tenant> tenants() {
+        return Map.of();
+    }
+
+    @Override
+    public Tenancy tenancy() {
+        return parent.tenancy();
+    }
+}
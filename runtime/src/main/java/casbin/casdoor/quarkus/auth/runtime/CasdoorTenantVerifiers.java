@@ -0,0 +1,82 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.inject.Singleton;
+
+/**
+ * Token verifiers of the tenants resolved by {@link CasdoorConfigResolver#resolveCasdoorConfig(io.vertx.ext.web.RoutingContext)}.
+ * The key material and verifier of a tenant are created on its first request and evicted once the tenant
+ * has been idle, so switching tenants costs a cache lookup rather than a certificate parse and a new `AuthService`.
+ * The top-level configuration always uses the application's {@link CasdoorTokenVerifier}.
+ */
+@Singleton
+public class CasdoorTenantVerifiers {
+
+    private final CasdoorConfig config;
+    private final CasdoorTokenVerifier defaultVerifier;
+    private final Cache<String, CasdoorTokenVerifier> verifiers;
+
+    public CasdoorTenantVerifiers(CasdoorConfig config, CasdoorTokenVerifier defaultVerifier) {
+        this.config = config;
+        this.defaultVerifier = defaultVerifier;
+        this.verifiers = Caffeine.newBuilder()
+                .maximumSize(config.tenancy().maximumSize())
+                .expireAfterAccess(config.tenancy().idleTimeout())
+                .build();
+    }
+
+    /**
+     * @param tenant the configuration of a tenant
+     * @return the verifier of the tenant
+     */
+    public CasdoorTokenVerifier verifier(CasdoorConfig tenant) {
+        if (tenant == config || config.verification().verifier() == CasdoorConfig.Verifier.OIDC) {
+            return defaultVerifier;
+        }
+        return verifiers.get(key(tenant), ignored -> create(tenant));
+    }
+
+    /**
+     * @param tenant the configuration of a tenant
+     * @return a key identifying the tenant, or null for the top-level configuration
+     */
+    public String key(CasdoorConfig tenant) {
+        if (tenant == config) {
+            return null;
+        }
+        if (tenant instanceof CasdoorTenantConfig) {
+            return ((CasdoorTenantConfig) tenant).id();
+        }
+        return String.join("|", tenant.endpoint().orElse(""), tenant.organizationName().orElse(""),
+                tenant.applicationName().orElse(""), tenant.clientId().orElse(""),
+                tenant.certificate().orElse(""));
+    }
+
+    private CasdoorTokenVerifier create(CasdoorConfig tenant) {
+        CasdoorKeyMaterial keyMaterial = tenant.certificate()
+                .map(CasdoorKeyMaterial::fromCertificate)
+                .orElse(CasdoorKeyMaterial.EMPTY);
+        CasdoorKeyMaterialHolder holder = new CasdoorKeyMaterialHolder(keyMaterial);
+        if (config.verification().verifier() == CasdoorConfig.Verifier.NATIVE) {
+            return new NativeCasdoorTokenVerifier(holder);
+        }
+        // the holder only gives the verifier the fingerprint of the tenant's keys, which never change
+        return new SdkCasdoorTokenVerifier(AuthServiceProducer.createAuthService(tenant, keyMaterial.certificate()),
+                holder, certificate -> AuthServiceProducer.createAuthService(tenant, certificate));
+    }
+}
@@ -0,0 +1,150 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of verified tokens, keyed by the token digest.
+ * Each entry expires no later than the `exp` claim of its token.
+ */
+@Singleton
+public class CasdoorTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public CasdoorTokenCache(CasdoorConfig config) {
+        CasdoorConfig.TokenCache cacheConfig = config.tokenCache();
+        if (!cacheConfig.enabled()) {
+            this.cache = null;
+            return;
+        }
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.maximumSize());
+        if (cacheConfig.recordStats()) {
+            builder.recordStats();
+        }
+        this.cache = builder
+                .expireAfter(new TokenExpiry(cacheConfig.maxTtl().toNanos()))
+                .build();
+    }
+
+    /**
+     * @return true if verified tokens are cached
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached verification result for the given token digest.
+     *
+     * @param digest the token digest, see {@link CasdoorTokenUtil#digest(String)}
+     * @return the verified token, or null if it is not cached
+     */
+    public VerifiedToken get(String digest) {
+        return cache == null ? null : cache.getIfPresent(digest);
+    }
+
+    /**
+     * Caches a verification result. Tokens that have already expired are not cached.
+     *
+     * @param digest the token digest, see {@link CasdoorTokenUtil#digest(String)}
+     * @param token the verified token
+     */
+    public void put(String digest, VerifiedToken token) {
+        if (cache == null) {
+            return;
+        }
+        if (token.expiresAt() > 0 && token.expiresAt() * 1000 <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(digest, token);
+    }
+
+    /**
+     * Removes a token from the cache.
+     *
+     * @param digest the token digest
+     */
+    public void invalidate(String digest) {
+        if (cache != null) {
+            cache.invalidate(digest);
+        }
+    }
+
+    /**
+     * Removes a token from the cache, for the default tenant and every other tenant.
+     *
+     * @param digest the token digest, without tenant prefix
+     */
+    public void invalidateDigest(String digest) {
+        if (cache != null) {
+            String tenantSuffix = ':' + digest;
+            cache.asMap().keySet().removeIf(key -> key.equals(digest) || key.endsWith(tenantSuffix));
+        }
+    }
+
+    /**
+     * Removes all tokens from the cache, so they are verified again on their next use.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return the hit and miss counters, empty unless stats recording is enabled
+     */
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final long maxTtlNanos;
+
+        TokenExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() <= 0) {
+                return maxTtlNanos;
+            }
+            long remainingMillis = value.expiresAt() * 1000 - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.casbin.casdoor.entity.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Serializes verified tokens for the {@link CasdoorSharedTokenCache}.
+ * Only what authorization needs is kept: the tenant that verified the token, the fingerprint of the keys it was
+ * verified with, `exp`, the user's `owner`
+ * and `name`, the client id, `jti`, `iat`, roles and permissions. Numbers are varints and strings are length-prefixed
+ * UTF-8, so a typical entry takes well under a hundred bytes. The first byte is a format version;
+ * entries in an unknown format, or verified with keys that have since been rotated, are treated as missing.
+ */
+final class CasdoorTokenCodec {
+
+    private static final byte VERSION = 3;
+
+    private CasdoorTokenCodec() {
+    }
+
+    /**
+     * @param tenant the key of the tenant that verified the token, or null for the default tenant
+     * @param keys the fingerprint of the keys that verified the token, see {@link CasdoorKeyMaterial#fingerprint()}
+     * @param token the verified token
+     * @return the serialized token
+     */
+    static byte[] encode(String tenant, long keys, VerifiedToken token) {
+        Writer writer = new Writer();
+        writer.bytes[writer.length++] = VERSION;
+        writer.string(tenant);
+        writer.varint(keys);
+        writer.varint(token.expiresAt());
+        writer.string(token.user().owner);
+        writer.string(token.user().name);
+        writer.string(token.clientId());
+        writer.string(token.tokenId());
+        writer.varint(token.issuedAt());
+        writer.strings(token.roles());
+        writer.strings(token.permissions());
+        return Arrays.copyOf(writer.bytes, writer.length);
+    }
+
+    /**
+     * @param tenant the key of the tenant of the request, or null for the default tenant
+     * @param keys the fingerprint of the current keys of the tenant
+     * @param bytes the serialized token
+     * @return the verified token, or null if it was verified for another tenant or with other keys,
+     *         or cannot be read
+     */
+    static VerifiedToken decode(String tenant, long keys, byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || bytes[0] != VERSION) {
+            return null;
+        }
+        try {
+            Reader reader = new Reader(bytes);
+            if (!Objects.equals(tenant, reader.string()) || reader.varint() != keys) {
+                return null;
+            }
+            long expiresAt = reader.varint();
+            User user = new User();
+            user.owner = reader.string();
+            user.name = reader.string();
+            String clientId = reader.string();
+            String tokenId = reader.string();
+            long issuedAt = reader.varint();
+            Set<String> roles = reader.strings();
+            Set<String> permissions = reader.strings();
+            return new VerifiedToken(user, expiresAt, roles, permissions, clientId, tokenId, issuedAt);
+        } catch (ArrayIndexOutOfBoundsException | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+
+    private static final class Writer {
+
+        private byte[] bytes = new byte[64];
+        private int length;
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1L);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+
+        void strings(Set<String> values) {
+            varint(values.size());
+            for (String value : values) {
+                string(value);
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position = 1;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new ArrayIndexOutOfBoundsException("varint is too long");
+        }
+
+        String string() {
+            int length = (int) varint() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (position + length > bytes.length) {
+                throw new ArrayIndexOutOfBoundsException(position + length);
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        Set<String> strings() {
+            long size = varint();
+            if (size == 0) {
+                return Collections.emptySet();
+            }
+            if (size > bytes.length - position) {
+                throw new ArrayIndexOutOfBoundsException("too many strings");
+            }
+            Set<String> values = new HashSet<>((int) size * 2);
+            for (int i = 0; i < size; i++) {
+                values.add(string());
+            }
+            return Collections.unmodifiableSet(values);
+        }
+    }
+}
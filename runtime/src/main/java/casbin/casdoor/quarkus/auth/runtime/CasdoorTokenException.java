@@ -0,0 +1,98 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+/**
+ * Thrown when a token cannot be verified.
+ * Rejections are expected on the request path, so no stack trace is captured,
+ * and messages with arguments are only formatted when they are logged.
+ */
+public class CasdoorTokenException extends RuntimeException {
+
+    private final Reason reason;
+    private final Object[] args;
+
+    public CasdoorTokenException(Reason reason, String message) {
+        this(reason, message, (Throwable) null);
+    }
+
+    public CasdoorTokenException(Reason reason, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.reason = reason;
+        this.args = null;
+    }
+
+    /**
+     * @param reason why the token was rejected
+     * @param format the message, as a {@link String#format(String, Object...)} format
+     * @param args the message arguments
+     */
+    public CasdoorTokenException(Reason reason, String format, Object... args) {
+        super(format, null, false, false);
+        this.reason = reason;
+        this.args = args;
+    }
+
+    @Override
+    public String getMessage() {
+        String message = super.getMessage();
+        return args == null ? message : String.format(message, args);
+    }
+
+    /**
+     * @return why the token was rejected
+     */
+    public Reason reason() {
+        return reason;
+    }
+
+    public enum Reason {
+
+        /**
+         * The token is not a well-formed compact JWS.
+         */
+        MALFORMED,
+
+        /**
+         * The token is signed with an algorithm that is not accepted.
+         */
+        UNSUPPORTED_ALGORITHM,
+
+        /**
+         * No key is available to verify the token.
+         */
+        UNKNOWN_KEY,
+
+        /**
+         * The token signature does not match.
+         */
+        INVALID_SIGNATURE,
+
+        /**
+         * The token has expired.
+         */
+        EXPIRED,
+
+        /**
+         * The token is not valid yet.
+         */
+        NOT_YET_VALID,
+
+        /**
+         * The token was rejected for any other reason.
+         */
+        INVALID
+    }
+}
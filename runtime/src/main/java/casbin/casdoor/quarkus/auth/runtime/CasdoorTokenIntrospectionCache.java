@@ -0,0 +1,76 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.oidc.OidcRequestContext;
+import io.quarkus.oidc.OidcTenantConfig;
+import io.quarkus.oidc.TokenIntrospection;
+import io.quarkus.oidc.TokenIntrospectionCache;
+import io.quarkus.oidc.runtime.DefaultTokenIntrospectionUserInfoCache;
+import io.quarkus.oidc.runtime.OidcUtils;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Singleton;
+
+/**
+ * Serves the introspections quarkus-oidc performs for the default tenant from {@link CasdoorIntrospections},
+ * so opaque tokens are introspected once and then refreshed in the background instead of on every request.
+ * Other tenants, and every tenant while introspection is disabled, keep using the quarkus-oidc token cache.
+ * Applications providing their own cache must give it a priority above 1 to replace this one.
+ */
+@Singleton
+@Alternative
+@Priority(1)
+public class CasdoorTokenIntrospectionCache implements TokenIntrospectionCache {
+
+    private final CasdoorIntrospections introspections;
+    private final TokenIntrospectionCache oidcCache;
+
+    public CasdoorTokenIntrospectionCache(CasdoorIntrospections introspections,
+            Instance<DefaultTokenIntrospectionUserInfoCache> oidcCache) {
+        this.introspections = introspections;
+        // absent when quarkus.oidc.default-token-cache-enabled is false
+        this.oidcCache = oidcCache.isResolvable() ? oidcCache.get() : null;
+    }
+
+    @Override
+    public Uni<Void> addIntrospection(String token, TokenIntrospection introspection, OidcTenantConfig oidcConfig,
+            OidcRequestContext<Void> requestContext) {
+        if (introspections.isEnabled() && isDefaultTenant(oidcConfig)) {
+            introspections.put(token, introspection.getIntrospectionString());
+            return Uni.createFrom().voidItem();
+        }
+        return oidcCache == null ? Uni.createFrom().voidItem()
+                : oidcCache.addIntrospection(token, introspection, oidcConfig, requestContext);
+    }
+
+    @Override
+    public Uni<TokenIntrospection> getIntrospection(String token, OidcTenantConfig oidcConfig,
+            OidcRequestContext<TokenIntrospection> requestContext) {
+        if (!introspections.isEnabled() || !isDefaultTenant(oidcConfig)) {
+            return oidcCache == null ? Uni.createFrom().nullItem()
+                    : oidcCache.getIntrospection(token, oidcConfig, requestContext);
+        }
+        // inactive tokens are left to quarkus-oidc, which trusts any introspection it gets from the cache
+        return introspections.introspection(token)
+                .map(response -> response == null ? null : new TokenIntrospection(response));
+    }
+
+    private static boolean isDefaultTenant(OidcTenantConfig oidcConfig) {
+        return OidcUtils.DEFAULT_TENANT_ID.equals(oidcConfig.tenantId().orElse(OidcUtils.DEFAULT_TENANT_ID));
+    }
+}
@@ -0,0 +1,194 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Cheap structural checks run before a token is verified: three non-empty base64url segments,
+ * an allowed `alg` and `kid` header, and an `exp` claim that has not passed yet.
+ * Nothing here proves the token is valid, it only denies tokens that verification would reject anyway,
+ * without any cryptography. Rejections are shared, immutable exceptions, so they allocate nothing.
+ * Opaque tokens, which are introspected rather than verified, are only checked for their length and for the
+ * characters of an RFC 6750 bearer token, so that arbitrary strings never cost a round trip to Casdoor.
+ */
+final class CasdoorTokenPrecheck {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    static final CasdoorTokenException NOT_COMPACT = new CasdoorTokenException(
+            CasdoorTokenException.Reason.MALFORMED, "Token is not a compact JWS");
+    static final CasdoorTokenException NOT_OPAQUE = new CasdoorTokenException(
+            CasdoorTokenException.Reason.MALFORMED, "Token is not a well-formed opaque token");
+    static final CasdoorTokenException NOT_BASE64 = new CasdoorTokenException(
+            CasdoorTokenException.Reason.MALFORMED, "Token is not base64url encoded");
+    static final CasdoorTokenException NOT_JSON = new CasdoorTokenException(
+            CasdoorTokenException.Reason.MALFORMED, "Token header or payload is not a JSON object");
+    static final CasdoorTokenException ALGORITHM_NOT_ALLOWED = new CasdoorTokenException(
+            CasdoorTokenException.Reason.UNSUPPORTED_ALGORITHM, "Token algorithm is not allowed");
+    static final CasdoorTokenException KEY_NOT_ALLOWED = new CasdoorTokenException(
+            CasdoorTokenException.Reason.UNKNOWN_KEY, "Token key id is not allowed");
+    static final CasdoorTokenException EXPIRED = new CasdoorTokenException(
+            CasdoorTokenException.Reason.EXPIRED, "Token has expired");
+
+    /**
+     * The length limits of opaque tokens. Casdoor issues opaque tokens of a few dozen characters.
+     */
+    static final int MIN_OPAQUE_LENGTH = 16;
+    static final int MAX_OPAQUE_LENGTH = 2048;
+
+    private final Set<String> algorithms;
+    private final Set<String> keyIds;
+
+    CasdoorTokenPrecheck(CasdoorConfig config) {
+        this.algorithms = Set.copyOf(config.verification().allowedAlgorithms());
+        this.keyIds = config.verification().allowedKeyIds().map(Set::copyOf).orElse(null);
+    }
+
+    /**
+     * Checks the structure of a token.
+     *
+     * @param token the bearer token
+     * @return why the token is rejected, or null if it may be verified
+     */
+    CasdoorTokenException check(String token) {
+        int first = -1;
+        int second = -1;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (first < 0) {
+                    first = i;
+                } else if (second < 0) {
+                    second = i;
+                } else {
+                    return NOT_COMPACT;
+                }
+            } else if (!isBase64Url(c)) {
+                return NOT_BASE64;
+            }
+        }
+        if (first <= 0 || second <= first + 1 || second == token.length() - 1) {
+            return NOT_COMPACT;
+        }
+
+        CasdoorTokenException header = checkHeader(decode(token, 0, first));
+        if (header != null) {
+            return header;
+        }
+        return checkExpiry(decode(token, first + 1, second));
+    }
+
+    /**
+     * Checks the length and characters of an opaque token, before it is introspected.
+     *
+     * @param token the bearer token, without dots
+     * @return why the token is rejected, or null if it may be introspected
+     */
+    static CasdoorTokenException checkOpaque(String token) {
+        int length = token.length();
+        if (length < MIN_OPAQUE_LENGTH || length > MAX_OPAQUE_LENGTH) {
+            return NOT_OPAQUE;
+        }
+        int end = length;
+        while (end > 1 && token.charAt(end - 1) == '=') {
+            end--;
+        }
+        for (int i = 0; i < end; i++) {
+            char c = token.charAt(i);
+            if (!isBase64Url(c) && c != '~' && c != '+' && c != '/') {
+                return NOT_OPAQUE;
+            }
+        }
+        return null;
+    }
+
+    private CasdoorTokenException checkHeader(byte[] header) {
+        if (header == null) {
+            return NOT_BASE64;
+        }
+        String alg = null;
+        String kid = null;
+        try (JsonParser parser = JSON.createParser(header)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return NOT_JSON;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("alg".equals(field) && value == JsonToken.VALUE_STRING) {
+                    alg = parser.getText();
+                } else if ("kid".equals(field) && value == JsonToken.VALUE_STRING) {
+                    kid = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return NOT_JSON;
+        }
+
+        if (alg == null || !algorithms.contains(alg)) {
+            return ALGORITHM_NOT_ALLOWED;
+        }
+        if (keyIds != null && (kid == null || !keyIds.contains(kid))) {
+            return KEY_NOT_ALLOWED;
+        }
+        return null;
+    }
+
+    private static CasdoorTokenException checkExpiry(byte[] payload) {
+        if (payload == null) {
+            return NOT_BASE64;
+        }
+        long exp = 0;
+        try (JsonParser parser = JSON.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return NOT_JSON;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("exp".equals(field) && value.isNumeric()) {
+                    exp = parser.getLongValue();
+                    break;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            return NOT_JSON;
+        }
+        return exp > 0 && exp <= System.currentTimeMillis() / 1000 ? EXPIRED : null;
+    }
+
+    private static byte[] decode(String token, int from, int to) {
+        try {
+            return BASE64_URL.decode(token.substring(from, to));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+}
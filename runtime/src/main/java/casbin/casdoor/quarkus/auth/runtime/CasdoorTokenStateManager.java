@@ -0,0 +1,110 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.oidc.AuthorizationCodeTokens;
+import io.quarkus.oidc.OidcRequestContext;
+import io.quarkus.oidc.OidcTenantConfig;
+import io.quarkus.oidc.TokenStateManager;
+import io.quarkus.oidc.runtime.OidcUtils;
+import io.quarkus.security.AuthenticationFailedException;
+import io.smallrye.mutiny.Uni;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Singleton;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps the tokens of the default tenant's web-app sessions in {@link CasdoorSessions}, so they are renewed in
+ * the background, and sends the browser a random session id instead of the tokens. Sessions are found by every
+ * replica when a shared cache is configured.
+ * Other tenants keep the quarkus-oidc session cookies, through the token state manager this one replaces.
+ * <p>
+ * The bean only exists when {@code quarkus.casdoor.session-refresh.enabled} is true when the application is built, so
+ * applications without session refresh keep the quarkus-oidc token state manager untouched. Applications providing
+ * their own token state manager must give it a priority above 1 to replace this one.
+ */
+@Singleton
+@Alternative
+@Priority(1)
+public class CasdoorTokenStateManager implements TokenStateManager {
+
+    private final CasdoorSessions sessions;
+    private final TokenStateManager oidcManager;
+
+    public CasdoorTokenStateManager(CasdoorSessions sessions, BeanManager beanManager) {
+        this.sessions = sessions;
+        this.oidcManager = replaced(beanManager);
+    }
+
+    /**
+     * Finds the token state manager that would be used without this one, by resolving every other bean.
+     */
+    @SuppressWarnings("unchecked")
+    private static TokenStateManager replaced(BeanManager beanManager) {
+        Set<Bean<?>> others = new HashSet<>();
+        for (Bean<?> bean : beanManager.getBeans(TokenStateManager.class, Any.Literal.INSTANCE)) {
+            if (bean.getBeanClass() != CasdoorTokenStateManager.class) {
+                others.add(bean);
+            }
+        }
+        Bean<TokenStateManager> bean = (Bean<TokenStateManager>) beanManager.resolve(others);
+        if (bean == null) {
+            throw new IllegalStateException("No quarkus-oidc token state manager to delegate to");
+        }
+        return (TokenStateManager) beanManager.getReference(bean, TokenStateManager.class,
+                beanManager.createCreationalContext(bean));
+    }
+
+    @Override
+    public Uni<String> createTokenState(RoutingContext routingContext, OidcTenantConfig oidcConfig,
+            AuthorizationCodeTokens tokens, OidcRequestContext<String> requestContext) {
+        if (!isManaged(oidcConfig)) {
+            return oidcManager.createTokenState(routingContext, oidcConfig, tokens, requestContext);
+        }
+        return sessions.create(tokens);
+    }
+
+    @Override
+    public Uni<AuthorizationCodeTokens> getTokens(RoutingContext routingContext, OidcTenantConfig oidcConfig,
+            String tokenState, OidcRequestContext<AuthorizationCodeTokens> requestContext) {
+        if (!isManaged(oidcConfig)) {
+            return oidcManager.getTokens(routingContext, oidcConfig, tokenState, requestContext);
+        }
+        return sessions.get(tokenState)
+                // the session timed out, or was created by another replica without a shared cache
+                .onItem().ifNull().failWith(() -> new AuthenticationFailedException("Unknown Casdoor session"));
+    }
+
+    @Override
+    public Uni<Void> deleteTokens(RoutingContext routingContext, OidcTenantConfig oidcConfig, String tokenState,
+            OidcRequestContext<Void> requestContext) {
+        if (!isManaged(oidcConfig)) {
+            return oidcManager.deleteTokens(routingContext, oidcConfig, tokenState, requestContext);
+        }
+        return sessions.delete(tokenState);
+    }
+
+    private boolean isManaged(OidcTenantConfig oidcConfig) {
+        return sessions.isEnabled()
+                && OidcUtils.DEFAULT_TENANT_ID.equals(oidcConfig.tenantId().orElse(OidcUtils.DEFAULT_TENANT_ID));
+    }
+}
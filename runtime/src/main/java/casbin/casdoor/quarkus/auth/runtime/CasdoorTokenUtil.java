@@ -0,0 +1,92 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+public final class CasdoorTokenUtil {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private CasdoorTokenUtil() {
+    }
+
+    /**
+     * Computes a stable digest of the token, suitable as a cache key.
+     * The raw token is never kept in memory longer than the request.
+     *
+     * @param token the compact JWT
+     * @return the base64url encoded SHA-256 digest of the token
+     */
+    public static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Decodes the payload segment of a compact JWT without verifying it.
+     * Callers must only rely on the result once the signature has been verified.
+     *
+     * @param token the compact JWT
+     * @return the decoded claims, or null if the token is malformed
+     */
+    public static JsonObject decodePayload(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0) {
+            return null;
+        }
+
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(first + 1, second));
+            return new JsonObject(new String(payload, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | DecodeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the authorization claims of a compact JWT without verifying it.
+     * Callers must only rely on the result once the signature has been verified.
+     *
+     * @param token the compact JWT
+     * @return the claims, or null if the token is malformed
+     */
+    public static CasdoorClaims decodeClaims(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0) {
+            return null;
+        }
+
+        try {
+            return CasdoorClaims.parse(Base64.getUrlDecoder().decode(token.substring(first + 1, second)));
+        } catch (IllegalArgumentException | CasdoorTokenException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+/**
+ * Verifies Casdoor tokens.
+ */
+public interface CasdoorTokenVerifier {
+
+    /**
+     * Verifies the token signature and validity period and extracts the Casdoor user.
+     *
+     * @param token the compact JWT
+     * @return the verified token
+     * @throws CasdoorTokenException if the token is not valid
+     */
+    VerifiedToken verify(String token);
+
+    /**
+     * @return the fingerprint of the keys this verifier currently verifies signatures with,
+     *         see {@link CasdoorKeyMaterial#fingerprint()}, or 0 if it is not known
+     */
+    default long fingerprint() {
+        return 0;
+    }
+}
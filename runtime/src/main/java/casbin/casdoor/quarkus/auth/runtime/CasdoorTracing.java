@@ -0,0 +1,45 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+/**
+ * Creates tracing spans around token verification.
+ * The default implementation does nothing; an OpenTelemetry based implementation
+ * is registered when the application uses the OpenTelemetry extension.
+ */
+public interface CasdoorTracing {
+
+    CasdoorTracing NOOP = verifier -> failure -> {
+    };
+
+    /**
+     * Starts a span for a token verification. Must be called on the thread handling the request,
+     * so that the span is parented to the request span.
+     *
+     * @param verifier the name of the verifier
+     * @return the started span
+     */
+    Span startVerification(String verifier);
+
+    interface Span {
+
+        /**
+         * Ends the span.
+         *
+         * @param failure the verification failure, or null if the token was verified
+         */
+        void end(Throwable failure);
+    }
+}
@@ -0,0 +1,31 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+/**
+ * Thrown without contacting Casdoor when the circuit breaker is open or too many calls are already in flight.
+ * The request is not retried, as retrying would only add load to a Casdoor that is already struggling.
+ */
+public class CasdoorUnavailableException extends CasdoorClientException {
+
+    public CasdoorUnavailableException(String message) {
+        super(503, message);
+    }
+
+    @Override
+    public boolean isRetryable() {
+        return false;
+    }
+}
@@ -0,0 +1,111 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import org.casbin.casdoor.entity.User;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Collects user lookups for a short window and sends them to Casdoor together.
+ * Lookups of the same user within the window share one request, and the users of a batch are looked up with
+ * bounded concurrency. Casdoor has no endpoint fetching several users by id, and fetching the whole organization
+ * grows with the organization rather than with the batch, so each user of a batch is still one request.
+ */
+final class CasdoorUserBatcher {
+
+    private final CasdoorClient client;
+    private final Vertx vertx;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final int maxConcurrency;
+
+    private Map<String, CompletableFuture<User>> pending = new HashMap<>();
+
+    CasdoorUserBatcher(CasdoorClient client, Vertx vertx, CasdoorConfig.UserLookup config) {
+        this.client = client;
+        this.vertx = vertx;
+        this.windowMillis = Math.max(1, config.batchWindow().toMillis());
+        this.maxBatchSize = config.maxBatchSize();
+        this.maxConcurrency = config.maxConcurrency();
+    }
+
+    /**
+     * Queues a lookup. Lookups of a user already queued share the same result.
+     *
+     * @param id the user id, `organization/name`
+     * @return the user, or null if the user does not exist
+     */
+    CompletableFuture<User> submit(String id) {
+        Map<String, CompletableFuture<User>> full = null;
+        CompletableFuture<User> result;
+        synchronized (this) {
+            result = pending.get(id);
+            if (result != null) {
+                return result;
+            }
+            result = new CompletableFuture<>();
+            pending.put(id, result);
+            if (pending.size() == 1) {
+                Map<String, CompletableFuture<User>> batch = pending;
+                vertx.setTimer(windowMillis, ignored -> flush(batch));
+            } else if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new HashMap<>();
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return result;
+    }
+
+    private void flush(Map<String, CompletableFuture<User>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                // already sent when it became full
+                return;
+            }
+            pending = new HashMap<>();
+        }
+        send(batch);
+    }
+
+    private void send(Map<String, CompletableFuture<User>> batch) {
+        Multi.createFrom().iterable(batch.entrySet())
+                .onItem().transformToUni(entry -> lookup(entry.getKey())
+                        .onItemOrFailure().invoke((user, failure) -> {
+                            if (failure != null) {
+                                entry.getValue().completeExceptionally(failure);
+                            } else {
+                                entry.getValue().complete(user);
+                            }
+                        })
+                        .onFailure().recoverWithNull())
+                .merge(maxConcurrency)
+                .subscribe().with(ignored -> {
+                });
+    }
+
+    private Uni<User> lookup(String id) {
+        int slash = id.indexOf('/');
+        return client.getUser(id.substring(0, slash), id.substring(slash + 1));
+    }
+}
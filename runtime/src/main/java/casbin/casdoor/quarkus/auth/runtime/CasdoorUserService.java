@@ -0,0 +1,169 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.inject.Singleton;
+import org.casbin.casdoor.entity.User;
+import org.jboss.logging.Logger;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Looks up full Casdoor user profiles, beyond the claims carried by tokens.
+ * <ul>
+ * <li>Concurrent lookups of the same user share one in-flight request.</li>
+ * <li>Lookups of distinct users within a short window are sent to Casdoor as one batch, with bounded
+ * concurrency.</li>
+ * <li>Profiles are cached; once stale, they keep being served while they are refreshed in the background.</li>
+ * </ul>
+ * A burst of lookups, for example right after a deployment, therefore costs Casdoor at most
+ * one request per user.
+ * <p>
+ * Users are identified by organization and name; lookups by name alone are for users of the configured
+ * organization.
+ * <p>
+ * In degraded mode, the last profile fetched for each user keeps being served, up to a maximum staleness,
+ * while Casdoor cannot be reached.
+ */
+@Singleton
+public class CasdoorUserService {
+
+    private static final Logger LOG = Logger.getLogger(CasdoorUserService.class);
+
+    private final String organizationName;
+    // keyed by user id, organization/name
+    private final AsyncLoadingCache<String, User> cache;
+    private final Cache<String, User> lastKnown;
+
+    public CasdoorUserService(CasdoorClient client, Vertx vertx, CasdoorConfig config) {
+        this.organizationName = config.organizationName().orElse(null);
+        CasdoorConfig.UserLookup lookupConfig = config.userLookup();
+        CasdoorUserBatcher batcher = new CasdoorUserBatcher(client, vertx, lookupConfig);
+        CasdoorConfig.DegradedMode degradedMode = config.resilience().degradedMode();
+        this.lastKnown = degradedMode.enabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(lookupConfig.maximumSize())
+                        .expireAfterWrite(degradedMode.maxStaleness())
+                        .build()
+                : null;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(lookupConfig.maximumSize())
+                .refreshAfterWrite(lookupConfig.refreshAfter())
+                .expireAfterWrite(lookupConfig.expireAfter())
+                .buildAsync(new AsyncCacheLoader<String, User>() {
+                    @Override
+                    public CompletableFuture<User> asyncLoad(String id, Executor executor) {
+                        return lastKnown == null ? batcher.submit(id) : loadOrLastKnown(batcher, id);
+                    }
+                });
+    }
+
+    private CompletableFuture<User> loadOrLastKnown(CasdoorUserBatcher batcher, String id) {
+        return batcher.submit(id).handle((user, failure) -> {
+            if (failure == null) {
+                // a user that no longer exists is not served from the last known profiles either
+                if (user == null) {
+                    lastKnown.invalidate(id);
+                } else {
+                    lastKnown.put(id, user);
+                }
+                return CompletableFuture.completedFuture(user);
+            }
+            User stale = CasdoorClient.isUnavailable(failure) ? lastKnown.getIfPresent(id) : null;
+            if (stale == null) {
+                return CompletableFuture.<User>failedFuture(failure);
+            }
+            LOG.debugf("Casdoor is unavailable, serving the last known profile of %s", id);
+            return CompletableFuture.completedFuture(stale);
+        }).thenCompose(result -> result);
+    }
+
+    /**
+     * Looks up a user of the configured organization.
+     *
+     * @param name the user name
+     * @return a Uni containing the user, or null if the user does not exist
+     */
+    public Uni<User> getUser(String name) {
+        return getUser(organizationName, name);
+    }
+
+    /**
+     * Looks up a user of any organization of the Casdoor endpoint, such as the `owner` of a token of another tenant.
+     *
+     * @param owner the organization of the user
+     * @param name the user name
+     * @return a Uni containing the user, or null if the user does not exist
+     */
+    public Uni<User> getUser(String owner, String name) {
+        return Uni.createFrom().completionStage(() -> cache.get(id(owner, name)));
+    }
+
+    /**
+     * Looks up several users of the configured organization.
+     *
+     * @param names the user names
+     * @return a Uni containing the users found, by name
+     */
+    public Uni<Map<String, User>> getUsers(Set<String> names) {
+        Set<String> ids = new HashSet<>();
+        for (String name : names) {
+            ids.add(id(organizationName, name));
+        }
+        return Uni.createFrom().completionStage(() -> cache.getAll(ids)).map(users -> {
+            Map<String, User> byName = new HashMap<>();
+            users.forEach((id, user) -> byName.put(id.substring(id.indexOf('/') + 1), user));
+            return byName;
+        });
+    }
+
+    /**
+     * Discards the cached profile of a user of the configured organization, so the next lookup fetches it again.
+     *
+     * @param name the user name
+     */
+    public void invalidate(String name) {
+        invalidate(organizationName, name);
+    }
+
+    /**
+     * Discards the cached profile of a user, so the next lookup fetches it again.
+     *
+     * @param owner the organization of the user
+     * @param name the user name
+     */
+    public void invalidate(String owner, String name) {
+        String id = id(owner, name);
+        cache.synchronous().invalidate(id);
+        if (lastKnown != null) {
+            lastKnown.invalidate(id);
+        }
+    }
+
+    private static String id(String owner, String name) {
+        return owner + '/' + name;
+    }
+}
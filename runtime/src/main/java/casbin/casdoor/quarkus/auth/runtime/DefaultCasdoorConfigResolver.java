@@ -15,20 +15,121 @@
 package casbin.casdoor.quarkus.auth.runtime;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import io.quarkus.runtime.configuration.ConfigurationException;
 import io.smallrye.mutiny.Uni;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @ApplicationScoped
 public class DefaultCasdoorConfigResolver implements CasdoorConfigResolver {
 
     private final CasdoorConfig casdoorConfig;
+    private final Uni<CasdoorConfig> defaultTenant;
+    private final Map<String, Uni<CasdoorConfig>> tenantsById = new HashMap<>();
+    private final Map<String, Uni<CasdoorConfig>> tenantsByHost = new HashMap<>();
+    private final Map<String, Uni<CasdoorConfig>> tenantsByIssuerAndOwner = new HashMap<>();
+    private final Map<String, Uni<CasdoorConfig>> tenantsByOwner = new HashMap<>();
 
     public DefaultCasdoorConfigResolver(CasdoorConfig config) {
         this.casdoorConfig = validateAndPrepareConfig(config);
+        this.defaultTenant = Uni.createFrom().item(casdoorConfig);
+
+        Map<String, String> idsByIssuerAndOwner = new HashMap<>();
+        Set<String> sharedOwners = new HashSet<>();
+        for (Map.Entry<String, CasdoorConfig.Tenant> entry : config.tenants().entrySet()) {
+            CasdoorTenantConfig tenant = new CasdoorTenantConfig(entry.getKey(), config, entry.getValue());
+            CasdoorConfigUtil.validateConfig(tenant);
+            Uni<CasdoorConfig> resolved = Uni.createFrom().item(tenant);
+            tenantsById.put(entry.getKey(), resolved);
+            for (String host : entry.getValue().hosts().orElse(List.of(entry.getKey()))) {
+                tenantsByHost.put(host.toLowerCase(), resolved);
+            }
+            String owner = tenant.organizationName().orElse(null);
+            if (owner == null) {
+                continue;
+            }
+            // tenants usually share the endpoint they inherit, so the issuer alone does not tell them apart
+            String issuerAndOwner = issuerAndOwner(tenant.endpoint().orElse(null), owner);
+            String other = idsByIssuerAndOwner.put(issuerAndOwner, entry.getKey());
+            if (other != null && config.tenancy().resolution() == CasdoorConfig.TenantResolution.TOKEN) {
+                throw new ConfigurationException("Casdoor tenants " + other + " and " + entry.getKey()
+                        + " have the same endpoint and organization, so their tokens cannot be told apart");
+            }
+            tenantsByIssuerAndOwner.put(issuerAndOwner, resolved);
+            if (tenantsByOwner.put(owner, resolved) != null) {
+                sharedOwners.add(owner);
+            }
+        }
+        // an organization served by several endpoints only resolves together with the issuer
+        tenantsByOwner.keySet().removeAll(sharedOwners);
     }
 
     @Override
     public Uni<CasdoorConfig> resolveCasdoorConfig() {
-        return Uni.createFrom().item(casdoorConfig);
+        return defaultTenant;
+    }
+
+    /**
+     * Resolves the tenant of the request according to `quarkus.casdoor.tenancy.resolution`.
+     * Tenant configurations are built once, at startup, so resolving a tenant is a map lookup.
+     */
+    @Override
+    public Uni<CasdoorConfig> resolveCasdoorConfig(RoutingContext routingContext) {
+        if (tenantsById.isEmpty()) {
+            return defaultTenant;
+        }
+
+        Uni<CasdoorConfig> tenant;
+        switch (casdoorConfig.tenancy().resolution()) {
+            case HOST:
+                String host = routingContext.request().authority() != null
+                        ? routingContext.request().authority().host() : null;
+                tenant = host != null ? tenantsByHost.get(host.toLowerCase()) : null;
+                break;
+            case PATH:
+                tenant = tenantsById.get(firstSegment(routingContext.normalizedPath()));
+                break;
+            case TOKEN:
+                tenant = resolveByToken(routingContext.request().getHeader(HttpHeaders.AUTHORIZATION));
+                break;
+            default:
+                String id = routingContext.request().getHeader(casdoorConfig.tenancy().header());
+                tenant = id != null ? tenantsById.get(id) : null;
+        }
+        return tenant != null ? tenant : defaultTenant;
+    }
+
+    /**
+     * Resolves the tenant from the unverified claims of the bearer token: the tenant whose endpoint and organization
+     * are the token's `iss` and `owner`, or else the only tenant of the token's `owner`.
+     * The claims only select the keys the token is then verified with.
+     */
+    private Uni<CasdoorConfig> resolveByToken(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        CasdoorClaims claims = CasdoorTokenUtil.decodeClaims(authorization.substring(7).trim());
+        if (claims == null || claims.owner() == null) {
+            return null;
+        }
+        Uni<CasdoorConfig> tenant = tenantsByIssuerAndOwner.get(issuerAndOwner(claims.issuer(), claims.owner()));
+        return tenant != null ? tenant : tenantsByOwner.get(claims.owner());
+    }
+
+    private static String issuerAndOwner(String issuer, String owner) {
+        return (issuer != null ? issuer : "") + ' ' + owner;
+    }
+
+    private static String firstSegment(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return path.substring(start, end < 0 ? path.length() : end);
     }
 
     /**
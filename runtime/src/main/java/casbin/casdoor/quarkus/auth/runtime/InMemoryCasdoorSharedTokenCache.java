@@ -0,0 +1,102 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A {@link CasdoorSharedTokenCache} kept in the JVM. Entries are stored serialized, exactly as they would be
+ * shared, which makes it a stand-in for a shared store in development and tests.
+ */
+public class InMemoryCasdoorSharedTokenCache implements CasdoorSharedTokenCache {
+
+    private final Cache<String, Entry> cache;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public InMemoryCasdoorSharedTokenCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .build();
+    }
+
+    @Override
+    public Uni<byte[]> get(String key) {
+        Entry entry = cache.getIfPresent(key);
+        return Uni.createFrom().item(entry == null ? null : entry.value);
+    }
+
+    @Override
+    public Uni<Void> put(String key, byte[] value, Duration ttl) {
+        cache.put(key, new Entry(value, ttl.toNanos()));
+        return Uni.createFrom().voidItem();
+    }
+
+    @Override
+    public Uni<Void> delete(String key) {
+        cache.invalidate(key);
+        return Uni.createFrom().voidItem();
+    }
+
+    @Override
+    public Uni<Void> publish(String message) {
+        for (Consumer<String> listener : listeners) {
+            listener.accept(message);
+        }
+        return Uni.createFrom().voidItem();
+    }
+
+    @Override
+    public void onMessage(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private static final class Entry {
+
+        private final byte[] value;
+        private final long ttlNanos;
+
+        Entry(byte[] value, long ttlNanos) {
+            this.value = value;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.inject.Singleton;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes Casdoor security policy measurements to Micrometer.
+ * Meters are created upfront, so recording does not look anything up on the request path.
+ */
+@Singleton
+public class MicrometerCasdoorMetrics implements CasdoorMetrics {
+
+    private final Timer verified;
+    private final Map<CasdoorTokenException.Reason, Timer> rejected = new EnumMap<>(CasdoorTokenException.Reason.class);
+    private final Map<CasdoorDecision, Counter> decisions = new EnumMap<>(CasdoorDecision.class);
+    private final Timer keyRefreshSucceeded;
+    private final Timer keyRefreshFailed;
+    private final Timer sessionRefreshSucceeded;
+    private final Timer sessionRefreshFailed;
+
+    public MicrometerCasdoorMetrics(MeterRegistry registry, CasdoorTokenCache tokenCache, CasdoorConfig config) {
+        this.verified = verificationTimer(registry, "verified");
+        for (CasdoorTokenException.Reason reason : CasdoorTokenException.Reason.values()) {
+            rejected.put(reason, verificationTimer(registry, reason.name().toLowerCase()));
+        }
+        for (CasdoorDecision decision : CasdoorDecision.values()) {
+            decisions.put(decision, Counter.builder("casdoor.authorization.decisions")
+                    .description("Authorization decisions of the Casdoor security policy")
+                    .tag("outcome", decision.isPermitted() ? "permit" : "deny")
+                    .tag("reason", decision.name().toLowerCase())
+                    .register(registry));
+        }
+        this.keyRefreshSucceeded = keyRefreshTimer(registry, "success");
+        this.keyRefreshFailed = keyRefreshTimer(registry, "failure");
+        this.sessionRefreshSucceeded = sessionRefreshTimer(registry, "success");
+        this.sessionRefreshFailed = sessionRefreshTimer(registry, "failure");
+
+        if (!tokenCache.isEnabled() || !config.tokenCache().recordStats()) {
+            return;
+        }
+        FunctionCounter.builder("casdoor.token.cache.requests", tokenCache, cache -> cache.stats().hitCount())
+                .description("Verified-token cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("casdoor.token.cache.requests", tokenCache, cache -> cache.stats().missCount())
+                .description("Verified-token cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("casdoor.token.cache.hit.ratio", tokenCache, cache -> cache.stats().hitRate())
+                .description("Verified-token cache hit ratio")
+                .register(registry);
+    }
+
+    @Override
+    public void recordVerification(long durationNanos, CasdoorTokenException.Reason failure) {
+        (failure == null ? verified : rejected.get(failure)).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordDecision(CasdoorDecision decision) {
+        decisions.get(decision).increment();
+    }
+
+    @Override
+    public void recordKeyRefresh(long durationNanos, boolean success) {
+        (success ? keyRefreshSucceeded : keyRefreshFailed).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordSessionRefresh(long durationNanos, boolean success) {
+        (success ? sessionRefreshSucceeded : sessionRefreshFailed).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer verificationTimer(MeterRegistry registry, String result) {
+        return Timer.builder("casdoor.token.verification")
+                .description("Token signature verification latency")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer keyRefreshTimer(MeterRegistry registry, String result) {
+        return Timer.builder("casdoor.keys.refresh")
+                .description("Certificate and JWKS refresh latency")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer sessionRefreshTimer(MeterRegistry registry, String result) {
+        return Timer.builder("casdoor.session.refresh")
+                .description("Background refresh latency of web-app session tokens")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,210 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.casbin.casdoor.entity.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Verifies compact JWS tokens directly with the JDK, without going through a general-purpose JWT library.
+ * Only RS256 and ES256 signatures are accepted. {@link Signature} instances are pooled rather than
+ * kept per thread, so they are also reused by virtual threads, and only the claims needed for authorization
+ * are decoded.
+ */
+public class NativeCasdoorTokenVerifier implements CasdoorTokenVerifier {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    private final CasdoorKeyMaterialHolder keyMaterial;
+
+    public NativeCasdoorTokenVerifier(CasdoorKeyMaterialHolder keyMaterial) {
+        this.keyMaterial = keyMaterial;
+    }
+
+    @Override
+    public long fingerprint() {
+        return keyMaterial.get().fingerprint();
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        int first = indexOf(bytes, 0);
+        int second = first < 0 ? -1 : indexOf(bytes, first + 1);
+        if (first <= 0 || second < 0 || indexOf(bytes, second + 1) >= 0) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.MALFORMED, "Token is not a compact JWS");
+        }
+
+        Header header = readHeader(decode(bytes, 0, first));
+        Algorithm algorithm = header.algorithm;
+        PublicKey key = keyMaterial.get().publicKey(header.kid);
+        if (key == null) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.UNKNOWN_KEY, "No key is available for kid %s", header.kid);
+        }
+        if (!algorithm.keyAlgorithm.equals(key.getAlgorithm())) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.UNSUPPORTED_ALGORITHM,
+                    "%s token cannot be verified with a %s key", algorithm, key.getAlgorithm());
+        }
+
+        verifySignature(algorithm, key, bytes, second, decode(bytes, second + 1, bytes.length));
+
+        CasdoorClaims claims = CasdoorClaims.parse(decode(bytes, first + 1, second));
+        long now = System.currentTimeMillis() / 1000;
+        if (claims.expiresAt() > 0 && claims.expiresAt() <= now) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.EXPIRED, "Token has expired");
+        }
+        if (claims.notBefore() > now) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.NOT_YET_VALID, "Token is not valid yet");
+        }
+
+        User user = new User();
+        user.name = claims.name();
+        user.owner = claims.owner();
+        return new VerifiedToken(user, claims.expiresAt(), claims.roles(), claims.permissions(),
+                claims.clientId(), claims.tokenId(), claims.issuedAt());
+    }
+
+    private static void verifySignature(Algorithm algorithm, PublicKey key, byte[] token, int signedLength,
+            byte[] signature) {
+        try {
+            Signature verifier = algorithm.acquire();
+            try {
+                verifier.initVerify(key);
+                verifier.update(token, 0, signedLength);
+                if (!verifier.verify(signature)) {
+                    throw new CasdoorTokenException(CasdoorTokenException.Reason.INVALID_SIGNATURE, "Token signature does not match");
+                }
+            } finally {
+                algorithm.release(verifier);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.INVALID_SIGNATURE, "Token signature cannot be verified", e);
+        }
+    }
+
+    private static Header readHeader(byte[] header) {
+        String alg = null;
+        String kid = null;
+        try (JsonParser parser = JSON.createParser(header)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new CasdoorTokenException(CasdoorTokenException.Reason.MALFORMED, "Token header is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("alg".equals(field) && value == JsonToken.VALUE_STRING) {
+                    alg = parser.getText();
+                } else if ("kid".equals(field) && value == JsonToken.VALUE_STRING) {
+                    kid = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.MALFORMED, "Token header is not valid JSON", e);
+        }
+
+        if ("RS256".equals(alg)) {
+            return new Header(Algorithm.RS256, kid);
+        }
+        if ("ES256".equals(alg)) {
+            return new Header(Algorithm.ES256, kid);
+        }
+        throw new CasdoorTokenException(CasdoorTokenException.Reason.UNSUPPORTED_ALGORITHM, "Unsupported token algorithm: %s", alg);
+    }
+
+    private static byte[] decode(byte[] token, int from, int to) {
+        try {
+            ByteBuffer decoded = BASE64_URL.decode(ByteBuffer.wrap(token, from, to - from));
+            return decoded.array().length == decoded.remaining() ? decoded.array()
+                    : Arrays.copyOf(decoded.array(), decoded.remaining());
+        } catch (IllegalArgumentException e) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.MALFORMED, "Token is not base64url encoded", e);
+        }
+    }
+
+    private static int indexOf(byte[] token, int from) {
+        for (int i = from; i < token.length; i++) {
+            if (token[i] == '.') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Header {
+
+        private final Algorithm algorithm;
+        private final String kid;
+
+        Header(Algorithm algorithm, String kid) {
+            this.algorithm = algorithm;
+            this.kid = kid;
+        }
+    }
+
+    enum Algorithm {
+
+        RS256("SHA256withRSA", "RSA"),
+        ES256("SHA256withECDSAinP1363Format", "EC");
+
+        private final String jcaName;
+        private final String keyAlgorithm;
+        private final BlockingQueue<Signature> pool = new ArrayBlockingQueue<>(
+                2 * Runtime.getRuntime().availableProcessors());
+
+        Algorithm(String jcaName, String keyAlgorithm) {
+            this.jcaName = jcaName;
+            this.keyAlgorithm = keyAlgorithm;
+        }
+
+        /**
+         * @return a pooled signature, or a new one when all pooled signatures are in use
+         */
+        Signature acquire() {
+            Signature signature = pool.poll();
+            if (signature != null) {
+                return signature;
+            }
+            try {
+                return Signature.getInstance(jcaName);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(jcaName + " is not available", e);
+            }
+        }
+
+        /**
+         * Returns a signature to the pool, or drops it when the pool is full. The signature is reinitialized
+         * with the next key before it is used again.
+         */
+        void release(Signature signature) {
+            pool.offer(signature);
+        }
+    }
+}
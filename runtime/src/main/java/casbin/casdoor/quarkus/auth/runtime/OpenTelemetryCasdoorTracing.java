@@ -0,0 +1,49 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.inject.Singleton;
+
+/**
+ * Creates OpenTelemetry spans around token verification.
+ */
+@Singleton
+public class OpenTelemetryCasdoorTracing implements CasdoorTracing {
+
+    private final Tracer tracer;
+
+    public OpenTelemetryCasdoorTracing(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer("quarkus-casdoor-auth");
+    }
+
+    @Override
+    public Span startVerification(String verifier) {
+        io.opentelemetry.api.trace.Span span = tracer.spanBuilder("casdoor.token.verify")
+                .setAttribute("casdoor.verifier", verifier)
+                .startSpan();
+        return failure -> {
+            if (failure instanceof CasdoorTokenException) {
+                span.setStatus(StatusCode.ERROR, ((CasdoorTokenException) failure).reason().name());
+            } else if (failure != null) {
+                span.recordException(failure);
+                span.setStatus(StatusCode.ERROR);
+            }
+            span.end();
+        };
+    }
+}
@@ -0,0 +1,281 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Redis;
+import io.vertx.redis.client.RedisConnection;
+import io.vertx.redis.client.RedisOptions;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import io.vertx.redis.client.ResponseType;
+import org.jboss.logging.Logger;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A {@link CasdoorSharedTokenCache} stored in Redis, through the Vert.x Redis client.
+ * Entries are plain `SET ... PX` keys, so they expire in Redis with their tokens. Commands are pipelined on one
+ * connection. Messages are published on a channel that every replica subscribes to on a second connection.
+ * After the subscription is lost, listeners are told that messages may have been missed.
+ * At most `max-pending-commands` commands wait for a reply, further commands fail immediately, and once the oldest
+ * of them has waited longer than `stall-timeout` the connection is closed and opened again.
+ * While Redis is unreachable, commands fail immediately and a connection is attempted again at most once per
+ * reconnect interval.
+ */
+public class RedisCasdoorSharedTokenCache implements CasdoorSharedTokenCache {
+
+    private static final Logger LOG = Logger.getLogger(RedisCasdoorSharedTokenCache.class);
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2000;
+
+    private final Vertx vertx;
+    private final RedisOptions options;
+    private final Redis subscriber;
+    private final String keyPrefix;
+    private final String channel;
+    private final long reconnectIntervalNanos;
+    private final long stallTimeoutNanos;
+    private final int maxPendingCommands;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    private Commands commands;
+    private long retryAt = System.nanoTime();
+    private volatile boolean closed;
+    private volatile RedisConnection subscription;
+
+    public RedisCasdoorSharedTokenCache(Vertx vertx, CasdoorConfig.SharedCache config) {
+        URI url = URI.create(config.url());
+        if (!"redis".equals(url.getScheme()) || url.getHost() == null) {
+            throw new IllegalArgumentException("Invalid Redis URL: " + config.url());
+        }
+        this.vertx = vertx;
+        this.keyPrefix = config.keyPrefix();
+        this.channel = config.channel();
+        this.reconnectIntervalNanos = config.reconnectInterval().toNanos();
+        this.stallTimeoutNanos = config.stallTimeout().toNanos();
+        this.maxPendingCommands = config.maxPendingCommands();
+        this.options = new RedisOptions()
+                .setConnectionString(config.url())
+                .setMaxPoolSize(1)
+                .setMaxPoolWaiting(maxPendingCommands)
+                .setMaxWaitingHandlers(maxPendingCommands);
+        options.getNetClientOptions()
+                .setConnectTimeout(CONNECT_TIMEOUT_MILLIS)
+                .setTcpNoDelay(true)
+                .setTcpKeepAlive(true);
+        this.subscriber = Redis.createClient(vertx, new RedisOptions(options));
+        subscribe(false);
+    }
+
+    @Override
+    public Uni<byte[]> get(String key) {
+        return Uni.createFrom().completionStage(() -> execute(Request.cmd(Command.GET).arg(keyPrefix + key))
+                .map(value -> value == null ? null : value.toBytes())
+                .toCompletionStage());
+    }
+
+    @Override
+    public Uni<Void> put(String key, byte[] value, Duration ttl) {
+        long millis = ttl.toMillis();
+        if (millis <= 0) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().completionStage(() -> execute(Request.cmd(Command.SET)
+                .arg(keyPrefix + key).arg(value).arg("PX").arg(millis))
+                .<Void> mapEmpty()
+                .toCompletionStage());
+    }
+
+    @Override
+    public Uni<Void> delete(String key) {
+        return Uni.createFrom().completionStage(() -> execute(Request.cmd(Command.DEL).arg(keyPrefix + key))
+                .<Void> mapEmpty()
+                .toCompletionStage());
+    }
+
+    @Override
+    public Uni<Void> publish(String message) {
+        return Uni.createFrom().completionStage(() -> execute(Request.cmd(Command.PUBLISH).arg(channel).arg(message))
+                .<Void> mapEmpty()
+                .toCompletionStage());
+    }
+
+    @Override
+    public void onMessage(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Closes both connections.
+     */
+    public void close() {
+        Commands current;
+        synchronized (this) {
+            closed = true;
+            current = commands;
+            commands = null;
+        }
+        if (current != null) {
+            current.client.close();
+        }
+        subscriber.close();
+    }
+
+    private Future<Response> execute(Request request) {
+        Commands current;
+        synchronized (this) {
+            if (closed) {
+                return Future.failedFuture(new VertxException("Redis client is closed", true));
+            }
+            if (commands != null && commands.stalled()) {
+                LOG.warnf("Redis at %s has not replied for %d ms, reconnecting", commands.address(),
+                        stallTimeoutNanos / 1_000_000);
+                commands.client.close();
+                commands = null;
+            }
+            if (commands == null) {
+                if (System.nanoTime() - retryAt < 0) {
+                    return Future.failedFuture(new VertxException("Redis is unavailable", true));
+                }
+                commands = new Commands();
+            }
+            current = commands;
+        }
+        return current.send(request);
+    }
+
+    private synchronized void failed(Commands failed) {
+        if (commands == failed) {
+            commands = null;
+            retryAt = System.nanoTime() + reconnectIntervalNanos;
+        }
+    }
+
+    private synchronized void disconnected(Commands closed) {
+        if (commands == closed) {
+            commands = null;
+        }
+    }
+
+    /**
+     * Subscribes to the channel, and subscribes again whenever the connection is lost.
+     *
+     * @param resubscribe whether a subscription was lost, in which case messages may have been missed
+     */
+    private void subscribe(boolean resubscribe) {
+        if (closed) {
+            return;
+        }
+        subscriber.connect().onComplete(result -> {
+            if (result.failed()) {
+                LOG.warnf("Cannot subscribe to Redis channel %s: %s", channel, result.cause().getMessage());
+                vertx.setTimer(Math.max(1, reconnectIntervalNanos / 1_000_000), timer -> subscribe(true));
+                return;
+            }
+            RedisConnection connection = result.result();
+            subscription = connection;
+            connection.handler(this::published);
+            connection.exceptionHandler(failure -> connection.close());
+            connection.endHandler(ignored -> {
+                subscription = null;
+                if (!closed) {
+                    vertx.setTimer(Math.max(1, reconnectIntervalNanos / 1_000_000), timer -> subscribe(true));
+                }
+            });
+            connection.send(Request.cmd(Command.SUBSCRIBE).arg(channel))
+                    .onFailure(failure -> connection.close());
+            if (resubscribe) {
+                notifyListeners(null);
+            }
+        });
+    }
+
+    private void published(Response reply) {
+        if (reply == null || (reply.type() != ResponseType.PUSH && reply.type() != ResponseType.MULTI)) {
+            return;
+        }
+        if (reply.size() == 3 && "message".equals(reply.get(0).toString()) && reply.get(2) != null) {
+            notifyListeners(reply.get(2).toString());
+        }
+    }
+
+    private void notifyListeners(String message) {
+        for (Consumer<String> listener : listeners) {
+            listener.accept(message);
+        }
+    }
+
+    /**
+     * A connection for commands, with its own client so that closing a stuck connection fails every command
+     * waiting on it. Pending commands are counted from the moment they are issued, including while connecting.
+     */
+    private final class Commands {
+
+        private final Redis client = Redis.createClient(vertx, new RedisOptions(options));
+        private final Future<RedisConnection> connection;
+        private int pending;
+        private long progressAt;
+
+        Commands() {
+            connection = client.connect();
+            connection.onSuccess(opened -> {
+                opened.exceptionHandler(failure -> LOG.debugf("Redis connection failed: %s", failure.getMessage()));
+                opened.endHandler(ignored -> disconnected(this));
+            });
+            connection.onFailure(failure -> {
+                failed(this);
+                client.close();
+                LOG.warnf("Cannot connect to Redis at %s: %s", address(), failure.getMessage());
+            });
+        }
+
+        Future<Response> send(Request request) {
+            synchronized (this) {
+                if (pending >= maxPendingCommands) {
+                    return Future.failedFuture(new VertxException("Too many pending Redis commands", true));
+                }
+                if (pending++ == 0) {
+                    progressAt = System.nanoTime();
+                }
+            }
+            return connection.compose(opened -> opened.send(request)).andThen(ignored -> replied());
+        }
+
+        /**
+         * @return true if commands are pending and none has been answered for longer than the stall timeout
+         */
+        synchronized boolean stalled() {
+            return pending > 0 && System.nanoTime() - progressAt > stallTimeoutNanos;
+        }
+
+        String address() {
+            return options.getEndpoint().replaceFirst("//[^@/]*@", "//");
+        }
+
+        private synchronized void replied() {
+            pending--;
+            progressAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.casbin.casdoor.entity.User;
+import org.casbin.casdoor.exception.AuthException;
+import org.casbin.casdoor.service.AuthService;
+
+import java.util.Collections;
+import java.util.function.Function;
+
+/**
+ * Verifies tokens with {@link AuthService#parseJwtToken(String)} from the Casdoor Java SDK.
+ * An `AuthService` is bound to one certificate, so when the certificate of the key material
+ * changes, the next verification builds a new one.
+ */
+public class SdkCasdoorTokenVerifier implements CasdoorTokenVerifier {
+
+    private final CasdoorKeyMaterialHolder keyMaterial;
+    private final Function<String, AuthService> factory;
+    private volatile Bound bound;
+
+    public SdkCasdoorTokenVerifier(AuthService authService) {
+        this(authService, null, null);
+    }
+
+    /**
+     * @param authService the auth service bound to the current certificate of the key material
+     * @param keyMaterial the key material, or null if the certificate never changes
+     * @param factory creates an auth service for a new certificate
+     */
+    public SdkCasdoorTokenVerifier(AuthService authService, CasdoorKeyMaterialHolder keyMaterial,
+            Function<String, AuthService> factory) {
+        this.keyMaterial = keyMaterial;
+        this.factory = factory;
+        this.bound = new Bound(keyMaterial != null ? keyMaterial.get().certificate() : null, authService);
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        User user;
+        try {
+            user = authService().parseJwtToken(token);
+        } catch (AuthException e) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.INVALID, e.getMessage(), e);
+        }
+
+        if (user == null) {
+            throw new CasdoorTokenException(CasdoorTokenException.Reason.INVALID, "Token does not carry a user");
+        }
+
+        CasdoorClaims claims = CasdoorTokenUtil.decodeClaims(token);
+        if (claims == null) {
+            return new VerifiedToken(user, 0, Collections.emptySet(), Collections.emptySet(), null, null, 0);
+        }
+        return new VerifiedToken(user, claims.expiresAt(), claims.roles(), claims.permissions(),
+                claims.clientId(), claims.tokenId(), claims.issuedAt());
+    }
+
+    @Override
+    public long fingerprint() {
+        return keyMaterial != null ? keyMaterial.get().fingerprint() : 0;
+    }
+
+    private AuthService authService() {
+        Bound current = bound;
+        if (keyMaterial == null) {
+            return current.authService;
+        }
+        String certificate = keyMaterial.get().certificate();
+        // compared by identity, every update of the key material publishes a new certificate string
+        if (certificate != current.certificate) {
+            // concurrent verifications may each build one, the last one wins
+            current = new Bound(certificate, factory.apply(certificate));
+            bound = current;
+        }
+        return current.authService;
+    }
+
+    private static final class Bound {
+
+        private final String certificate;
+        private final AuthService authService;
+
+        private Bound(String certificate, AuthService authService) {
+            this.certificate = certificate;
+            this.authService = authService;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.casbin.casdoor.entity.User;
+
+import java.util.Set;
+
+/**
+ * A token whose signature has been verified, together with the Casdoor user it carries.
+ */
+public final class VerifiedToken {
+
+    private final User user;
+    private final long expiresAt;
+    private final Set<String> roles;
+    private final Set<String> permissions;
+    private final String clientId;
+    private final String tokenId;
+    private final long issuedAt;
+
+    public VerifiedToken(User user, long expiresAt, Set<String> roles, Set<String> permissions, String clientId,
+            String tokenId, long issuedAt) {
+        this.user = user;
+        this.expiresAt = expiresAt;
+        this.roles = roles;
+        this.permissions = permissions;
+        this.clientId = clientId;
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+    }
+
+    /**
+     * @return the Casdoor user carried by the token
+     */
+    public User user() {
+        return user;
+    }
+
+    /**
+     * @return the token expiry in epoch seconds, or 0 if the token does not expire
+     */
+    public long expiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return the names of the user's Casdoor roles
+     */
+    public Set<String> roles() {
+        return roles;
+    }
+
+    /**
+     * @return the names of the user's Casdoor permissions
+     */
+    public Set<String> permissions() {
+        return permissions;
+    }
+
+    /**
+     * @return the client id of the application the token was issued to, or null if unknown
+     */
+    public String clientId() {
+        return clientId;
+    }
+
+    /**
+     * @return the token id, from the `jti` claim, or null if unknown
+     */
+    public String tokenId() {
+        return tokenId;
+    }
+
+    /**
+     * @return the time the token was issued in epoch seconds, or 0 if unknown
+     */
+    public long issuedAt() {
+        return issuedAt;
+    }
+}
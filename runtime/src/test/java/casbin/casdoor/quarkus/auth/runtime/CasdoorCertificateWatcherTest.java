@@ -0,0 +1,149 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorCertificateWatcherTest {
+
+    private static final TestTokens PREVIOUS = new TestTokens("previous");
+    private static final TestTokens ROTATED = new TestTokens("rotated");
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private CasdoorKeyMaterialHolder keyMaterial;
+    private NativeCasdoorTokenVerifier verifier;
+    private CasdoorCertificateWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = directory.resolve("certificate.pem");
+        Files.writeString(file, PREVIOUS.publicKeyPem());
+        CasdoorConfig config = CasdoorTestConfig.of(
+                "certificate", file.toString(),
+                "certificate-reload.poll-interval", "100MS");
+        CasdoorConfigResolver resolver = CasdoorTestConfig.resolver(config);
+        keyMaterial = new CasdoorKeyMaterialHolder(resolver);
+        verifier = new NativeCasdoorTokenVerifier(keyMaterial);
+        CasdoorSharedTokens sharedTokens = new CasdoorSharedTokens(CasdoorSharedTokenCache.NONE,
+                new CasdoorTokenCache(config), keyMaterial, config);
+        watcher = new CasdoorCertificateWatcher(keyMaterial, sharedTokens, new CasdoorRejectedTokenCache(config),
+                resolver, CasdoorMetrics.NOOP);
+        watcher.onStart(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.onStop(null);
+    }
+
+    @Test
+    void rewrittenCertificateVerifiesTokens() throws Exception {
+        String previous = PREVIOUS.sign("alice");
+        String rotated = ROTATED.sign("alice");
+        assertEquals("alice", verifier.verify(previous).user().name);
+
+        Files.writeString(file, ROTATED.publicKeyPem());
+        await(() -> ROTATED.publicKey().equals(keyMaterial.get().publicKey()));
+
+        assertEquals("alice", verifier.verify(rotated).user().name);
+        CasdoorTokenException rejected = assertThrows(CasdoorTokenException.class, () -> verifier.verify(previous));
+        assertEquals(CasdoorTokenException.Reason.INVALID_SIGNATURE, rejected.reason());
+    }
+
+    @Test
+    void invalidCertificateIsIgnored() throws Exception {
+        CasdoorKeyMaterial loaded = keyMaterial.get();
+
+        Files.writeString(file, "-----BEGIN PUBLIC KEY-----\nbm90IGEga2V5\n-----END PUBLIC KEY-----\n");
+        // several poll intervals, so the file is read whether or not file system events are delivered
+        Thread.sleep(1000);
+
+        assertSame(loaded, keyMaterial.get());
+        assertEquals("alice", verifier.verify(PREVIOUS.sign("alice")).user().name);
+
+        Files.writeString(file, ROTATED.publicKeyPem());
+        await(() -> ROTATED.publicKey().equals(keyMaterial.get().publicKey()));
+    }
+
+    @Test
+    void requestsInFlightCompleteDuringTheSwap() throws Exception {
+        String previous = PREVIOUS.sign("alice");
+        // a request in flight has read the key material before the swap and verifies with it
+        CasdoorKeyMaterial inFlight = keyMaterial.get();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger verified = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] requests = new Future<?>[4];
+            for (int i = 0; i < requests.length; i++) {
+                requests[i] = executor.submit(() -> {
+                    while (running.get()) {
+                        try {
+                            verifier.verify(previous);
+                            verified.incrementAndGet();
+                        } catch (CasdoorTokenException e) {
+                            // once the swap is published, the previous key no longer verifies, nothing else fails
+                            assertEquals(CasdoorTokenException.Reason.INVALID_SIGNATURE, e.reason());
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            await(() -> verified.get() > 0);
+            Files.writeString(file, ROTATED.publicKeyPem());
+            await(() -> ROTATED.publicKey().equals(keyMaterial.get().publicKey()));
+            running.set(false);
+            for (Future<?> request : requests) {
+                request.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(PREVIOUS.publicKey(), inFlight.publicKey(null));
+        assertEquals(ROTATED.publicKey(), keyMaterial.get().publicKey(null));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
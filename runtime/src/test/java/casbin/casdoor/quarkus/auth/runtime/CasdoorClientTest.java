@@ -0,0 +1,176 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.smallrye.mutiny.TimeoutException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.Vertx;
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorClientTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    private CasdoorStub casdoor;
+    private Vertx vertx;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        casdoor = new CasdoorStub();
+        vertx = Vertx.vertx();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.closeAndAwait();
+        casdoor.close();
+    }
+
+    @Test
+    void unwrapsTheResponseEnvelope() {
+        casdoor.router().get("/api/get-user").handler(context -> context.json(new JsonObject()
+                .put("status", "ok")
+                .put("data", new JsonObject().put("owner", "org").put("name", context.queryParams().get("id")))));
+        casdoor.router().get("/api/get-users").handler(context -> context.json(new JsonObject()
+                .put("status", "ok")
+                .put("data", List.of(new JsonObject().put("name", "alice"), new JsonObject().put("name", "bob")))));
+
+        CasdoorClient client = client();
+
+        assertEquals("org/alice", client.getUser("alice").await().atMost(WAIT).name);
+        List<User> users = client.getUsers().await().atMost(WAIT);
+        assertEquals(List.of("alice", "bob"), users.stream().map(user -> user.name).toList());
+    }
+
+    @Test
+    void missingUserIsNull() {
+        casdoor.router().get("/api/get-user").handler(context -> context.json(new JsonObject()
+                .put("status", "ok")
+                .putNull("data")));
+
+        assertNull(client().getUser("nobody").await().atMost(WAIT));
+    }
+
+    @Test
+    void errorEnvelopeFailsWithoutRetry() {
+        casdoor.router().get("/api/get-user").handler(context -> context.json(new JsonObject()
+                .put("status", "error")
+                .put("msg", "no such organization")));
+
+        CasdoorClientException failure = assertThrows(CasdoorClientException.class,
+                () -> client().getUser("alice").await().atMost(WAIT));
+        assertEquals(200, failure.statusCode());
+        assertTrue(failure.getMessage().contains("no such organization"));
+        assertEquals(1, casdoor.requests("/api/get-user"));
+    }
+
+    @Test
+    void serverErrorsAreRetriedWithBackoff() {
+        AtomicInteger attempts = new AtomicInteger();
+        casdoor.router().get("/api/get-user").handler(context -> {
+            if (attempts.incrementAndGet() < 3) {
+                context.response().setStatusCode(503).end();
+            } else {
+                context.json(new JsonObject().put("status", "ok").put("data", new JsonObject().put("name", "alice")));
+            }
+        });
+
+        long start = System.nanoTime();
+        User user = client("client.max-retries", "2", "client.retry-backoff", "100MS")
+                .getUser("alice").await().atMost(WAIT);
+
+        assertEquals("alice", user.name);
+        assertEquals(3, casdoor.requests("/api/get-user"));
+        // two jittered backoffs of 100ms then 200ms, each at least halved by the jitter
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 150);
+    }
+
+    @Test
+    void retriesStopAtMaxRetries() {
+        casdoor.router().get("/api/get-user").handler(context -> context.response().setStatusCode(500).end());
+
+        assertThrows(RuntimeException.class, () -> client("client.max-retries", "2", "client.retry-backoff", "10MS")
+                .getUser("alice").await().atMost(WAIT));
+        assertEquals(3, casdoor.requests("/api/get-user"));
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        casdoor.router().get("/api/get-user").handler(context -> context.response().setStatusCode(404).end());
+
+        CasdoorClientException failure = assertThrows(CasdoorClientException.class,
+                () -> client().getUser("alice").await().atMost(WAIT));
+        assertEquals(404, failure.statusCode());
+        assertFalse(failure.isRetryable());
+        assertEquals(1, casdoor.requests("/api/get-user"));
+    }
+
+    @Test
+    void tokenRequestsAreNeverRetried() {
+        casdoor.router().post("/api/login/oauth/access_token")
+                .handler(context -> context.response().setStatusCode(503).end());
+
+        CasdoorClient client = client("client.max-retries", "3", "client.retry-backoff", "10MS");
+
+        assertThrows(CasdoorClientException.class, () -> client.refreshToken("rt").await().atMost(WAIT));
+        assertThrows(CasdoorClientException.class, () -> client.exchangeCode("code").await().atMost(WAIT));
+        assertEquals(2, casdoor.requests("/api/login/oauth/access_token"));
+    }
+
+    @Test
+    void tokenErrorResponsesFail() {
+        casdoor.router().post("/api/login/oauth/access_token").handler(context -> context.json(new JsonObject()
+                .put("error", "invalid_grant")));
+
+        CasdoorClientException failure = assertThrows(CasdoorClientException.class,
+                () -> client().refreshToken("rt").await().atMost(WAIT));
+        assertTrue(failure.getMessage().contains("invalid_grant"));
+    }
+
+    @Test
+    void requestsTimeOut() {
+        // never answers
+        casdoor.router().get("/api/get-user").handler(context -> {
+        });
+
+        long start = System.nanoTime();
+        assertThrows(TimeoutException.class, () -> client("client.request-timeout", "300MS")
+                .getUser("alice").await().atMost(WAIT));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2000);
+    }
+
+    private CasdoorClient client(String... properties) {
+        String[] all = new String[properties.length + 4];
+        all[0] = "endpoint";
+        all[1] = casdoor.endpoint();
+        all[2] = "organization-name";
+        all[3] = "org";
+        System.arraycopy(properties, 0, all, 4, properties.length);
+        return new CasdoorClient(vertx, CasdoorTestConfig.resolver(CasdoorTestConfig.of(all)));
+    }
+}
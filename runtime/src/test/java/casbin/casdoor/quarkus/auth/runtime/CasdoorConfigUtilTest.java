@@ -0,0 +1,34 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CasdoorConfigUtilTest {
+
+    @Test
+    void jwksRequiresTheNativeVerifier() {
+        assertThrows(ConfigurationException.class,
+                () -> CasdoorConfigUtil.validateConfig(CasdoorTestConfig.of("jwks.enabled", "true")));
+        assertThrows(ConfigurationException.class, () -> CasdoorConfigUtil.validateConfig(CasdoorTestConfig.of(
+                "jwks.enabled", "true", "verification.verifier", "oidc")));
+        assertDoesNotThrow(() -> CasdoorConfigUtil.validateConfig(CasdoorTestConfig.of(
+                "jwks.enabled", "true", "verification.verifier", "native")));
+    }
+}
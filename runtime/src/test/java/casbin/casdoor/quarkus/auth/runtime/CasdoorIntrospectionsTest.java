@@ -0,0 +1,114 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorIntrospectionsTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+    private static final String INTROSPECT = "/api/login/oauth/introspect";
+    private static final String TOKEN = "0123456789abcdef0123456789abcdef";
+
+    private CasdoorStub casdoor;
+    private Vertx vertx;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        casdoor = new CasdoorStub();
+        vertx = Vertx.vertx();
+        casdoor.router().post(INTROSPECT).handler(context -> casdoor.later(context, 100,
+                ignored -> context.json(active("alice"))));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.closeAndAwait();
+        casdoor.close();
+    }
+
+    @Test
+    void concurrentIntrospectionsShareOneRequest() {
+        CasdoorIntrospections introspections = introspections();
+        List<Uni<VerifiedToken>> verifications = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            verifications.add(introspections.verify(TOKEN));
+        }
+
+        List<VerifiedToken> verified = Uni.join().all(verifications).andFailFast().await().atMost(WAIT);
+
+        assertEquals("alice", verified.get(9).user().name);
+        assertEquals(1, casdoor.requests(INTROSPECT));
+    }
+
+    @Test
+    void staleIntrospectionIsServedWhileRefreshedInTheBackground() throws Exception {
+        CasdoorIntrospections introspections = introspections("introspection.refresh-after", "200MS");
+        introspections.verify(TOKEN).await().atMost(WAIT);
+        Thread.sleep(300);
+
+        long start = System.nanoTime();
+        assertEquals("alice", introspections.verify(TOKEN).await().atMost(WAIT).user().name);
+        // served from the cache, without waiting for the slow introspection endpoint
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(100).toNanos());
+
+        long deadline = System.currentTimeMillis() + WAIT.toMillis();
+        while (casdoor.requests(INTROSPECT) < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(2, casdoor.requests(INTROSPECT));
+    }
+
+    @Test
+    void introspectionsOfQuarkusOidcAreReused() {
+        CasdoorIntrospections introspections = introspections();
+        introspections.put(TOKEN, active("bob").encode());
+
+        assertEquals("bob", introspections.verify(TOKEN).await().atMost(WAIT).user().name);
+        assertEquals(0, casdoor.requests(INTROSPECT));
+    }
+
+    private CasdoorIntrospections introspections(String... properties) {
+        String[] all = new String[properties.length + 6];
+        all[0] = "endpoint";
+        all[1] = casdoor.endpoint();
+        all[2] = "organization-name";
+        all[3] = "org";
+        all[4] = "introspection.enabled";
+        all[5] = "true";
+        System.arraycopy(properties, 0, all, 6, properties.length);
+        CasdoorConfig config = CasdoorTestConfig.of(all);
+        return new CasdoorIntrospections(new CasdoorClient(vertx, CasdoorTestConfig.resolver(config)), config);
+    }
+
+    private static JsonObject active(String username) {
+        return new JsonObject()
+                .put("active", true)
+                .put("username", username)
+                .put("exp", System.currentTimeMillis() / 1000 + 3600);
+    }
+}
@@ -0,0 +1,127 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CasdoorJwksRefresherTest {
+
+    private static final String JWKS = "/.well-known/jwks";
+
+    private CasdoorStub casdoor;
+    private Vertx vertx;
+    private TestTokens tokens;
+    private CasdoorKeyMaterialHolder keyMaterial;
+    private CasdoorTokenCache tokenCache;
+    private CasdoorSharedTokens sharedTokens;
+    private CasdoorJwksRefresher refresher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        casdoor = new CasdoorStub();
+        tokens = new TestTokens("rotated");
+        // slow enough for concurrent refetches to overlap
+        casdoor.router().get(JWKS).handler(context -> casdoor.later(context, 200,
+                ignored -> context.json(tokens.jwks())));
+
+        CasdoorConfig config = CasdoorTestConfig.of(
+                "endpoint", casdoor.endpoint(),
+                "verification.verifier", "native",
+                "jwks.enabled", "true");
+        vertx = Vertx.vertx();
+        keyMaterial = new CasdoorKeyMaterialHolder(CasdoorKeyMaterial.EMPTY);
+        tokenCache = new CasdoorTokenCache(config);
+        sharedTokens = new CasdoorSharedTokens(CasdoorSharedTokenCache.NONE, tokenCache, keyMaterial, config);
+        refresher = new CasdoorJwksRefresher(keyMaterial, sharedTokens, vertx,
+                new CasdoorClient(vertx, CasdoorTestConfig.resolver(config)), config, CasdoorMetrics.NOOP);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.closeAndAwait();
+        casdoor.close();
+    }
+
+    @Test
+    void concurrentRefetchesShareOneRequest() {
+        List<Uni<Void>> refetches = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            refetches.add(refresher.refetch());
+        }
+        Uni.join().all(refetches).andFailFast().await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(1, casdoor.requests(JWKS));
+    }
+
+    @Test
+    void refetchesAreLimitedByTheMinimumInterval() {
+        refresher.refetch().await().atMost(Duration.ofSeconds(5));
+        refresher.refetch().await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(1, casdoor.requests(JWKS));
+    }
+
+    @Test
+    void tokenSignedWithUnknownKidIsVerifiedAfterRefetch() {
+        NativeCasdoorTokenVerifier verifier = new NativeCasdoorTokenVerifier(keyMaterial);
+        String token = tokens.sign("alice");
+
+        CasdoorTokenException unknown = assertThrows(CasdoorTokenException.class, () -> verifier.verify(token));
+        assertEquals(CasdoorTokenException.Reason.UNKNOWN_KEY, unknown.reason());
+
+        refresher.refetch().await().atMost(Duration.ofSeconds(5));
+
+        assertEquals("alice", verifier.verify(token).user().name);
+        assertEquals(1, casdoor.requests(JWKS));
+    }
+
+    @Test
+    void removedKeyInvalidatesVerifiedTokens() {
+        keyMaterial.updateKeys(Map.of("retired", new TestTokens("retired").publicKey()));
+        tokenCache.put("digest", new VerifiedToken(new User(), System.currentTimeMillis() / 1000 + 3600,
+                Set.of(), Set.of(), null, null, 0));
+
+        refresher.refetch().await().atMost(Duration.ofSeconds(5));
+
+        assertNull(tokenCache.get("digest"));
+    }
+
+    @Test
+    void addedKeyKeepsVerifiedTokens() {
+        keyMaterial.updateKeys(Map.of("rotated", tokens.publicKey()));
+        tokenCache.put("digest", new VerifiedToken(new User(), System.currentTimeMillis() / 1000 + 3600,
+                Set.of(), Set.of(), null, null, 0));
+
+        refresher.refetch().await().atMost(Duration.ofSeconds(5));
+
+        assertNotNull(tokenCache.get("digest"));
+    }
+}
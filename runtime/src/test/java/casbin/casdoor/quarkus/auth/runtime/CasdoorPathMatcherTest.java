@@ -0,0 +1,87 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorPathMatcherTest {
+
+    @Test
+    void exactPatternMatchesOnlyItsPath() {
+        CasdoorPathMatcher matcher = CasdoorPathMatcher.compile(List.of("/", "/health"));
+
+        assertTrue(matcher.matches("/"));
+        assertTrue(matcher.matches("/health"));
+        assertFalse(matcher.matches("/healthz"));
+        assertFalse(matcher.matches("/health/live"));
+        assertFalse(matcher.matches(""));
+    }
+
+    @Test
+    void trailingWildcardMatchesAnySuffix() {
+        CasdoorPathMatcher matcher = CasdoorPathMatcher.compile(List.of("/health*", "/q/*"));
+
+        assertTrue(matcher.matches("/health"));
+        assertTrue(matcher.matches("/healthz"));
+        assertTrue(matcher.matches("/health/live/ready"));
+        assertTrue(matcher.matches("/q/"));
+        assertTrue(matcher.matches("/q/metrics/jvm"));
+        assertFalse(matcher.matches("/q"));
+    }
+
+    @Test
+    void middleWildcardMatchesOneNonEmptySegment() {
+        CasdoorPathMatcher matcher = CasdoorPathMatcher.compile(List.of("/api/*/docs"));
+
+        assertTrue(matcher.matches("/api/v1/docs"));
+        assertFalse(matcher.matches("/api//docs"));
+        assertFalse(matcher.matches("/api/v1/v2/docs"));
+        assertFalse(matcher.matches("/api/docs"));
+        assertFalse(matcher.matches("/api/v1/docs/x"));
+    }
+
+    @Test
+    void middleWildcardMayShareItsSegmentWithText() {
+        CasdoorPathMatcher matcher = CasdoorPathMatcher.compile(List.of("/files/*.txt", "/v*/status"));
+
+        assertTrue(matcher.matches("/files/a.txt"));
+        assertTrue(matcher.matches("/files/a.b.txt"));
+        assertFalse(matcher.matches("/files/.txt"));
+        assertFalse(matcher.matches("/files/a/b.txt"));
+        assertTrue(matcher.matches("/v2/status"));
+        assertFalse(matcher.matches("/v/status"));
+    }
+
+    @Test
+    void matchAllCollectsEveryMatchingPattern() {
+        CasdoorPathMatcher matcher = CasdoorPathMatcher.compile(
+                List.of("/api/*", "/api/*/users", "/api/admin/users", "/other"));
+        BitSet rules = new BitSet();
+
+        assertTrue(matcher.matchAll("/api/admin/users", rules));
+        assertEquals(BitSet.valueOf(new long[] { 0b0111 }), rules);
+
+        rules.clear();
+        assertFalse(matcher.matchAll("/missing", rules));
+        assertTrue(rules.isEmpty());
+    }
+}
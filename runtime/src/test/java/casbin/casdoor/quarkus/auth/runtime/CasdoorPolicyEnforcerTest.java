@@ -0,0 +1,120 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorPolicyEnforcerTest {
+
+    @Test
+    void quotedFieldsMayContainCommas() {
+        CasdoorPolicyEnforcer enforcer = enforcer(
+                "p, \"acme/o'neil, jr\", \"/api/a,b\", GET",
+                "p, \"acme/\"\"quoted\"\"\", /api/quoted, GET");
+
+        assertTrue(enforcer.enforce(token("acme", "o'neil, jr"), "GET", "/api/a,b"));
+        assertFalse(enforcer.enforce(token("acme", "o'neil"), "GET", "/api/a,b"));
+        assertFalse(enforcer.enforce(token("acme", "o'neil, jr"), "GET", "/api/a"));
+        assertTrue(enforcer.enforce(token("acme", "\"quoted\""), "GET", "/api/quoted"));
+    }
+
+    @Test
+    void malformedQuotesAreRejected() {
+        assertThrows(ConfigurationException.class, () -> enforcer("p, \"acme/alice, /api/*, GET"));
+        assertThrows(ConfigurationException.class, () -> enforcer("p, \"acme/alice\" x, /api/*, GET"));
+    }
+
+    @Test
+    void trailingWildcardMatchesLikeKeyMatch() {
+        CasdoorPolicyEnforcer enforcer = enforcer("p, acme/alice, /api/*, GET");
+
+        assertTrue(enforcer.enforce(token("acme", "alice"), "GET", "/api/reports"));
+        assertTrue(enforcer.enforce(token("acme", "alice"), "GET", "/api/admin/users"));
+        assertFalse(enforcer.enforce(token("acme", "alice"), "GET", "/other"));
+        assertFalse(enforcer.enforce(token("acme", "alice"), "POST", "/api/reports"));
+    }
+
+    @Test
+    void denyOverridesInheritedAllow() {
+        CasdoorPolicyEnforcer enforcer = enforcer(
+                "p, admin, /api/*, *",
+                "p, admin, /api/billing/*, DELETE, deny",
+                "g, acme/bob, admin");
+
+        assertTrue(enforcer.enforce(token("acme", "bob"), "DELETE", "/api/reports/1"));
+        assertFalse(enforcer.enforce(token("acme", "bob"), "DELETE", "/api/billing/1"));
+    }
+
+    @Test
+    void rolesAreScopedByOrganization() {
+        CasdoorPolicyEnforcer enforcer = enforcer(
+                "p, admin, /api/*, GET",
+                "p, other/auditor, /api/reports, GET");
+
+        assertTrue(enforcer.enforce(token("acme", "alice", "admin"), "GET", "/api/users"));
+        assertFalse(enforcer.enforce(token("other", "mallory", "admin"), "GET", "/api/users"));
+        assertTrue(enforcer.enforce(token("other", "mallory", "auditor"), "GET", "/api/reports"));
+        assertFalse(enforcer.enforce(token("acme", "alice", "auditor"), "GET", "/api/reports"));
+    }
+
+    @Test
+    void overlappingObjectsAreDecidedTogether() {
+        CasdoorPolicyEnforcer enforcer = enforcer(
+                "p, reader, /api/*, read",
+                "p, writer, /api/orders/*, write",
+                "p, reader, /api/orders/secret, GET, deny");
+
+        assertTrue(enforcer.enforce(token("acme", "alice", "reader"), "GET", "/api/orders/1"));
+        assertFalse(enforcer.enforce(token("acme", "alice", "reader"), "POST", "/api/orders/1"));
+        assertTrue(enforcer.enforce(token("acme", "alice", "reader", "writer"), "POST", "/api/orders/1"));
+        assertFalse(enforcer.enforce(token("acme", "alice", "reader", "writer"), "GET", "/api/orders/secret"));
+        assertTrue(enforcer.enforce(token("acme", "alice", "writer"), "DELETE", "/api/orders/secret"));
+    }
+
+    @Test
+    void bareSubjectsRequireAnOrganization() {
+        assertThrows(ConfigurationException.class, () -> new CasdoorPolicyEnforcer(CasdoorTestConfig.of(
+                "authorization.enabled", "true",
+                "authorization.policies[0]", "p, admin, /api/*, GET")));
+    }
+
+    private static CasdoorPolicyEnforcer enforcer(String... policies) {
+        String[] properties = new String[policies.length * 2 + 4];
+        properties[0] = "authorization.enabled";
+        properties[1] = "true";
+        properties[2] = "organization-name";
+        properties[3] = "acme";
+        for (int i = 0; i < policies.length; i++) {
+            properties[i * 2 + 4] = "authorization.policies[" + i + "]";
+            properties[i * 2 + 5] = policies[i];
+        }
+        return new CasdoorPolicyEnforcer(CasdoorTestConfig.of(properties));
+    }
+
+    private static VerifiedToken token(String owner, String name, String... roles) {
+        User user = new User();
+        user.owner = owner;
+        user.name = name;
+        return new VerifiedToken(user, 0, Set.of(roles), Set.of(), null, null, 0);
+    }
+}
@@ -0,0 +1,121 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorRateLimiterTest {
+
+    @Test
+    void allowsTheBurstThenDenies() {
+        CasdoorRateLimiter limiter = limiter("limit", "2", "period", "1H", "burst", "3");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(token("acme", "alice", "app")));
+        }
+        long retryAfter = limiter.tryAcquire(token("acme", "alice", "app"));
+        assertTrue(retryAfter > TimeUnit.MINUTES.toNanos(29) && retryAfter <= TimeUnit.MINUTES.toNanos(30));
+        assertEquals(0, limiter.tryAcquire(token("acme", "bob", "app")));
+        assertEquals(0, limiter.tryAcquire(token("other", "alice", "app")));
+    }
+
+    @Test
+    void bucketRefillsOverThePeriod() throws Exception {
+        CasdoorRateLimiter limiter = limiter("limit", "10", "period", "500MS", "burst", "1");
+
+        assertEquals(0, limiter.tryAcquire(token("acme", "alice", "app")));
+        assertTrue(limiter.tryAcquire(token("acme", "alice", "app")) > 0);
+        Thread.sleep(60);
+        assertEquals(0, limiter.tryAcquire(token("acme", "alice", "app")));
+        assertTrue(limiter.tryAcquire(token("acme", "alice", "app")) > 0);
+    }
+
+    @Test
+    void clientKeyCountsEveryUserOfTheApplication() {
+        CasdoorRateLimiter limiter = limiter("key", "client", "limit", "1", "period", "1H");
+
+        assertEquals(0, limiter.tryAcquire(token("acme", "alice", "app")));
+        assertTrue(limiter.tryAcquire(token("acme", "bob", "app")) > 0);
+        assertEquals(0, limiter.tryAcquire(token("acme", "bob", "other")));
+    }
+
+    @Test
+    void limitsAreValidatedOnlyWhenEnabled() {
+        CasdoorRateLimiter disabled = new CasdoorRateLimiter(CasdoorTestConfig.of(
+                "rate-limit.limit", "0", "rate-limit.burst", "0"));
+        assertFalse(disabled.isEnabled());
+        assertEquals(0, disabled.tryAcquire(token("acme", "alice", "app")));
+
+        assertThrows(ConfigurationException.class, () -> limiter("limit", "0"));
+        assertThrows(ConfigurationException.class, () -> limiter("burst", "0"));
+        assertThrows(ConfigurationException.class, () -> limiter("period", "0S"));
+    }
+
+    @Test
+    void rejectedRequestsAreAnsweredWith429() throws Exception {
+        CasdoorRateLimiter limiter = limiter();
+        Vertx vertx = Vertx.vertx();
+        try (CasdoorStub server = new CasdoorStub()) {
+            server.router().route().failureHandler(context -> context.response().setStatusCode(500).end());
+            limiter.registerFailureHandler(server.router());
+            server.router().route("/limited").handler(context -> context.fail(
+                    new CasdoorRateLimitException(TimeUnit.MILLISECONDS.toNanos(1500))));
+            server.router().route("/failed").handler(context -> context.fail(new IllegalStateException()));
+
+            HttpResponse<Buffer> limited = get(vertx, server.endpoint() + "/limited");
+            assertEquals(429, limited.statusCode());
+            assertEquals("2", limited.getHeader("Retry-After"));
+            assertEquals(500, get(vertx, server.endpoint() + "/failed").statusCode());
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static HttpResponse<Buffer> get(Vertx vertx, String url) throws Exception {
+        return WebClient.create(vertx).getAbs(url).send()
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    private static CasdoorRateLimiter limiter(String... properties) {
+        String[] values = new String[properties.length + 2];
+        values[0] = "rate-limit.enabled";
+        values[1] = "true";
+        for (int i = 0; i < properties.length; i++) {
+            values[i + 2] = i % 2 == 0 ? "rate-limit." + properties[i] : properties[i];
+        }
+        return new CasdoorRateLimiter(CasdoorTestConfig.of(values));
+    }
+
+    private static VerifiedToken token(String owner, String name, String clientId) {
+        User user = new User();
+        user.owner = owner;
+        user.name = name;
+        return new VerifiedToken(user, 0, Set.of(), Set.of(), clientId, null, 0);
+    }
+}
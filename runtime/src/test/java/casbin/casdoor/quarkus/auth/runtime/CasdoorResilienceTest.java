@@ -0,0 +1,300 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.mutiny.core.Vertx;
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The circuit breaker, bulkhead, deadlines and degraded mode of the Casdoor calls, against a stub whose
+ * availability and latency each test changes.
+ */
+class CasdoorResilienceTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+    private static final String GET_USER = "/api/get-user";
+    private static final String INTROSPECT = "/api/login/oauth/introspect";
+
+    private CasdoorStub casdoor;
+    private Vertx vertx;
+    private volatile boolean available = true;
+    private volatile long delayMillis;
+    private volatile long expiresAt = System.currentTimeMillis() / 1000 + 3600;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        casdoor = new CasdoorStub();
+        vertx = Vertx.vertx();
+        casdoor.router().get(GET_USER).handler(context -> respond(context, new JsonObject()
+                .put("status", "ok")
+                .put("data", new JsonObject().put("owner", "org").put("name", context.queryParams().get("id")))));
+        casdoor.router().post(INTROSPECT).handler(context -> respond(context, new JsonObject()
+                .put("active", true)
+                .put("username", "alice")
+                .put("exp", expiresAt)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.closeAndAwait();
+        casdoor.close();
+    }
+
+    @Test
+    void circuitOpensOnceTheFailureRatioOfTheWindowIsReached() {
+        CasdoorClient client = client("resilience.circuit-breaker.window-size", "4",
+                "resilience.circuit-breaker.failure-ratio", "0.5",
+                "resilience.circuit-breaker.delay", "10S");
+
+        getUser(client);
+        getUser(client);
+        available = false;
+        assertInstanceOf(CasdoorClientException.class, failure(client));
+        // one failure among the first three calls, the window is not full yet
+        assertInstanceOf(CasdoorClientException.class, failure(client));
+        assertEquals(4, casdoor.requests(GET_USER));
+
+        // two failures in a window of four reach the ratio
+        Throwable rejected = failure(client);
+        assertInstanceOf(CasdoorUnavailableException.class, rejected);
+        assertEquals(4, casdoor.requests(GET_USER));
+    }
+
+    @Test
+    void circuitStaysClosedBelowTheFailureRatio() {
+        CasdoorClient client = client("resilience.circuit-breaker.window-size", "4",
+                "resilience.circuit-breaker.failure-ratio", "0.5");
+
+        for (int i = 0; i < 3; i++) {
+            getUser(client);
+        }
+        available = false;
+        failure(client);
+        available = true;
+
+        assertEquals("org/alice", getUser(client).name);
+        assertEquals(5, casdoor.requests(GET_USER));
+    }
+
+    @Test
+    void halfOpenCircuitLetsOneTrialCallThrough() throws Exception {
+        CasdoorClient client = openCircuit();
+        Thread.sleep(400);
+        available = true;
+        delayMillis = 300;
+
+        CompletableFuture<User> trial = client.getUser("alice").subscribeAsCompletionStage();
+        Thread.sleep(100);
+        // a second call during the trial is rejected
+        assertInstanceOf(CasdoorUnavailableException.class, failure(client));
+        assertEquals("org/alice", trial.get().name);
+
+        delayMillis = 0;
+        assertEquals("org/alice", getUser(client).name);
+        assertEquals(4, casdoor.requests(GET_USER));
+    }
+
+    @Test
+    void failedTrialCallOpensTheCircuitAgain() throws Exception {
+        CasdoorClient client = openCircuit();
+        Thread.sleep(400);
+
+        assertInstanceOf(CasdoorClientException.class, failure(client));
+        assertInstanceOf(CasdoorUnavailableException.class, failure(client));
+        assertEquals(3, casdoor.requests(GET_USER));
+    }
+
+    @Test
+    void callsOverTheLimitFailWithoutReachingCasdoor() throws Exception {
+        CasdoorClient client = client("resilience.max-concurrent-calls", "2");
+        delayMillis = 300;
+
+        List<CompletableFuture<User>> calls = new ArrayList<>();
+        calls.add(client.getUser("alice").subscribeAsCompletionStage());
+        calls.add(client.getUser("bob").subscribeAsCompletionStage());
+        long start = System.nanoTime();
+        assertInstanceOf(CasdoorUnavailableException.class, failure(client));
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(200).toNanos());
+
+        for (CompletableFuture<User> call : calls) {
+            call.get();
+        }
+        assertEquals(2, casdoor.requests(GET_USER));
+        // calls are accepted again once the others completed
+        assertEquals("org/carol", client.getUser("carol").await().atMost(WAIT).name);
+    }
+
+    @Test
+    void deadlineIncludesRetries() {
+        CasdoorClient client = client("client.max-retries", "10",
+                "client.retry-backoff", "100MS",
+                "resilience.deadlines.get-user", "400MS");
+        available = false;
+
+        long start = System.nanoTime();
+        Throwable failure = failure(client);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertInstanceOf(TimeoutException.class, failure);
+        assertTrue(CasdoorClient.isUnavailable(failure));
+        assertTrue(elapsedMillis >= 400 && elapsedMillis < 1500, elapsedMillis + " ms");
+        assertTrue(casdoor.requests(GET_USER) < 11, casdoor.requests(GET_USER) + " requests");
+    }
+
+    @Test
+    void degradedModeServesLastKnownProfilesWithinMaxStaleness() throws Exception {
+        CasdoorConfig config = config("resilience.degraded-mode.enabled", "true",
+                "resilience.degraded-mode.max-staleness", "600MS",
+                "user-lookup.expire-after", "100MS",
+                "user-lookup.refresh-after", "50MS");
+        CasdoorUserService users = new CasdoorUserService(client(config), vertx, config);
+        assertEquals("org/alice", users.getUser("alice").await().atMost(WAIT).name);
+
+        available = false;
+        Thread.sleep(200);
+        assertEquals("org/alice", users.getUser("alice").await().atMost(WAIT).name);
+
+        Thread.sleep(500);
+        assertThrows(RuntimeException.class, () -> users.getUser("alice").await().atMost(WAIT));
+    }
+
+    @Test
+    void degradedModeServesLastKnownProfilesWhenTheDeadlinePasses() throws Exception {
+        CasdoorConfig config = config("resilience.degraded-mode.enabled", "true",
+                "resilience.deadlines.get-user", "200MS",
+                "user-lookup.expire-after", "100MS",
+                "user-lookup.refresh-after", "50MS");
+        CasdoorUserService users = new CasdoorUserService(client(config), vertx, config);
+        assertEquals("org/alice", users.getUser("alice").await().atMost(WAIT).name);
+
+        delayMillis = 2000;
+        Thread.sleep(200);
+
+        assertEquals("org/alice", users.getUser("alice").await().atMost(WAIT).name);
+    }
+
+    @Test
+    void degradedModeServesLastKnownIntrospectionsWithinMaxStaleness() throws Exception {
+        CasdoorIntrospections introspections = introspections("resilience.degraded-mode.max-staleness", "600MS");
+        String token = "0123456789abcdef0123456789abcdef";
+        assertEquals("alice", introspections.verify(token).await().atMost(WAIT).user().name);
+
+        available = false;
+        Thread.sleep(200);
+        assertEquals("alice", introspections.verify(token).await().atMost(WAIT).user().name);
+
+        Thread.sleep(500);
+        assertNull(introspections.verify(token).await().atMost(WAIT));
+    }
+
+    @Test
+    void degradedModeNeverServesIntrospectionsPastTheTokenExpiry() throws Exception {
+        CasdoorIntrospections introspections = introspections("resilience.degraded-mode.max-staleness", "1H");
+        String token = "0123456789abcdef0123456789abcdef";
+        expiresAt = System.currentTimeMillis() / 1000 + 2;
+        assertEquals("alice", introspections.verify(token).await().atMost(WAIT).user().name);
+
+        available = false;
+        Thread.sleep(200);
+        assertEquals("alice", introspections.verify(token).await().atMost(WAIT).user().name);
+
+        Thread.sleep(expiresAt * 1000 - System.currentTimeMillis() + 100);
+        assertNull(introspections.verify(token).await().atMost(WAIT));
+    }
+
+    private CasdoorClient openCircuit() {
+        CasdoorClient client = client("resilience.circuit-breaker.window-size", "2",
+                "resilience.circuit-breaker.failure-ratio", "1",
+                "resilience.circuit-breaker.delay", "300MS");
+        available = false;
+        failure(client);
+        failure(client);
+        assertInstanceOf(CasdoorUnavailableException.class, failure(client));
+        assertEquals(2, casdoor.requests(GET_USER));
+        return client;
+    }
+
+    private CasdoorIntrospections introspections(String... properties) {
+        String[] all = new String[properties.length + 6];
+        all[0] = "introspection.enabled";
+        all[1] = "true";
+        all[2] = "introspection.max-ttl";
+        all[3] = "100MS";
+        all[4] = "resilience.degraded-mode.enabled";
+        all[5] = "true";
+        System.arraycopy(properties, 0, all, 6, properties.length);
+        CasdoorConfig config = config(all);
+        return new CasdoorIntrospections(client(config), config);
+    }
+
+    private void respond(RoutingContext context, JsonObject body) {
+        casdoor.later(context, delayMillis, ignored -> {
+            if (available) {
+                context.json(body);
+            } else {
+                context.response().setStatusCode(503).end();
+            }
+        });
+    }
+
+    private static User getUser(CasdoorClient client) {
+        return client.getUser("alice").await().atMost(WAIT);
+    }
+
+    private static Throwable failure(CasdoorClient client) {
+        CompletableFuture<User> call = client.getUser("alice").subscribeAsCompletionStage();
+        ExecutionException failure = assertThrows(ExecutionException.class, call::get);
+        return failure.getCause();
+    }
+
+    private CasdoorClient client(String... properties) {
+        return client(config(properties));
+    }
+
+    private CasdoorClient client(CasdoorConfig config) {
+        return new CasdoorClient(vertx, CasdoorTestConfig.resolver(config));
+    }
+
+    private CasdoorConfig config(String... properties) {
+        String[] all = new String[properties.length + 6];
+        all[0] = "endpoint";
+        all[1] = casdoor.endpoint();
+        all[2] = "organization-name";
+        all[3] = "org";
+        all[4] = "client.max-retries";
+        all[5] = "0";
+        System.arraycopy(properties, 0, all, 6, properties.length);
+        return CasdoorTestConfig.of(all);
+    }
+}
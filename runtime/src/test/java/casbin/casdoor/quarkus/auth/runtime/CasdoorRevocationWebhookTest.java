@@ -0,0 +1,144 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.mutiny.core.Vertx;
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorRevocationWebhookTest {
+
+    private static final String PATH = "/quarkus-casdoor-auth/webhook";
+    private static final String SECRET = "webhook-secret";
+
+    private CasdoorStub server;
+    private Vertx vertx;
+    private CasdoorRevocations revocations;
+    private CasdoorRevocationWebhook webhook;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new CasdoorStub();
+        vertx = Vertx.vertx();
+        CasdoorConfig config = CasdoorTestConfig.of(
+                "endpoint", server.endpoint(),
+                "revocation.enabled", "true",
+                "revocation.webhook-secret", SECRET);
+        CasdoorSharedTokens sharedTokens = new CasdoorSharedTokens(CasdoorSharedTokenCache.NONE,
+                new CasdoorTokenCache(config), new CasdoorKeyMaterialHolder(CasdoorKeyMaterial.EMPTY), config);
+        revocations = new CasdoorRevocations(sharedTokens,
+                new CasdoorClient(vertx, CasdoorTestConfig.resolver(config)), vertx, config);
+        webhook = new CasdoorRevocationWebhook(revocations, config);
+        webhook.registerRoute(server.router());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.closeAndAwait();
+        server.close();
+    }
+
+    @Test
+    void logoutRevokesTheTokensOfTheUser() {
+        webhook.apply(new JsonObject().put("action", "logout").put("organization", "acme").put("user", "alice"));
+
+        assertTrue(revocations.isRevoked(token("acme", "alice", null, now() - 60)));
+        assertFalse(revocations.isRevoked(token("acme", "bob", null, now() - 60)));
+    }
+
+    @Test
+    void deleteUserRevokesTheTokensOfTheUser() {
+        webhook.apply(new JsonObject().put("action", "delete-user")
+                .put("object", new JsonObject().put("owner", "acme").put("name", "alice").encode()));
+
+        assertTrue(revocations.isRevoked(token("acme", "alice", null, now() - 60)));
+    }
+
+    @Test
+    void updateUserRevokesOnlyForbiddenOrDeletedUsers() {
+        webhook.apply(new JsonObject().put("action", "update-user")
+                .put("object", new JsonObject().put("owner", "acme").put("name", "alice").put("isForbidden", false)
+                        .put("displayName", "Alice").encode()));
+        assertFalse(revocations.isRevoked(token("acme", "alice", null, now() - 60)));
+
+        webhook.apply(new JsonObject().put("action", "update-user")
+                .put("object", new JsonObject().put("owner", "acme").put("name", "alice").put("isForbidden", true)
+                        .encode()));
+        webhook.apply(new JsonObject().put("action", "update-user")
+                .put("object", new JsonObject().put("owner", "acme").put("name", "bob").put("isDeleted", true)
+                        .encode()));
+        assertTrue(revocations.isRevoked(token("acme", "alice", null, now() - 60)));
+        assertTrue(revocations.isRevoked(token("acme", "bob", null, now() - 60)));
+    }
+
+    @Test
+    void deleteTokenRevokesTheTokenById() {
+        String accessToken = new TestTokens("kid").sign(new JsonObject()
+                .put("owner", "acme")
+                .put("name", "alice")
+                .put("jti", "deleted")
+                .put("iat", now())
+                .put("exp", now() + 3600));
+        webhook.apply(new JsonObject().put("action", "delete-token")
+                .put("object", new JsonObject().put("accessToken", accessToken).encode()));
+
+        assertTrue(revocations.isRevoked(token("acme", "alice", "deleted", now())));
+        assertFalse(revocations.isRevoked(token("acme", "alice", "other", now())));
+    }
+
+    @Test
+    void eventsRequireTheSecret() throws Exception {
+        JsonObject logout = new JsonObject().put("action", "logout").put("organization", "acme").put("user", "alice");
+
+        assertEquals(401, post(MultiMap.caseInsensitiveMultiMap(), logout));
+        assertEquals(401, post(MultiMap.caseInsensitiveMultiMap()
+                .add(CasdoorRevocationWebhook.SECRET_HEADER, "wrong"), logout));
+        assertFalse(revocations.isRevoked(token("acme", "alice", null, now() - 60)));
+
+        assertEquals(204, post(MultiMap.caseInsensitiveMultiMap()
+                .add(CasdoorRevocationWebhook.SECRET_HEADER, SECRET), logout));
+        assertTrue(revocations.isRevoked(token("acme", "alice", null, now() - 60)));
+    }
+
+    private int post(MultiMap headers, JsonObject body) throws Exception {
+        return WebClient.create(vertx.getDelegate()).postAbs(server.endpoint() + PATH).putHeaders(headers)
+                .sendJsonObject(body)
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+                .statusCode();
+    }
+
+    private static VerifiedToken token(String owner, String name, String tokenId, long issuedAt) {
+        User user = new User();
+        user.owner = owner;
+        user.name = name;
+        return new VerifiedToken(user, issuedAt + 3600, Set.of(), Set.of(), null, tokenId, issuedAt);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,188 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.security.runtime.QuarkusPrincipal;
+import io.quarkus.security.runtime.QuarkusSecurityIdentity;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.mutiny.core.Vertx;
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorRevocationsTest {
+
+    private static final int CAPACITY = 1000;
+
+    private CasdoorStub casdoor;
+    private Vertx vertx;
+    private CasdoorConfig config;
+    private CasdoorRevocations revocations;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        casdoor = new CasdoorStub();
+        vertx = Vertx.vertx();
+        config = CasdoorTestConfig.of(
+                "endpoint", casdoor.endpoint(),
+                "organization-name", "acme",
+                "revocation.enabled", "true",
+                "revocation.expected-revocations", Integer.toString(CAPACITY),
+                "revocation.false-positive-probability", "0.01",
+                "revocation.poll-interval", "1H");
+        CasdoorSharedTokens sharedTokens = new CasdoorSharedTokens(CasdoorSharedTokenCache.NONE,
+                new CasdoorTokenCache(config), new CasdoorKeyMaterialHolder(CasdoorKeyMaterial.EMPTY), config);
+        revocations = new CasdoorRevocations(sharedTokens,
+                new CasdoorClient(vertx, CasdoorTestConfig.resolver(config)), vertx, config);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        revocations.onStop(null);
+        vertx.closeAndAwait();
+        casdoor.close();
+    }
+
+    @Test
+    void falsePositivesOfTheFilterFallBackToTheExactSet() {
+        // the revocations fill a filter of the same size with the same ids, so it has the same false positives
+        CasdoorBloomFilter filter = new CasdoorBloomFilter(CAPACITY, 0.01);
+        long exp = now() + 3600;
+        for (int i = 0; i < CAPACITY; i++) {
+            revocations.revokeToken("revoked-" + i, exp);
+            filter.add("revoked-" + i);
+        }
+        String falsePositive = null;
+        for (int i = 0; falsePositive == null; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositive = "other-" + i;
+            }
+        }
+
+        assertFalse(revocations.isRevoked(token("acme", "alice", falsePositive, now())));
+        assertTrue(revocations.isRevoked(token("acme", "alice", "revoked-0", now())));
+    }
+
+    @Test
+    void revokedTokensAgeOutAtTheirExpiry() {
+        revocations.revokeToken("expired", now() - 1);
+        revocations.revokeToken("valid", now() + 3600);
+        assertTrue(revocations.isRevoked(token("acme", "alice", "expired", now())));
+
+        revocations.cleanup();
+
+        assertFalse(revocations.isRevoked(token("acme", "alice", "expired", now())));
+        assertTrue(revocations.isRevoked(token("acme", "alice", "valid", now())));
+    }
+
+    @Test
+    void revokedUsersKeepTheTokensIssuedAfterwards() {
+        revocations.revokeUser("acme", "alice");
+
+        assertTrue(revocations.isRevoked(token("acme", "alice", "before", now() - 60)));
+        assertFalse(revocations.isRevoked(token("acme", "alice", "after", now() + 60)));
+        assertFalse(revocations.isRevoked(token("other", "alice", "before", now() - 60)));
+    }
+
+    @Test
+    void polledUsersAreRevokedUntilEnabledAgain() throws Exception {
+        JsonObject alice = new JsonObject().put("owner", "acme").put("name", "alice").put("isForbidden", true);
+        casdoor.router().get("/api/get-users").handler(context -> context.json(new JsonObject()
+                .put("status", "ok")
+                .put("data", List.of(alice, new JsonObject().put("owner", "acme").put("name", "bob")))));
+
+        revocations.onStart(null);
+        await(() -> revocations.isRevoked(token("acme", "alice", "later", now() + 3600)));
+        assertFalse(revocations.isRevoked(token("acme", "bob", "later", now() + 3600)));
+
+        alice.put("isForbidden", false);
+        revocations.onStop(null);
+        revocations.onStart(null);
+        await(() -> !revocations.isRevoked(token("acme", "alice", "later", now() + 3600)));
+        assertTrue(revocations.isRevoked(token("acme", "alice", "before", now() - 60)));
+    }
+
+    @Test
+    void revokedTokensAreAnsweredWith401() throws Exception {
+        CasdoorHttpSecurityPolicy policy = new CasdoorHttpSecurityPolicy();
+        policy.config = config;
+        policy.configResolver = CasdoorTestConfig.resolver(config);
+        policy.routeTable = CasdoorRouteTable.build(List.of());
+        policy.policyEnforcer = new CasdoorPolicyEnforcer(config);
+        policy.revocations = revocations;
+        policy.rateLimiter = new CasdoorRateLimiter(config);
+        policy.metrics = CasdoorMetrics.NOOP;
+        policy.tracing = CasdoorTracing.NOOP;
+        policy.init();
+
+        revocations.revokeToken("revoked", now() + 3600);
+        casdoor.router().route().failureHandler(context -> context.response().setStatusCode(500).end());
+        revocations.registerFailureHandler(casdoor.router());
+        // answers the check like the Quarkus HTTP authorizer: a denial is a 403, a failure is handled by the router
+        casdoor.router().get("/api/:tokenId").handler(context -> policy.checkPermission(context,
+                Uni.createFrom().item(QuarkusSecurityIdentity.builder()
+                        .setPrincipal(new QuarkusPrincipal("alice"))
+                        .addAttribute(CasdoorIdentityAugmentor.VERIFIED_TOKEN,
+                                token("acme", "alice", context.pathParam("tokenId"), now()))
+                        .build()),
+                null).subscribe().with(
+                        result -> context.response().setStatusCode(result.isPermitted() ? 200 : 403).end(),
+                        context::fail));
+
+        HttpResponse<Buffer> revoked = get("/api/revoked");
+        assertEquals(401, revoked.statusCode());
+        assertEquals("Bearer error=\"invalid_token\"", revoked.getHeader("WWW-Authenticate"));
+        assertEquals(200, get("/api/valid").statusCode());
+    }
+
+    private HttpResponse<Buffer> get(String path) throws Exception {
+        return WebClient.create(vertx.getDelegate()).getAbs(casdoor.endpoint() + path).send()
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static VerifiedToken token(String owner, String name, String tokenId, long issuedAt) {
+        User user = new User();
+        user.owner = owner;
+        user.name = name;
+        return new VerifiedToken(user, issuedAt + 3600, Set.of(), Set.of(), null, tokenId, issuedAt);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
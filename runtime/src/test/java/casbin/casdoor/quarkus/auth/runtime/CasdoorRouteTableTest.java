@@ -0,0 +1,166 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorRouteTableTest {
+
+    @Test
+    void permitAllParentDoesNotOpenChildRoute() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(
+                route("GET", "/items/{id}", true),
+                route("GET", "/items/{id}/secret", false, "admin")));
+
+        assertTrue(table.lookup("GET", "/items/42").isPermitAll());
+        CasdoorRoutePolicy child = table.lookup("GET", "/items/42/secret");
+        assertFalse(child.isPermitAll());
+        assertFalse(child.permits(token("user")));
+        assertTrue(child.permits(token("admin")));
+    }
+
+    @Test
+    void permitAllParentDoesNotOpenUnannotatedChildRoute() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(
+                route("GET", "/items/{id}", true),
+                route("GET", "/items/{id}/secret", false)));
+
+        assertFalse(table.lookup("GET", "/items/42/secret").isPermitAll());
+        // a path no route declares gets no policy either
+        assertNull(table.lookup("GET", "/items/42/other"));
+    }
+
+    @Test
+    void parameterMatchesOneSegment() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(route("GET", "/items/{id}/parts", true)));
+
+        assertTrue(table.lookup("GET", "/items/42/parts").isPermitAll());
+        assertNull(table.lookup("GET", "/items/42/43/parts"));
+        assertNull(table.lookup("GET", "/items//parts"));
+        assertNull(table.lookup("GET", "/items/42/parts/7"));
+    }
+
+    @Test
+    void parameterExpressionMayContainBraces() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(route("GET", "/codes/{id: \\d{3}}", true)));
+
+        assertTrue(table.lookup("GET", "/codes/123").isPermitAll());
+        assertNull(table.lookup("GET", "/codes/1234"));
+        assertNull(table.lookup("GET", "/codes/abc"));
+        assertNull(table.lookup("GET", "/codes/123/x"));
+    }
+
+    @Test
+    void mostSpecificTemplateDecides() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(
+                route("GET", "/items/{id}/{name}", true),
+                route("GET", "/items/{id}/secret", false, "admin")));
+
+        assertFalse(table.lookup("GET", "/items/42/secret").isPermitAll());
+        assertTrue(table.lookup("GET", "/items/42/public").isPermitAll());
+    }
+
+    @Test
+    void templateWithMoreLiteralSegmentsDecidesWhereverItsParametersAre() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(
+                route("GET", "/a/{x}/{y}", true),
+                route("GET", "/{z}/b/c", false, "admin")));
+
+        assertFalse(table.lookup("GET", "/a/b/c").isPermitAll());
+        assertTrue(table.lookup("GET", "/a/b/d").isPermitAll());
+        assertFalse(table.lookup("GET", "/x/b/c").isPermitAll());
+    }
+
+    @Test
+    void lessSpecificTemplateAppliesToMethodsTheMoreSpecificOneLacks() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(
+                route(null, "/items/{id}/{name}", true),
+                route("DELETE", "/items/{id}/secret", false, "admin")));
+
+        assertFalse(table.lookup("DELETE", "/items/42/secret").isPermitAll());
+        assertTrue(table.lookup("GET", "/items/42/secret").isPermitAll());
+    }
+
+    @Test
+    void expressionTemplatesTakeTheirPlaceInSpecificityOrder() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(
+                route("GET", "/items/{id}", true),
+                route("GET", "/items/{id}/{part}", true),
+                route("GET", "/items/{id: \\d+}/secret", false, "admin"),
+                route("GET", "/files/{name}.txt", false, "admin")));
+
+        assertFalse(table.lookup("GET", "/items/42/secret").isPermitAll());
+        assertTrue(table.lookup("GET", "/items/abc/secret").isPermitAll());
+        assertTrue(table.lookup("GET", "/items/42").isPermitAll());
+        assertFalse(table.lookup("GET", "/files/a.txt").isPermitAll());
+        assertNull(table.lookup("GET", "/files/a.pdf"));
+    }
+
+    @Test
+    void literalRouteTakesPrecedenceOverTemplate() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(
+                route("GET", "/items/{id}", true),
+                route("GET", "/items/admin", false, "admin")));
+
+        assertFalse(table.lookup("GET", "/items/admin").isPermitAll());
+    }
+
+    @Test
+    void policiesAreSelectedByMethod() {
+        CasdoorRouteTable table = CasdoorRouteTable.build(List.of(
+                route("GET", "/items/{id}", true),
+                route("DELETE", "/items/{id}", false, "admin"),
+                route(null, "/files/{name}", true)));
+
+        assertTrue(table.lookup("GET", "/items/42").isPermitAll());
+        assertFalse(table.lookup("DELETE", "/items/42").isPermitAll());
+        assertNull(table.lookup("PUT", "/items/42"));
+        assertTrue(table.lookup("PUT", "/files/a.txt").isPermitAll());
+    }
+
+    @Test
+    void unbalancedTemplateIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CasdoorRouteTable.build(List.of(route("GET", "/items/{id", true))));
+    }
+
+    @Test
+    void tableWithOnlyUnrestrictedRoutesIsEmpty() {
+        assertTrue(CasdoorRouteTable.build(List.of(route("GET", "/items/{id}", false))).isEmpty());
+        assertFalse(CasdoorRouteTable.build(List.of(route("GET", "/items/{id}", true))).isEmpty());
+    }
+
+    private static CasdoorRouteDefinition route(String method, String path, boolean permitAll, String... roles) {
+        CasdoorRouteDefinition route = new CasdoorRouteDefinition();
+        route.setMethod(method);
+        route.setPath(path);
+        route.setPermitAll(permitAll);
+        route.setRoles(List.of(roles));
+        return route;
+    }
+
+    private static VerifiedToken token(String role) {
+        return new VerifiedToken(new User(), 0, Set.of(role), Set.of(), null, null, 0);
+    }
+}
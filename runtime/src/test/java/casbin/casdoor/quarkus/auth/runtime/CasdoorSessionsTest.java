@@ -0,0 +1,175 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.oidc.AuthorizationCodeTokens;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorSessionsTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+    private static final String TOKEN = "/api/login/oauth/access_token";
+
+    private CasdoorStub casdoor;
+    private Vertx vertx;
+    private CasdoorConfig config;
+    private CasdoorClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        casdoor = new CasdoorStub();
+        vertx = Vertx.vertx();
+        config = CasdoorTestConfig.of(
+                "endpoint", casdoor.endpoint(),
+                "organization-name", "org",
+                "shared-cache.type", "memory",
+                "session-refresh.enabled", "true",
+                "session-refresh.jitter", "0S");
+        client = new CasdoorClient(vertx, CasdoorTestConfig.resolver(config));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.closeAndAwait();
+        casdoor.close();
+    }
+
+    @Test
+    void dueSessionIsRenewedWithItsRefreshToken() throws Exception {
+        casdoor.router().post(TOKEN).handler(context -> context.json(new JsonObject()
+                .put("access_token", "renewed")
+                .put("refresh_token", "refresh-2")
+                .put("expires_in", 3600)));
+        CasdoorSessions sessions = sessions(new InMemoryCasdoorSharedTokenCache(100));
+        String sessionId = sessions.create(expiringTokens()).await().atMost(WAIT);
+
+        sessions.refreshDue();
+
+        awaitTrue(() -> "renewed".equals(sessions.get(sessionId).await().atMost(WAIT).getAccessToken()));
+        assertEquals("refresh-2", sessions.get(sessionId).await().atMost(WAIT).getRefreshToken());
+        assertEquals(1, casdoor.requests(TOKEN));
+    }
+
+    @Test
+    void rejectedRefreshTokenIsNotRetried() throws Exception {
+        casdoor.router().post(TOKEN).handler(context -> context.json(new JsonObject().put("error", "invalid_grant")));
+        CasdoorSessions sessions = sessions(new InMemoryCasdoorSharedTokenCache(100));
+        String sessionId = sessions.create(expiringTokens()).await().atMost(WAIT);
+
+        sessions.refreshDue();
+        awaitTrue(() -> casdoor.requests(TOKEN) == 1);
+        Thread.sleep(100);
+        sessions.refreshDue();
+        Thread.sleep(100);
+
+        assertEquals(1, casdoor.requests(TOKEN));
+        assertEquals("access", sessions.get(sessionId).await().atMost(WAIT).getAccessToken());
+    }
+
+    @Test
+    void sessionsAreFoundByEveryReplica() {
+        InMemoryCasdoorSharedTokenCache shared = new InMemoryCasdoorSharedTokenCache(100);
+        CasdoorSessions first = sessions(shared);
+        CasdoorSessions second = sessions(shared);
+
+        String sessionId = first.create(expiringTokens()).await().atMost(WAIT);
+        assertEquals("access", second.get(sessionId).await().atMost(WAIT).getAccessToken());
+
+        first.delete(sessionId).await().atMost(WAIT);
+        assertNull(second.get(sessionId).await().atMost(WAIT));
+    }
+
+    @Test
+    void renewedSessionIsReadAgainByOtherReplicas() throws Exception {
+        casdoor.router().post(TOKEN).handler(context -> context.json(new JsonObject()
+                .put("access_token", "renewed")
+                .put("expires_in", 3600)));
+        InMemoryCasdoorSharedTokenCache shared = new InMemoryCasdoorSharedTokenCache(100);
+        CasdoorSessions first = sessions(shared);
+        CasdoorSessions second = sessions(shared);
+        String sessionId = first.create(expiringTokens()).await().atMost(WAIT);
+        assertEquals("access", second.get(sessionId).await().atMost(WAIT).getAccessToken());
+
+        first.refreshDue();
+
+        awaitTrue(() -> "renewed".equals(second.get(sessionId).await().atMost(WAIT).getAccessToken()));
+        assertEquals("refresh", second.get(sessionId).await().atMost(WAIT).getRefreshToken());
+    }
+
+    @Test
+    void sharedSessionsAreEncrypted() {
+        InMemoryCasdoorSharedTokenCache shared = new InMemoryCasdoorSharedTokenCache(100);
+        String sessionId = sessions(shared).create(expiringTokens()).await().atMost(WAIT);
+        String key = "session:" + CasdoorTokenUtil.digest(sessionId);
+
+        byte[] entry = shared.get(key).await().atMost(WAIT);
+        assertFalse(new String(entry, StandardCharsets.ISO_8859_1).contains("refresh"));
+
+        entry[entry.length - 1] ^= 1;
+        shared.put(key, entry, Duration.ofMinutes(1)).await().atMost(WAIT);
+        assertNull(sessions(shared).get(sessionId).await().atMost(WAIT));
+    }
+
+    @Test
+    void sessionsWithoutSharedCacheStayOnTheirReplica() {
+        CasdoorConfig local = CasdoorTestConfig.of("session-refresh.enabled", "true");
+        CasdoorSessions first = new CasdoorSessions(client, CasdoorMetrics.NOOP, vertx, CasdoorSharedTokenCache.NONE,
+                sharedTokens(CasdoorSharedTokenCache.NONE, local), local);
+        CasdoorSessions second = new CasdoorSessions(client, CasdoorMetrics.NOOP, vertx, CasdoorSharedTokenCache.NONE,
+                sharedTokens(CasdoorSharedTokenCache.NONE, local), local);
+
+        String sessionId = first.create(expiringTokens()).await().atMost(WAIT);
+
+        assertEquals("access", first.get(sessionId).await().atMost(WAIT).getAccessToken());
+        assertNull(second.get(sessionId).await().atMost(WAIT));
+    }
+
+    private CasdoorSessions sessions(CasdoorSharedTokenCache shared) {
+        return new CasdoorSessions(client, CasdoorMetrics.NOOP, vertx, shared, sharedTokens(shared, config), config);
+    }
+
+    private static CasdoorSharedTokens sharedTokens(CasdoorSharedTokenCache shared, CasdoorConfig config) {
+        return new CasdoorSharedTokens(shared, new CasdoorTokenCache(config),
+                new CasdoorKeyMaterialHolder(CasdoorKeyMaterial.EMPTY), config);
+    }
+
+    /**
+     * @return tokens whose access token expires within the default refresh-ahead
+     */
+    private static AuthorizationCodeTokens expiringTokens() {
+        return new AuthorizationCodeTokens("id", "access", "refresh", 30L, "openid");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT.toMillis();
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,180 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.smallrye.mutiny.Uni;
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CasdoorSharedTokensTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final TestTokens current = new TestTokens("current");
+    private final AtomicLong tenantKeys = new AtomicLong(1);
+    private final CasdoorTokenVerifier tenantVerifier = new CasdoorTokenVerifier() {
+        @Override
+        public VerifiedToken verify(String token) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long fingerprint() {
+            return tenantKeys.get();
+        }
+    };
+    private CasdoorKeyMaterialHolder keyMaterial;
+    private InMemoryCasdoorSharedTokenCache cache;
+    private CasdoorTokenCache tokenCache;
+    private CasdoorSharedTokens sharedTokens;
+
+    @BeforeEach
+    void setUp() {
+        CasdoorConfig config = CasdoorTestConfig.of("shared-cache.type", "memory");
+        keyMaterial = new CasdoorKeyMaterialHolder(CasdoorKeyMaterial.EMPTY);
+        keyMaterial.updateKeys(Map.of("current", current.publicKey()));
+        tokenCache = new CasdoorTokenCache(config);
+        cache = new InMemoryCasdoorSharedTokenCache(100);
+        sharedTokens = new CasdoorSharedTokens(cache, tokenCache, keyMaterial, config);
+    }
+
+    @Test
+    void sharedTokenIsReadWithTheSameKeys() {
+        sharedTokens.put("digest", null, tenantVerifier, token("alice"));
+
+        assertEquals("alice", sharedTokens.get("digest", null, tenantVerifier).await().atMost(WAIT).user().name);
+    }
+
+    @Test
+    void sharedTokenIsAMissOnceItsKeyIsRemoved() {
+        sharedTokens.put("digest", null, tenantVerifier, token("alice"));
+
+        keyMaterial.updateKeys(Map.of("next", new TestTokens("next").publicKey()));
+
+        assertNull(sharedTokens.get("digest", null, tenantVerifier).await().atMost(WAIT));
+    }
+
+    @Test
+    void sharedTokenIsAMissForAnotherTenant() {
+        sharedTokens.put("digest", "tenant", tenantVerifier, token("alice"));
+
+        assertNull(sharedTokens.get("digest", null, tenantVerifier).await().atMost(WAIT));
+    }
+
+    @Test
+    void sharedTokenOfAnotherTenantIsAMissOnceTheTenantKeysChange() {
+        sharedTokens.put("digest", "tenant", tenantVerifier, token("alice"));
+        assertEquals("alice", sharedTokens.get("digest", "tenant", tenantVerifier).await().atMost(WAIT).user().name);
+
+        tenantKeys.set(2);
+
+        assertNull(sharedTokens.get("digest", "tenant", tenantVerifier).await().atMost(WAIT));
+    }
+
+    @Test
+    void forgedEntryIsAMiss() {
+        byte[] forged = CasdoorTokenCodec.encode(null, keyMaterial.get().fingerprint(), token("mallory"));
+        cache.put("digest", forged, Duration.ofMinutes(1)).await().atMost(WAIT);
+
+        assertNull(sharedTokens.get("digest", null, tenantVerifier).await().atMost(WAIT));
+    }
+
+    @Test
+    void entrySignedWithAnotherSecretIsAMiss() {
+        CasdoorSharedTokens other = new CasdoorSharedTokens(cache, tokenCache, keyMaterial,
+                CasdoorTestConfig.of("shared-cache.secret", "another secret of at least 32 characters"));
+        other.put("digest", null, tenantVerifier, token("mallory"));
+
+        assertNull(sharedTokens.get("digest", null, tenantVerifier).await().atMost(WAIT));
+    }
+
+    @Test
+    void entryCopiedUnderAnotherDigestIsAMiss() {
+        sharedTokens.put("digest", null, tenantVerifier, token("alice"));
+        byte[] entry = cache.get("digest").await().atMost(WAIT);
+        cache.put("junk", entry, Duration.ofMinutes(1)).await().atMost(WAIT);
+
+        assertNull(sharedTokens.get("junk", null, tenantVerifier).await().atMost(WAIT));
+    }
+
+    @Test
+    void cacheReachableByOtherProcessesRequiresASecret() {
+        CasdoorSharedTokenCache external = new CasdoorSharedTokenCache() {
+            @Override
+            public Uni<byte[]> get(String key) {
+                return Uni.createFrom().nullItem();
+            }
+
+            @Override
+            public Uni<Void> put(String key, byte[] value, Duration ttl) {
+                return Uni.createFrom().voidItem();
+            }
+
+            @Override
+            public Uni<Void> delete(String key) {
+                return Uni.createFrom().voidItem();
+            }
+
+            @Override
+            public Uni<Void> publish(String message) {
+                return Uni.createFrom().voidItem();
+            }
+
+            @Override
+            public void onMessage(Consumer<String> listener) {
+            }
+        };
+
+        assertThrows(ConfigurationException.class,
+                () -> new CasdoorSharedTokens(external, tokenCache, keyMaterial, CasdoorTestConfig.of()));
+        assertThrows(ConfigurationException.class, () -> new CasdoorSharedTokens(external, tokenCache, keyMaterial,
+                CasdoorTestConfig.of("shared-cache.secret", "too short")));
+    }
+
+    @Test
+    void invalidateAllClearsTheLocalCacheOfEveryReplica() {
+        CasdoorTokenCache otherReplica = new CasdoorTokenCache(CasdoorTestConfig.of());
+        InMemoryCasdoorSharedTokenCache cache = new InMemoryCasdoorSharedTokenCache(100);
+        CasdoorSharedTokens local = new CasdoorSharedTokens(cache, tokenCache, keyMaterial, CasdoorTestConfig.of());
+        new CasdoorSharedTokens(cache, otherReplica, keyMaterial, CasdoorTestConfig.of());
+        tokenCache.put("digest", token("alice"));
+        otherReplica.put("digest", token("alice"));
+
+        local.invalidateAll().await().atMost(WAIT);
+
+        assertNull(tokenCache.get("digest"));
+        assertNull(otherReplica.get("digest"));
+    }
+
+    private static VerifiedToken token(String name) {
+        User user = new User();
+        user.owner = "org";
+        user.name = name;
+        return new VerifiedToken(user, System.currentTimeMillis() / 1000 + 3600, Set.of("admin"), Set.of(),
+                null, null, 0);
+    }
+}
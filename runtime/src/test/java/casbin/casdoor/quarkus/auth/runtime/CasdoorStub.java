@@ -0,0 +1,88 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local HTTP server standing in for Casdoor in tests. Routes are added by each test;
+ * the number of requests received on each path is recorded.
+ */
+final class CasdoorStub implements AutoCloseable {
+
+    private final Vertx vertx = Vertx.vertx();
+    private final Router router = Router.router(vertx);
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final HttpServer server;
+
+    CasdoorStub() throws Exception {
+        router.route().handler(context -> {
+            requests.computeIfAbsent(context.normalizedPath(), ignored -> new AtomicInteger()).incrementAndGet();
+            context.next();
+        });
+        Handler<HttpServerRequest> handler = router;
+        server = vertx.createHttpServer().requestHandler(handler)
+                .listen(0, "localhost")
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the router requests are dispatched with
+     */
+    Router router() {
+        return router;
+    }
+
+    /**
+     * @return the Casdoor endpoint to configure
+     */
+    String endpoint() {
+        return "http://localhost:" + server.actualPort();
+    }
+
+    /**
+     * @return the number of requests received on the path
+     */
+    int requests(String path) {
+        AtomicInteger count = requests.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Answers after a delay, without blocking the event loop.
+     */
+    void later(RoutingContext context, long delayMillis, Handler<RoutingContext> handler) {
+        if (delayMillis <= 0) {
+            handler.handle(context);
+        } else {
+            vertx.setTimer(delayMillis, ignored -> handler.handle(context));
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,59 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.DurationConverter;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import io.smallrye.config.common.MapBackedConfigSource;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds {@link CasdoorConfig} instances for tests, outside of a Quarkus application.
+ */
+final class CasdoorTestConfig {
+
+    private CasdoorTestConfig() {
+    }
+
+    /**
+     * @param properties alternating property names, without the `quarkus.casdoor.` prefix, and values
+     * @return the configuration, with defaults for every property not given
+     */
+    static CasdoorConfig of(String... properties) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < properties.length; i += 2) {
+            values.put("quarkus.casdoor." + properties[i], properties[i + 1]);
+        }
+        SmallRyeConfig config = new SmallRyeConfigBuilder()
+                .withMapping(CasdoorConfig.class)
+                .withConverter(Duration.class, 200, new DurationConverter())
+                .withSources(new MapBackedConfigSource("test", values, 500) {
+                })
+                .build();
+        return config.getConfigMapping(CasdoorConfig.class);
+    }
+
+    /**
+     * @return a resolver always returning the given configuration
+     */
+    static CasdoorConfigResolver resolver(CasdoorConfig config) {
+        return () -> Uni.createFrom().item(config);
+    }
+}
@@ -0,0 +1,41 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CasdoorTokenPrecheckTest {
+
+    @Test
+    void opaqueTokensOfBearerCharactersPass() {
+        assertNull(CasdoorTokenPrecheck.checkOpaque("0123456789abcdef-_~+/ABCDEF=="));
+    }
+
+    @Test
+    void opaqueTokensOutsideTheLengthLimitsAreRejected() {
+        assertSame(CasdoorTokenPrecheck.NOT_OPAQUE, CasdoorTokenPrecheck.checkOpaque("short"));
+        assertSame(CasdoorTokenPrecheck.NOT_OPAQUE,
+                CasdoorTokenPrecheck.checkOpaque("a".repeat(CasdoorTokenPrecheck.MAX_OPAQUE_LENGTH + 1)));
+    }
+
+    @Test
+    void opaqueTokensWithOtherCharactersAreRejected() {
+        assertSame(CasdoorTokenPrecheck.NOT_OPAQUE, CasdoorTokenPrecheck.checkOpaque("0123456789abcdef <script>"));
+        assertSame(CasdoorTokenPrecheck.NOT_OPAQUE, CasdoorTokenPrecheck.checkOpaque("0123456789==abcdef"));
+    }
+}
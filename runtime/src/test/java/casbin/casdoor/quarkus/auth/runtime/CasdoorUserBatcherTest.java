@@ -0,0 +1,154 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.Vertx;
+import org.casbin.casdoor.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CasdoorUserBatcherTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private CasdoorStub casdoor;
+    private Vertx vertx;
+    private final Queue<String> ids = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        casdoor = new CasdoorStub();
+        vertx = Vertx.vertx();
+        casdoor.router().get("/api/get-user").handler(context -> {
+            String id = context.queryParams().get("id");
+            ids.add(id);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            casdoor.later(context, 50, ignored -> {
+                inFlight.decrementAndGet();
+                int slash = id.indexOf('/');
+                context.json(new JsonObject()
+                        .put("status", "ok")
+                        .put("data", id.endsWith("/nobody") ? null : new JsonObject()
+                                .put("owner", id.substring(0, slash))
+                                .put("name", id.substring(slash + 1))));
+            });
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.closeAndAwait();
+        casdoor.close();
+    }
+
+    @Test
+    void lookupsOfTheSameUserShareOneRequest() throws Exception {
+        CasdoorUserBatcher batcher = batcher("100MS", 100, 4);
+
+        CompletableFuture<User> first = batcher.submit("org/alice");
+        CompletableFuture<User> second = batcher.submit("org/alice");
+
+        assertSame(first, second);
+        assertEquals("alice", first.get(5, TimeUnit.SECONDS).name);
+        assertEquals(List.of("org/alice"), List.copyOf(ids));
+    }
+
+    @Test
+    void lookupsAreSentOnceTheWindowCloses() throws Exception {
+        CasdoorUserBatcher batcher = batcher("300MS", 100, 4);
+
+        CompletableFuture<User> alice = batcher.submit("org/alice");
+        CompletableFuture<User> nobody = batcher.submit("org/nobody");
+        Thread.sleep(100);
+        assertTrue(ids.isEmpty());
+
+        assertEquals("alice", alice.get(5, TimeUnit.SECONDS).name);
+        assertNull(nobody.get(5, TimeUnit.SECONDS));
+        assertEquals(Set.of("org/alice", "org/nobody"), Set.copyOf(ids));
+    }
+
+    @Test
+    void fullBatchesAreSentBeforeTheWindowCloses() throws Exception {
+        CasdoorUserBatcher batcher = batcher("1H", 2, 4);
+
+        CompletableFuture<User> alice = batcher.submit("org/alice");
+        CompletableFuture<User> bob = batcher.submit("org/bob");
+
+        assertEquals("alice", alice.get(5, TimeUnit.SECONDS).name);
+        assertEquals("bob", bob.get(5, TimeUnit.SECONDS).name);
+    }
+
+    @Test
+    void batchesAreSentWithBoundedConcurrency() throws Exception {
+        CasdoorUserBatcher batcher = batcher("50MS", 100, 2);
+
+        List<CompletableFuture<User>> users = List.of(batcher.submit("org/a"), batcher.submit("org/b"),
+                batcher.submit("org/c"), batcher.submit("org/d"), batcher.submit("org/e"));
+        CompletableFuture.allOf(users.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(5, ids.size());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void usersOfOtherOrganizationsAreLookedUpInTheirOrganization() throws Exception {
+        CasdoorConfig config = config("1MS", 100, 4);
+        CasdoorUserService users = new CasdoorUserService(
+                new CasdoorClient(vertx, CasdoorTestConfig.resolver(config)), vertx, config);
+
+        assertEquals("other", users.getUser("other", "carol").await().atMost(WAIT).owner);
+        assertEquals("org", users.getUser("carol").await().atMost(WAIT).owner);
+        Map<String, User> byName = users.getUsers(Set.of("alice", "carol")).await().atMost(WAIT);
+
+        assertEquals(Set.of("alice", "carol"), byName.keySet());
+        assertEquals(List.of("other/carol", "org/carol", "org/alice"), List.copyOf(ids));
+        assertFalse(byName.containsKey("org/alice"));
+    }
+
+    private CasdoorUserBatcher batcher(String window, int maxBatchSize, int maxConcurrency) {
+        CasdoorConfig config = config(window, maxBatchSize, maxConcurrency);
+        return new CasdoorUserBatcher(new CasdoorClient(vertx, CasdoorTestConfig.resolver(config)), vertx,
+                config.userLookup());
+    }
+
+    private CasdoorConfig config(String window, int maxBatchSize, int maxConcurrency) {
+        return CasdoorTestConfig.of(
+                "endpoint", casdoor.endpoint(),
+                "organization-name", "org",
+                "user-lookup.batch-window", window,
+                "user-lookup.max-batch-size", Integer.toString(maxBatchSize),
+                "user-lookup.max-concurrency", Integer.toString(maxConcurrency));
+    }
+}
@@ -0,0 +1,141 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.quarkus.runtime.configuration.ConfigurationException;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DefaultCasdoorConfigResolverTest {
+
+    private static final String ENDPOINT = "https://casdoor.example.com";
+    private static final TestTokens TOKENS = new TestTokens("kid");
+
+    private CasdoorStub server;
+    private Vertx vertx;
+    private WebClient http;
+    private volatile DefaultCasdoorConfigResolver resolver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new CasdoorStub();
+        server.router().route().handler(context -> resolver.resolveCasdoorConfig(context).subscribe().with(
+                tenant -> context.end(tenant instanceof CasdoorTenantConfig
+                        ? ((CasdoorTenantConfig) tenant).id() : "default"),
+                context::fail));
+        vertx = Vertx.vertx();
+        http = WebClient.create(vertx);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        server.close();
+    }
+
+    @Test
+    void headerSelectsTheTenantById() throws Exception {
+        resolver = resolver("header");
+
+        assertEquals("b", resolve("/api", MultiMap.caseInsensitiveMultiMap().add("X-Casdoor-Tenant", "b")));
+        assertEquals("a", resolve("/api", MultiMap.caseInsensitiveMultiMap().add("X-Casdoor-Tenant", "a")));
+        assertEquals("default", resolve("/api", MultiMap.caseInsensitiveMultiMap().add("X-Casdoor-Tenant", "c")));
+        assertEquals("default", resolve("/api", MultiMap.caseInsensitiveMultiMap()));
+    }
+
+    @Test
+    void firstPathSegmentSelectsTheTenantById() throws Exception {
+        resolver = resolver("path");
+
+        assertEquals("a", resolve("/a/api/users", MultiMap.caseInsensitiveMultiMap()));
+        assertEquals("b", resolve("/b", MultiMap.caseInsensitiveMultiMap()));
+        assertEquals("default", resolve("/api/a", MultiMap.caseInsensitiveMultiMap()));
+    }
+
+    @Test
+    void tokenSelectsTheTenantOfItsIssuerAndOwner() throws Exception {
+        resolver = resolver("token");
+
+        assertEquals("a", resolve("/api", bearer(ENDPOINT, "org-a")));
+        assertEquals("b", resolve("/api", bearer(ENDPOINT, "org-b")));
+        assertEquals("default", resolve("/api", bearer(ENDPOINT, "org-c")));
+    }
+
+    @Test
+    void tokenOfAnOrganizationServedByOneTenantResolvesWithAnyIssuer() throws Exception {
+        resolver = resolver("token");
+
+        assertEquals("b", resolve("/api", bearer("https://other.example.com", "org-b")));
+    }
+
+    @Test
+    void tokenOfAnOrganizationServedBySeveralEndpointsResolvesWithItsIssuer() throws Exception {
+        resolver = new DefaultCasdoorConfigResolver(CasdoorTestConfig.of(
+                "endpoint", ENDPOINT,
+                "tenancy.resolution", "token",
+                "tenants.a.organization-name", "org",
+                "tenants.b.organization-name", "org",
+                "tenants.b.endpoint", "https://other.example.com"));
+
+        assertEquals("a", resolve("/api", bearer(ENDPOINT, "org")));
+        assertEquals("b", resolve("/api", bearer("https://other.example.com", "org")));
+        assertEquals("default", resolve("/api", bearer("https://unknown.example.com", "org")));
+    }
+
+    @Test
+    void tenantsWithTheSameEndpointAndOrganizationFailInTokenMode() {
+        assertThrows(ConfigurationException.class, () -> new DefaultCasdoorConfigResolver(CasdoorTestConfig.of(
+                "endpoint", ENDPOINT,
+                "tenancy.resolution", "token",
+                "tenants.a.organization-name", "org",
+                "tenants.b.organization-name", "org")));
+    }
+
+    private DefaultCasdoorConfigResolver resolver(String resolution) {
+        return new DefaultCasdoorConfigResolver(CasdoorTestConfig.of(
+                "endpoint", ENDPOINT,
+                "organization-name", "org",
+                "tenancy.resolution", resolution,
+                "tenants.a.organization-name", "org-a",
+                "tenants.b.organization-name", "org-b"));
+    }
+
+    private static MultiMap bearer(String issuer, String owner) {
+        String token = TOKENS.sign(new JsonObject()
+                .put("iss", issuer)
+                .put("owner", owner)
+                .put("name", "alice")
+                .put("exp", System.currentTimeMillis() / 1000 + 3600));
+        return MultiMap.caseInsensitiveMultiMap().add("Authorization", "Bearer " + token);
+    }
+
+    private String resolve(String path, MultiMap headers) throws Exception {
+        return http.getAbs(server.endpoint() + path)
+                .putHeaders(headers)
+                .send()
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+                .bodyAsString();
+    }
+}
@@ -0,0 +1,121 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedisCasdoorSharedTokenCacheTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private RedisStub redis;
+    private Vertx vertx;
+    private RedisCasdoorSharedTokenCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        redis = new RedisStub();
+        vertx = Vertx.vertx();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (cache != null) {
+            cache.close();
+        }
+        vertx.close().toCompletionStage().toCompletableFuture().get();
+        redis.close();
+    }
+
+    @Test
+    void storesAndReadsEntries() {
+        cache = cache();
+
+        cache.put("digest", "entry".getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(1)).await().atMost(WAIT);
+
+        assertArrayEquals("entry".getBytes(StandardCharsets.UTF_8), cache.get("digest").await().atMost(WAIT));
+        assertNull(cache.get("other").await().atMost(WAIT));
+    }
+
+    @Test
+    void publishedMessagesReachListeners() throws Exception {
+        cache = cache();
+        List<String> messages = new CopyOnWriteArrayList<>();
+        cache.onMessage(messages::add);
+
+        long deadline = System.currentTimeMillis() + WAIT.toMillis();
+        while (messages.isEmpty() && System.currentTimeMillis() < deadline) {
+            // the subscription is opened in the background
+            cache.publish("invalidate digest").await().atMost(WAIT);
+            Thread.sleep(50);
+        }
+
+        assertTrue(messages.contains("invalidate digest"));
+    }
+
+    @Test
+    void commandsBeyondTheLimitFailImmediately() {
+        cache = cache("shared-cache.max-pending-commands", "2");
+        redis.silent(true);
+
+        CompletableFuture<byte[]> first = cache.get("first").subscribeAsCompletionStage();
+        CompletableFuture<byte[]> second = cache.get("second").subscribeAsCompletionStage();
+        long start = System.nanoTime();
+        Throwable failure = assertThrows(RuntimeException.class, () -> cache.get("third").await().atMost(WAIT));
+
+        assertTrue(failure.getMessage().contains("Too many pending"), failure.getMessage());
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        assertTrue(!first.isDone() && !second.isDone());
+    }
+
+    @Test
+    void stalledConnectionIsOpenedAgain() throws Exception {
+        cache = cache("shared-cache.stall-timeout", "200MS");
+        cache.put("digest", "entry".getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(1)).await().atMost(WAIT);
+        int connections = redis.connections();
+        redis.silent(true);
+        CompletableFuture<byte[]> stuck = cache.get("digest").subscribeAsCompletionStage();
+
+        Thread.sleep(300);
+        redis.silent(false);
+
+        assertArrayEquals("entry".getBytes(StandardCharsets.UTF_8), cache.get("digest").await().atMost(WAIT));
+        assertTrue(stuck.isCompletedExceptionally());
+        assertEquals(connections + 1, redis.connections());
+    }
+
+    private RedisCasdoorSharedTokenCache cache(String... properties) {
+        String[] all = new String[properties.length + 2];
+        all[0] = "shared-cache.url";
+        all[1] = redis.url();
+        System.arraycopy(properties, 0, all, 2, properties.length);
+        return new RedisCasdoorSharedTokenCache(vertx, CasdoorTestConfig.of(all).sharedCache());
+    }
+}
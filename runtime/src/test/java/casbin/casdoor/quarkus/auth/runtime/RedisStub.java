@@ -0,0 +1,138 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.parsetools.RecordParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local TCP server answering the few Redis commands of the shared token cache, in RESP2, for tests.
+ * Lookups can be left unanswered to simulate a stuck Redis.
+ */
+final class RedisStub implements AutoCloseable {
+
+    private final Vertx vertx = Vertx.vertx();
+    private final Map<String, byte[]> values = new ConcurrentHashMap<>();
+    private final Set<NetSocket> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final NetServer server;
+    private volatile boolean silent;
+
+    RedisStub() throws Exception {
+        server = vertx.createNetServer().connectHandler(this::connected)
+                .listen(0, "localhost")
+                .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the Redis URL to configure
+     */
+    String url() {
+        return "redis://localhost:" + server.actualPort();
+    }
+
+    /**
+     * @param silent whether lookups are left unanswered
+     */
+    void silent(boolean silent) {
+        this.silent = silent;
+    }
+
+    /**
+     * @return the number of connections accepted so far
+     */
+    int connections() {
+        return connections.get();
+    }
+
+    private void connected(NetSocket socket) {
+        connections.incrementAndGet();
+        socket.closeHandler(ignored -> subscribers.remove(socket));
+        List<String> command = new ArrayList<>();
+        int[] expected = { 0 };
+        RecordParser parser = RecordParser.newDelimited("\r\n");
+        parser.handler(line -> {
+            String text = line.toString(StandardCharsets.UTF_8);
+            if (command.isEmpty() && expected[0] == 0 && text.startsWith("*")) {
+                expected[0] = Integer.parseInt(text.substring(1));
+            } else if (!text.startsWith("$")) {
+                command.add(text);
+                if (command.size() == expected[0]) {
+                    execute(socket, List.copyOf(command));
+                    command.clear();
+                    expected[0] = 0;
+                }
+            }
+        });
+        socket.handler(parser);
+    }
+
+    private void execute(NetSocket socket, List<String> command) {
+        switch (command.get(0).toUpperCase()) {
+            case "PING":
+                socket.write("+PONG\r\n");
+                break;
+            case "GET":
+                if (!silent) {
+                    byte[] value = values.get(command.get(1));
+                    socket.write(value == null ? Buffer.buffer("$-1\r\n") : bulk(value));
+                }
+                break;
+            case "SET":
+                values.put(command.get(1), command.get(2).getBytes(StandardCharsets.UTF_8));
+                socket.write("+OK\r\n");
+                break;
+            case "SUBSCRIBE":
+                subscribers.add(socket);
+                socket.write(Buffer.buffer("*3\r\n").appendBuffer(bulk("subscribe")).appendBuffer(bulk(command.get(1)))
+                        .appendString(":1\r\n"));
+                break;
+            case "PUBLISH":
+                for (NetSocket subscriber : subscribers) {
+                    subscriber.write(Buffer.buffer("*3\r\n").appendBuffer(bulk("message"))
+                            .appendBuffer(bulk(command.get(1))).appendBuffer(bulk(command.get(2))));
+                }
+                socket.write(":" + subscribers.size() + "\r\n");
+                break;
+            default:
+                socket.write("-ERR unknown command '" + command.get(0) + "'\r\n");
+        }
+    }
+
+    private static Buffer bulk(String value) {
+        return bulk(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Buffer bulk(byte[] value) {
+        return Buffer.buffer("$" + value.length + "\r\n").appendBytes(value).appendString("\r\n");
+    }
+
+    @Override
+    public void close() throws Exception {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,116 @@
+// Copyright 2025 The Casdoor Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package casbin.casdoor.quarkus.auth.runtime;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Signs RS256 tokens shaped like Casdoor's and publishes their key as a JWKS, for tests.
+ */
+final class TestTokens {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final KeyPair keyPair;
+    private final String kid;
+
+    TestTokens(String kid) {
+        this.kid = kid;
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            this.keyPair = generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return a token of the user, expiring in an hour
+     */
+    String sign(String name) {
+        long now = System.currentTimeMillis() / 1000;
+        return sign(new JsonObject()
+                .put("owner", "org")
+                .put("name", name)
+                .put("iat", now)
+                .put("exp", now + 3600));
+    }
+
+    String sign(JsonObject claims) {
+        String header = encode(new JsonObject().put("alg", "RS256").put("typ", "JWT").put("kid", kid));
+        String signed = header + '.' + encode(claims);
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(keyPair.getPrivate());
+            signature.update(signed.getBytes(StandardCharsets.US_ASCII));
+            return signed + '.' + BASE64_URL.encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the key verifying the tokens
+     */
+    PublicKey publicKey() {
+        return keyPair.getPublic();
+    }
+
+    /**
+     * @return the key verifying the tokens, PEM encoded as a certificate may be configured
+     */
+    String publicKeyPem() {
+        return "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+    }
+
+    /**
+     * @return the JWKS publishing the key
+     */
+    JsonObject jwks() {
+        RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+        return new JsonObject().put("keys", new JsonArray().add(new JsonObject()
+                .put("kty", "RSA")
+                .put("kid", kid)
+                .put("use", "sig")
+                .put("alg", "RS256")
+                .put("n", unsigned(key.getModulus()))
+                .put("e", unsigned(key.getPublicExponent()))));
+    }
+
+    private static String encode(JsonObject json) {
+        return BASE64_URL.encodeToString(json.encode().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int offset = bytes[0] == 0 ? 1 : 0;
+        return BASE64_URL.encodeToString(Arrays.copyOfRange(bytes, offset, bytes.length));
+    }
+}